@@ -0,0 +1,184 @@
+package net.runelite.client;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Starts the client with an application class data sharing (AppCDS) archive of the classes it loads during startup,
+ * which the JVM then maps instead of loading, parsing and verifying every class again.
+ * <p>
+ * A training run starts the client in a new JVM that records the classes it loads to a list and exits once the first
+ * frame is drawn. A launch with the archive builds the archive from that list when it is missing or out of date, then
+ * starts the client in a new JVM that uses it. Both need the client to run from jars, the JVM can't archive classes
+ * loaded from directories.
+ */
+@Slf4j
+class ClassDataSharing
+{
+	static final String TRAIN_PROPERTY = "runelite.cds.train";
+	static final File CLASS_LIST = new File(RuneLite.CACHE_DIR, "cds" + File.separator + "classes.lst");
+
+	private static final File ARCHIVE = new File(CLASS_LIST.getParentFile(), "client.jsa");
+	// what the archive was built for, it is rebuilt when the JVM or any jar changes
+	private static final File ARCHIVE_KEY = new File(CLASS_LIST.getParentFile(), "client.jsa.key");
+	private static final List<String> OWN_ARGS = Arrays.asList("-cds", "--cds", "-cds-train", "--cds-train");
+
+	/**
+	 * Runs the client in a new JVM recording the classes loaded until the first frame
+	 *
+	 * @return the exit code of the training run, or -1 if the client can't be trained and should start normally
+	 */
+	static int train(String[] args) throws IOException, InterruptedException
+	{
+		String classpath = jarClasspath();
+		if (classpath == null)
+		{
+			return -1;
+		}
+
+		Files.createDirectories(CLASS_LIST.getParentFile().toPath());
+		log.info("Recording startup classes to {}", CLASS_LIST);
+		List<String> command = javaCommand();
+		command.add("-XX:DumpLoadedClassList=" + CLASS_LIST.getAbsolutePath());
+		command.add("-D" + TRAIN_PROPERTY + "=true");
+		return run(command, classpath, args);
+	}
+
+	/**
+	 * Runs the client in a new JVM using the archive of the recorded startup classes, building it first if needed
+	 *
+	 * @return the exit code of the client, or -1 if the archive can't be used and the client should start normally
+	 */
+	static int launch(String[] args) throws IOException, InterruptedException
+	{
+		String classpath = jarClasspath();
+		if (classpath == null)
+		{
+			return -1;
+		}
+
+		if (!CLASS_LIST.exists())
+		{
+			log.warn("No startup classes have been recorded yet, start the client once with --cds-train");
+			return -1;
+		}
+
+		String key = archiveKey(classpath);
+		if (!ARCHIVE.exists() || ARCHIVE.lastModified() < CLASS_LIST.lastModified() || !ARCHIVE_KEY.exists()
+			|| !key.equals(new String(Files.readAllBytes(ARCHIVE_KEY.toPath()), StandardCharsets.UTF_8)))
+		{
+			log.info("Building class data sharing archive {}", ARCHIVE);
+			List<String> command = new ArrayList<>();
+			command.add(javaExecutable());
+			command.add("-Xshare:dump");
+			command.add("-XX:SharedClassListFile=" + CLASS_LIST.getAbsolutePath());
+			command.add("-XX:SharedArchiveFile=" + ARCHIVE.getAbsolutePath());
+			command.add("-cp");
+			command.add(classpath);
+			int exitCode = new ProcessBuilder(command).inheritIO().start().waitFor();
+			if (exitCode != 0)
+			{
+				log.warn("Building the class data sharing archive failed with exit code {}", exitCode);
+				return -1;
+			}
+			Files.write(ARCHIVE_KEY.toPath(), key.getBytes(StandardCharsets.UTF_8));
+		}
+
+		List<String> command = javaCommand();
+		command.add("-XX:SharedArchiveFile=" + ARCHIVE.getAbsolutePath());
+		command.add("-Xshare:auto");
+		return run(command, classpath, args);
+	}
+
+	private static int run(List<String> command, String classpath, String[] args) throws IOException, InterruptedException
+	{
+		command.add("-cp");
+		command.add(classpath);
+		command.add(RuneLite.class.getName());
+		for (String arg : args)
+		{
+			if (!OWN_ARGS.contains(arg))
+			{
+				command.add(arg);
+			}
+		}
+		return new ProcessBuilder(command).inheritIO().start().waitFor();
+	}
+
+	private static List<String> javaCommand()
+	{
+		List<String> command = new ArrayList<>();
+		command.add(javaExecutable());
+		for (String arg : ManagementFactory.getRuntimeMXBean().getInputArguments())
+		{
+			if (!arg.startsWith("-Xshare") && !arg.startsWith("-XX:SharedArchiveFile") && !arg.startsWith("-XX:DumpLoadedClassList"))
+			{
+				command.add(arg);
+			}
+		}
+		return command;
+	}
+
+	private static String javaExecutable()
+	{
+		return System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+	}
+
+	/**
+	 * @return the classpath of this JVM, or null if the client isn't run from it or it contains directories
+	 */
+	private static String jarClasspath()
+	{
+		String classpath = System.getProperty("java.class.path");
+		File clientJar;
+		try
+		{
+			clientJar = new File(RuneLite.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+		}
+		catch (URISyntaxException | SecurityException ex)
+		{
+			log.warn("Unable to locate the client jar", ex);
+			return null;
+		}
+
+		boolean hasClient = false;
+		for (String element : classpath.split(File.pathSeparator))
+		{
+			File file = new File(element);
+			if (file.isDirectory())
+			{
+				log.warn("Class data sharing needs the client to run from jars, {} is a directory", file);
+				return null;
+			}
+			hasClient |= file.getAbsoluteFile().equals(clientJar.getAbsoluteFile());
+		}
+
+		if (!hasClient)
+		{
+			log.warn("Class data sharing needs the client to be on the classpath of the JVM");
+			return null;
+		}
+		return classpath;
+	}
+
+	private static String archiveKey(String classpath)
+	{
+		StringBuilder sb = new StringBuilder()
+			.append(System.getProperty("java.home")).append('\n')
+			.append(System.getProperty("java.vm.version")).append('\n');
+		for (String element : classpath.split(File.pathSeparator))
+		{
+			File file = new File(element);
+			sb.append(file.getAbsolutePath()).append(' ').append(file.length()).append(' ').append(file.lastModified()).append('\n');
+		}
+		return sb.toString();
+	}
+}
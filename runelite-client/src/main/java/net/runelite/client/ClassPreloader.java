@@ -24,14 +24,20 @@
  */
 package net.runelite.client;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
 import net.runelite.client.ui.FontManager;
 
 /**
  * Loads some slow to initialize classes (hopefully) before they are needed to streamline client startup
  */
 @SuppressWarnings({"ResultOfMethodCallIgnored", "unused"})
+@Slf4j
 class ClassPreloader
 {
 	static void preload()
@@ -45,4 +51,45 @@ class ClassPreloader
 		// This just needs to call 20 different DateTimeFormatter constructors, which are slow
 		Object unused = DateTimeFormatter.BASIC_ISO_DATE;
 	}
+
+	/**
+	 * Loads the classes recorded by a class data sharing training run, without initializing them
+	 */
+	static void preloadRecordedClasses()
+	{
+		List<String> lines;
+		try
+		{
+			lines = Files.readAllLines(ClassDataSharing.CLASS_LIST.toPath(), StandardCharsets.UTF_8);
+		}
+		catch (IOException ex)
+		{
+			log.debug("No recorded startup classes to preload", ex);
+			return;
+		}
+
+		long start = System.nanoTime();
+		int loaded = 0;
+		for (String line : lines)
+		{
+			// newer JVMs append the class id and list lambda proxies, starting with @
+			if (line.isEmpty() || line.startsWith("#") || line.startsWith("@"))
+			{
+				continue;
+			}
+
+			int end = line.indexOf(' ');
+			String className = (end == -1 ? line : line.substring(0, end)).replace('/', '.');
+			try
+			{
+				Class.forName(className, false, ClassPreloader.class.getClassLoader());
+				loaded++;
+			}
+			catch (ClassNotFoundException | LinkageError ex)
+			{
+				// recorded by a different version of the client
+			}
+		}
+		log.debug("Preloaded {} of {} recorded startup classes in {}ms", loaded, lines.size(), (System.nanoTime() - start) / 1_000_000);
+	}
 }
@@ -164,6 +164,7 @@ public class RuneLite
     private MicrobotPluginManager microbotPluginManager;
 
     public static void main(String[] args) throws Exception {
+        StartupTimeline.mark("main");
         validateJavaVersion();
         Locale.setDefault(Locale.ENGLISH);
 
@@ -182,6 +183,9 @@ public class RuneLite
 		parser.accepts("profile", "Configuration profile to use").withRequiredArg();
 		parser.accepts("noupdate", "Skips the launcher update");
 		parser.accepts("clean-randomdat", "Clean random dat file");
+		parser.accepts("cds-train", "Record the classes loaded during startup for --cds, then exit");
+		parser.accepts("cds", "Start in a new JVM using a class data sharing archive of the recorded startup classes");
+		parser.accepts("preload-classes", "Load the recorded startup classes on a background thread");
 
 
         final ArgumentAcceptingOptionSpec<String> proxyInfo = parser.accepts("proxy", "Use a proxy server for your runelite session")
@@ -197,6 +201,16 @@ public class RuneLite
 		parser.accepts("help", "Show this text").forHelp();
 		OptionSet options = parser.parse(args);
 
+		if (options.has("cds-train") || options.has("cds"))
+		{
+			int exitCode = options.has("cds-train") ? ClassDataSharing.train(args) : ClassDataSharing.launch(args);
+			if (exitCode != -1)
+			{
+				System.exit(exitCode);
+			}
+			// otherwise start normally in this JVM
+		}
+
         if (options.has("clean-jagex-launcher")) {
             System.out.println("clean-jagex-launcher option is enabled. This will delete your credentials.properties file to allow logging in with a username/password");
             System.out.println("You can disable this in your run configuration by removing -clean-jagex-launcher");
@@ -305,6 +319,7 @@ public class RuneLite
 
 		SplashScreen.init();
 		SplashScreen.stage(0, "Preparing RuneScape", "");
+		StartupTimeline.mark("splash screen");
 
 		try
 		{
@@ -317,6 +332,14 @@ public class RuneLite
 				ClassPreloader.preload();
 			}, "Preloader").start();
 
+			if (options.has("preload-classes"))
+			{
+				// on a thread of its own so the client download isn't held up behind it
+				Thread recordedClassPreloader = new Thread(ClassPreloader::preloadRecordedClasses, "Recorded class preloader");
+				recordedClassPreloader.setDaemon(true);
+				recordedClassPreloader.start();
+			}
+
 			final boolean developerMode = options.has("developer-mode") && RuneLiteProperties.getLauncherVersion() == null;
 
 			if (developerMode)
@@ -358,6 +381,7 @@ public class RuneLite
 				options.has("noupdate")
 			));
 
+			StartupTimeline.mark("injector created");
 			injector.getInstance(RuneLite.class).start();
 
 			final long end = System.currentTimeMillis();
@@ -451,6 +475,7 @@ public class RuneLite
 
 		applet.init();
 		applet.start();
+		StartupTimeline.mark("applet started");
 
 		SplashScreen.stage(.57, null, "Loading configuration");
 
@@ -463,6 +488,7 @@ public class RuneLite
 		// Update check requires ConfigManager to be ready before it runs
 		Updater updater = injector.getInstance(Updater.class);
 		updater.update(); // will exit if an update is in progress
+		StartupTimeline.mark("configuration loaded");
 
 		// Load the plugins, but does not start them yet.
 		// This will initialize configuration
@@ -471,6 +497,7 @@ public class RuneLite
 		externalPluginManager.loadExternalPlugins();
 
         microbotPluginManager.loadSideLoadPlugins();
+        StartupTimeline.mark("plugins loaded");
 
         SplashScreen.stage(.70, null, "Finalizing configuration");
 
@@ -505,10 +532,12 @@ public class RuneLite
 
 		// Start plugins
 		pluginManager.startPlugins();
+		StartupTimeline.mark("plugins started");
 
 		SplashScreen.stop();
 
 		clientUI.show();
+		StartupTimeline.mark("window shown");
 
 		if (telemetryClient != null)
 		{
@@ -0,0 +1,74 @@
+package net.runelite.client;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records how long after the JVM started each phase of the client startup was reached, and logs it once the first
+ * frame has been drawn, so startup changes can be measured.
+ */
+@Slf4j
+public final class StartupTimeline
+{
+	private static final long JVM_START = ManagementFactory.getRuntimeMXBean().getStartTime();
+	private static final List<String> phases = new ArrayList<>();
+	private static final List<Long> times = new ArrayList<>();
+	private static volatile boolean done;
+
+	private StartupTimeline()
+	{
+	}
+
+	public static void mark(String phase)
+	{
+		synchronized (phases)
+		{
+			if (done)
+			{
+				return;
+			}
+			phases.add(phase);
+			times.add(System.currentTimeMillis() - JVM_START);
+		}
+	}
+
+	/**
+	 * Called for every drawn frame, ends the timeline on the first one
+	 */
+	public static void frameDrawn()
+	{
+		if (done)
+		{
+			return;
+		}
+
+		StringBuilder sb = new StringBuilder("Startup timeline:");
+		synchronized (phases)
+		{
+			if (done)
+			{
+				return;
+			}
+			phases.add("first frame");
+			times.add(System.currentTimeMillis() - JVM_START);
+			done = true;
+
+			long previous = 0;
+			for (int i = 0; i < phases.size(); ++i)
+			{
+				long time = times.get(i);
+				sb.append(String.format("%n  %6dms (+%5dms) %s", time, time - previous, phases.get(i)));
+				previous = time;
+			}
+		}
+		log.info(sb.toString());
+
+		if (Boolean.getBoolean(ClassDataSharing.TRAIN_PROPERTY))
+		{
+			// the class list is complete once the first frame is drawn, exit to write it
+			new Thread(() -> System.exit(0), "Training exit").start();
+		}
+	}
+}
@@ -29,10 +29,15 @@ import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.executor.MicrobotExecutor;
 
 import javax.inject.Singleton;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.BooleanSupplier;
 
 @Singleton
@@ -42,12 +47,14 @@ public class ClientThread
 	private final ConcurrentLinkedQueue<BooleanSupplier> invokes = new ConcurrentLinkedQueue<>();
 	private final ConcurrentLinkedQueue<BooleanSupplier> invokesAtTickEnd = new ConcurrentLinkedQueue<>();
 
-	protected ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+	protected ScheduledExecutorService scheduledExecutorService = MicrobotExecutor.newInternalScheduler("ClientThread");
 	public Future<?> scheduledFuture;
 
 	@Inject
 	private Client client;
 
+	private final LongAdder offThreadCalls = new LongAdder();
+
 	public void invoke(Runnable r)
 	{
 		invoke(() ->
@@ -62,17 +69,37 @@ public class ClientThread
 		if (Microbot.getClient().isClientThread()) {
 			return method.call();
 		}
-		final FutureTask<T> task = new FutureTask<>(method);
-		invoke(task);
-		try {
-			return task.get(10000, TimeUnit.MILLISECONDS);
-		} catch (TimeoutException e) {
-			// Handle timeout, e.g., log an error or throw a custom exception
-			if (!Microbot.isDebug()) {
-				Microbot.log("Failed to run a method on the client thread with message " + e.getMessage());
+		offThreadCalls.increment();
+		final Handoff<T> handoff = new Handoff<>(method);
+		invoke(handoff);
+		return handoff.get();
+	}
+
+	/**
+	 * Runs all methods on the client thread in a single handoff, in order, so reading several values costs
+	 * one frame of latency instead of one per value.
+	 * An exception thrown by one of the methods is rethrown and the results of the others are lost.
+	 *
+	 * @return the results in the order of the methods, or null if the client thread didn't run them in time
+	 */
+	@SneakyThrows
+	public <T> List<T> runAllOnClientThread(List<? extends Callable<? extends T>> methods) {
+		final Callable<List<T>> batch = () -> {
+			final List<T> results = new ArrayList<>(methods.size());
+			for (Callable<? extends T> method : methods) {
+				results.add(method.call());
 			}
-			return null;
-		}
+			return results;
+		};
+		return runOnClientThread(batch);
+	}
+
+	/**
+	 * Number of {@link #runOnClientThread(Callable)} calls from other threads, which block until the client thread ran them
+	 */
+	public long getOffThreadCallCount()
+	{
+		return offThreadCalls.sum();
 	}
 
 	@SneakyThrows
@@ -137,6 +164,70 @@ public class ClientThread
 		invokeList(invokesAtTickEnd);
 	}
 
+	/**
+	 * Hands a method to the client thread and its result back, parking the calling thread in between.
+	 * Lighter than a FutureTask, and the method's own exception is rethrown instead of an ExecutionException.
+	 */
+	private static final class Handoff<T> implements BooleanSupplier
+	{
+		private static final long TIMEOUT_NANOS = TimeUnit.MILLISECONDS.toNanos(10000);
+
+		private final Callable<T> method;
+		private final Thread caller = Thread.currentThread();
+		private T result;
+		private Throwable error;
+		// Written after result and error, so reading it true makes them visible
+		private volatile boolean done;
+
+		Handoff(Callable<T> method)
+		{
+			this.method = method;
+		}
+
+		@Override
+		public boolean getAsBoolean()
+		{
+			try
+			{
+				result = method.call();
+			}
+			catch (Throwable e)
+			{
+				error = e;
+			}
+			done = true;
+			LockSupport.unpark(caller);
+			return true;
+		}
+
+		T get() throws Throwable
+		{
+			final long deadline = System.nanoTime() + TIMEOUT_NANOS;
+			while (!done)
+			{
+				final long remaining = deadline - System.nanoTime();
+				if (remaining <= 0)
+				{
+					if (!Microbot.isDebug())
+					{
+						Microbot.log("Failed to run a method on the client thread within 10 seconds");
+					}
+					return null;
+				}
+				LockSupport.parkNanos(this, remaining);
+				if (Thread.interrupted())
+				{
+					throw new InterruptedException();
+				}
+			}
+			if (error != null)
+			{
+				throw error;
+			}
+			return result;
+		}
+	}
+
 	private void invokeList(ConcurrentLinkedQueue<BooleanSupplier> invokes)
 	{
 		assert client.isClientThread();
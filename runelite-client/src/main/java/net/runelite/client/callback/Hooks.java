@@ -67,6 +67,7 @@ import net.runelite.api.worldmap.WorldMapRenderer;
 import net.runelite.client.Notifier;
 import net.runelite.client.RuneLiteProperties;
 import net.runelite.client.RuntimeConfig;
+import net.runelite.client.StartupTimeline;
 import net.runelite.client.TelemetryClient;
 import net.runelite.client.chat.ChatMessageManager;
 import net.runelite.client.eventbus.EventBus;
@@ -373,6 +374,8 @@ public class Hooks implements Callbacks
 			return;
 		}
 
+		StartupTimeline.frameDrawn();
+
 		final Graphics2D graphics2d = getGraphics(mainBufferProvider);
 
 		try
@@ -24,6 +24,7 @@
  */
 package net.runelite.client.config;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -31,13 +32,16 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
@@ -45,9 +49,31 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Config of one profile, stored on disk as a properties file plus an append-only journal of the changes made since
+ * the properties file was last written.
+ * <p>
+ * A flush only appends its changes to the journal, as a batch enclosed in begin and commit records, so a partially
+ * written batch is ignored when the journal is replayed. The journal is folded into the properties file once it has
+ * grown large relative to it, or when {@link #compact()} is called. Both are done under the lock file and only apply
+ * this client's changes on top of what is on disk, so multiple clients editing one config still get their data merged.
+ * <p>
+ * A compaction writes exactly the properties file with the journal replayed on top, and only then deletes the journal.
+ * Replaying a journal is idempotent, so if the client dies in between, replaying the journal again on top of the new
+ * properties file loads the same config.
+ */
 @Slf4j
 class ConfigData
 {
+	private static final String JOURNAL_SUFFIX = ".journal";
+	// the journal is folded into the properties file once it is larger than this and half of the properties file
+	private static final long COMPACT_THRESHOLD = 64 * 1024;
+
+	private static final String BATCH_BEGIN = "*";
+	private static final String BATCH_COMMIT = ".";
+	private static final char RECORD_SET = '+';
+	private static final char RECORD_UNSET = '-';
+
 	private final File configPath;
 
 	private final ConcurrentHashMap<String, String> properties;
@@ -57,22 +83,18 @@ class ConfigData
 	{
 		this.configPath = configPath;
 
-		Properties props = new Properties();
-		try (FileInputStream in = new FileInputStream(configPath);
-			InputStreamReader reader = new InputStreamReader(in, StandardCharsets.UTF_8))
-		{
-			props.load(reader);
-		}
-		catch (FileNotFoundException ignored)
+		Map<String, String> props;
+		try
 		{
+			// another client may be compacting the journal into the properties file, which must not be read halfway
+			props = journalFile(configPath).exists() ? locked(configPath, () -> load(configPath)) : load(configPath);
 		}
 		catch (Exception ex)
 		{
 			throw new RuntimeException(ex);
 		}
 
-		properties = new ConcurrentHashMap<>(props.size());
-		props.forEach((k, v) -> properties.put((String) k, (String) v));
+		properties = new ConcurrentHashMap<>(props);
 	}
 
 	String getProperty(String key)
@@ -130,75 +152,328 @@ class ConfigData
 
 	void patch(Map<String, String> patch)
 	{
-		// load + patch + store instead of just flushing the in-memory properties to disk so that
+		// only the patch is written instead of flushing the in-memory properties to disk so that
 		// multiple clients editing one config data (such as rs profile config) get their data merged
 		// correctly
+		try
+		{
+			locked(configPath, () ->
+			{
+				File journal = journalFile(configPath);
+				if (configPath.length() == 0 && !journal.exists())
+				{
+					// this probably doesn't happen outside of the very first save (when no file exists)
+					// but to be safe in the event the prop is deleted off disk, flush the entire properties
+					// from memory
+					store(configPath, new HashMap<>(properties));
+				}
+				else
+				{
+					// the patch is journaled even when the journal is compacted right after, so that the compacted
+					// properties file never holds changes that aren't in the journal it replaces
+					if (!patch.isEmpty())
+					{
+						append(journal, patch);
+					}
+					if (journal.length() > Math.max(COMPACT_THRESHOLD, configPath.length() / 2))
+					{
+						store(configPath, load(configPath));
+						journal.delete();
+					}
+				}
+				return null;
+			});
+		}
+		catch (IOException ex)
+		{
+			log.error("unable to save configuration file", ex);
+		}
+	}
+
+	/**
+	 * Folds the journal into the properties file, so the properties file alone holds the full config
+	 */
+	void compact()
+	{
+		compact(configPath);
+	}
+
+	static void compact(File configPath)
+	{
+		if (!journalFile(configPath).exists())
+		{
+			return;
+		}
 
+		try
+		{
+			locked(configPath, () ->
+			{
+				File journal = journalFile(configPath);
+				if (journal.exists())
+				{
+					store(configPath, load(configPath));
+					journal.delete();
+				}
+				return null;
+			});
+		}
+		catch (IOException ex)
+		{
+			log.error("unable to compact configuration file", ex);
+		}
+	}
+
+	/**
+	 * Deletes the properties file together with its journal
+	 */
+	static void delete(File configPath)
+	{
+		configPath.delete();
+		journalFile(configPath).delete();
+	}
+
+	static File journalFile(File configPath)
+	{
+		return new File(configPath.getParentFile(), configPath.getName() + JOURNAL_SUFFIX);
+	}
+
+	private static <T> T locked(File configPath, IOAction<T> action) throws IOException
+	{
 		File lckFile = new File(configPath.getParentFile(), configPath.getName() + ".lck");
 		try (FileOutputStream lockOut = new FileOutputStream(lckFile);
 			FileChannel lckChannel = lockOut.getChannel())
 		{
 			lckChannel.lock();
+			return action.run();
+		}
+		finally
+		{
+			lckFile.delete();
+		}
+	}
+
+	private static Map<String, String> load(File configPath) throws IOException
+	{
+		Properties props = new Properties();
+		try (FileInputStream in = new FileInputStream(configPath);
+			InputStreamReader reader = new InputStreamReader(in, StandardCharsets.UTF_8))
+		{
+			props.load(reader);
+		}
+		catch (FileNotFoundException e)
+		{
+			log.debug("config file {} does not exist", configPath);
+		}
+
+		Map<String, String> values = new HashMap<>(props.size());
+		props.forEach((k, v) -> values.put((String) k, (String) v));
+
+		try (FileInputStream in = new FileInputStream(journalFile(configPath));
+			BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)))
+		{
+			replay(reader, values);
+		}
+		catch (FileNotFoundException ignored)
+		{
+		}
+		return values;
+	}
+
+	private static void store(File configPath, Map<String, String> values) throws IOException
+	{
+		Properties props = new Properties();
+		props.putAll(values);
+
+		File tempFile = File.createTempFile("runelite_config", null, configPath.getParentFile());
+		try (FileOutputStream out = new FileOutputStream(tempFile);
+			FileChannel channel = out.getChannel();
+			OutputStreamWriter writer = new OutputStreamWriter(out, StandardCharsets.UTF_8))
+		{
+			channel.lock();
+			props.store(writer, "RuneLite configuration");
+			writer.flush();
+			channel.force(true);
+		}
 
-			Properties tempProps = new Properties();
-			try (FileInputStream in = new FileInputStream(configPath);
-				InputStreamReader reader = new InputStreamReader(in, StandardCharsets.UTF_8))
+		try
+		{
+			Files.move(tempFile.toPath(), configPath.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (AtomicMoveNotSupportedException ex)
+		{
+			log.debug("atomic move not supported", ex);
+			Files.move(tempFile.toPath(), configPath.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private static void append(File journal, Map<String, String> patch) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(journal.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE))
+		{
+			long position = channel.size();
+
+			StringBuilder sb = new StringBuilder();
+			if (position > 0)
 			{
-				tempProps.load(reader);
+				// a client died while appending, end its partial record so the begin record below is read on its own
+				ByteBuffer last = ByteBuffer.allocate(1);
+				channel.read(last, position - 1);
+				if (last.get(0) != '\n')
+				{
+					sb.append('\n');
+				}
 			}
-			catch (FileNotFoundException e)
+
+			sb.append(BATCH_BEGIN).append('\n');
+			for (Map.Entry<String, String> entry : patch.entrySet())
 			{
-				log.debug("config file {} does not exist", configPath);
+				if (entry.getValue() == null)
+				{
+					sb.append(RECORD_UNSET);
+					escape(sb, entry.getKey());
+				}
+				else
+				{
+					sb.append(RECORD_SET);
+					escape(sb, entry.getKey());
+					sb.append('=');
+					escape(sb, entry.getValue());
+				}
+				sb.append('\n');
 			}
+			sb.append(BATCH_COMMIT).append('\n');
 
-			if (tempProps.isEmpty())
+			ByteBuffer buf = StandardCharsets.UTF_8.encode(sb.toString());
+			while (buf.hasRemaining())
 			{
-				// this probably doesn't happen outside of the very first save (when no file exists)
-				// but to be safe in the event the prop is deleted off disk, flush the entire properties
-				// from memory
-				tempProps.putAll(properties);
+				position += channel.write(buf, position);
 			}
-			else
+			channel.force(false);
+		}
+	}
+
+	private static void replay(BufferedReader reader, Map<String, String> values) throws IOException
+	{
+		Map<String, String> batch = null;
+		String line;
+		while ((line = reader.readLine()) != null)
+		{
+			if (line.equals(BATCH_BEGIN))
+			{
+				batch = new LinkedHashMap<>();
+			}
+			else if (line.equals(BATCH_COMMIT))
 			{
-				// apply patches
-				for (Map.Entry<String, String> entry : patch.entrySet())
+				if (batch != null)
 				{
-					if (entry.getValue() == null)
-					{
-						tempProps.remove(entry.getKey());
-					}
-					else
-					{
-						tempProps.put(entry.getKey(), entry.getValue());
-					}
+					apply(values, batch);
 				}
+				batch = null;
 			}
+			else if (batch != null && !line.isEmpty())
+			{
+				char type = line.charAt(0);
+				int separator = separatorIndex(line);
+				if (type == RECORD_SET && separator != -1)
+				{
+					batch.put(unescape(line, 1, separator), unescape(line, separator + 1, line.length()));
+				}
+				else if (type == RECORD_UNSET)
+				{
+					batch.put(unescape(line, 1, line.length()), null);
+				}
+				else
+				{
+					log.warn("dropping malformed config journal batch: {}", line);
+					batch = null;
+				}
+			}
+		}
+	}
 
-			File tempFile = File.createTempFile("runelite_config", null, configPath.getParentFile());
-			try (FileOutputStream out = new FileOutputStream(tempFile);
-				FileChannel channel = out.getChannel();
-				OutputStreamWriter writer = new OutputStreamWriter(out, StandardCharsets.UTF_8))
+	private static void apply(Map<String, String> values, Map<String, String> patch)
+	{
+		for (Map.Entry<String, String> entry : patch.entrySet())
+		{
+			if (entry.getValue() == null)
+			{
+				values.remove(entry.getKey());
+			}
+			else
 			{
-				channel.lock();
-				tempProps.store(writer, "RuneLite configuration");
-				writer.flush();
-				channel.force(true);
+				values.put(entry.getKey(), entry.getValue());
 			}
+		}
+	}
 
-			try
+	private static void escape(StringBuilder sb, String s)
+	{
+		for (int i = 0; i < s.length(); ++i)
+		{
+			char c = s.charAt(i);
+			switch (c)
 			{
-				Files.move(tempFile.toPath(), configPath.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				case '\\':
+					sb.append("\\\\");
+					break;
+				case '\n':
+					sb.append("\\n");
+					break;
+				case '\r':
+					sb.append("\\r");
+					break;
+				case '=':
+					sb.append("\\=");
+					break;
+				default:
+					sb.append(c);
 			}
-			catch (AtomicMoveNotSupportedException ex)
+		}
+	}
+
+	private static String unescape(String s, int start, int end)
+	{
+		StringBuilder sb = new StringBuilder(end - start);
+		for (int i = start; i < end; ++i)
+		{
+			char c = s.charAt(i);
+			if (c == '\\' && i + 1 < end)
 			{
-				log.debug("atomic move not supported", ex);
-				Files.move(tempFile.toPath(), configPath.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				c = s.charAt(++i);
+				if (c == 'n')
+				{
+					c = '\n';
+				}
+				else if (c == 'r')
+				{
+					c = '\r';
+				}
 			}
+			sb.append(c);
 		}
-		catch (IOException ex)
+		return sb.toString();
+	}
+
+	private static int separatorIndex(String line)
+	{
+		for (int i = 1; i < line.length(); ++i)
 		{
-			log.error("unable to save configuration file", ex);
+			char c = line.charAt(i);
+			if (c == '\\')
+			{
+				++i;
+			}
+			else if (c == '=')
+			{
+				return i;
+			}
 		}
-		lckFile.delete();
+		return -1;
+	}
+
+	private interface IOAction<T>
+	{
+		T run() throws IOException;
 	}
 }
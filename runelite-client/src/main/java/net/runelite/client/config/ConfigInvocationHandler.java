@@ -24,14 +24,20 @@
  */
 package net.runelite.client.config;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.client.util.ReflectUtil;
 
+/**
+ * Backs every config proxy. Each config item read through a proxy gets a {@link ConfigValue} holding its
+ * deserialized value, so a repeated read is a map lookup and a volatile load. Changing a config key only
+ * reloads the values of that key, on their next read.
+ */
 @Slf4j
 class ConfigInvocationHandler implements InvocationHandler
 {
@@ -39,9 +45,7 @@ class ConfigInvocationHandler implements InvocationHandler
 	private static final Object NULL = new Object();
 
 	private final ConfigManager manager;
-	private final Cache<Method, Object> cache = CacheBuilder.newBuilder()
-		.maximumSize(256)
-		.build();
+	private final Map<Method, ConfigValue> values = new ConcurrentHashMap<>();
 
 	ConfigInvocationHandler(ConfigManager manager)
 	{
@@ -52,12 +56,17 @@ class ConfigInvocationHandler implements InvocationHandler
 	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
 	{
 		// Use cached configuration value if available
+		ConfigValue configValue = null;
 		if (args == null)
 		{
-			Object cachedValue = cache.getIfPresent(method);
-			if (cachedValue != null)
+			configValue = values.get(method);
+			if (configValue != null)
 			{
-				return cachedValue == NULL ? null : cachedValue;
+				Object cachedValue = configValue.get();
+				if (!(cachedValue instanceof Unloaded))
+				{
+					return cachedValue == NULL ? null : cachedValue;
+				}
 			}
 		}
 
@@ -95,7 +104,14 @@ class ConfigInvocationHandler implements InvocationHandler
 
 		if (args == null)
 		{
-			log.trace("cache miss (size: {}, group: {}, key: {})", cache.size(), group.value(), item.keyName());
+			log.trace("cache miss (size: {}, group: {}, key: {})", values.size(), group.value(), item.keyName());
+
+			if (configValue == null)
+			{
+				configValue = values.computeIfAbsent(method, m -> new ConfigValue(group.value(), item.keyName()));
+			}
+			// Taken before reading, a change to the key in the meantime replaces it and the value read is not kept
+			Object unloaded = configValue.get();
 
 			// Getting configuration item
 			String value = manager.getConfiguration(group.value(), item.keyName());
@@ -105,11 +121,11 @@ class ConfigInvocationHandler implements InvocationHandler
 				if (method.isDefault())
 				{
 					Object defaultValue = callDefaultMethod(proxy, method, null);
-					cache.put(method, defaultValue == null ? NULL : defaultValue);
+					configValue.compareAndSet(unloaded, defaultValue == null ? NULL : defaultValue);
 					return defaultValue;
 				}
 
-				cache.put(method, NULL);
+				configValue.compareAndSet(unloaded, NULL);
 				return null;
 			}
 
@@ -117,7 +133,7 @@ class ConfigInvocationHandler implements InvocationHandler
 			try
 			{
 				Object objectValue = manager.stringToObject(value, method.getGenericReturnType());
-				cache.put(method, objectValue == null ? NULL : objectValue);
+				configValue.compareAndSet(unloaded, objectValue == null ? NULL : objectValue);
 				return objectValue;
 			}
 			catch (Exception e)
@@ -187,6 +203,41 @@ class ConfigInvocationHandler implements InvocationHandler
 	void invalidate()
 	{
 		log.trace("cache invalidate");
-		cache.invalidateAll();
+		values.values().forEach(ConfigValue::unload);
+	}
+
+	void invalidate(String group, String key)
+	{
+		log.trace("cache invalidate {}.{}", group, key);
+		for (ConfigValue configValue : values.values())
+		{
+			if (configValue.key.equals(key) && configValue.group.equals(group))
+			{
+				configValue.unload();
+			}
+		}
+	}
+
+	// Marks a value that has to be read from the config, a new one for every change so loads can't overwrite a change
+	private static final class Unloaded
+	{
+	}
+
+	private static final class ConfigValue extends AtomicReference<Object>
+	{
+		private final String group;
+		private final String key;
+
+		ConfigValue(String group, String key)
+		{
+			super(new Unloaded());
+			this.group = group;
+			this.key = key;
+		}
+
+		void unload()
+		{
+			set(new Unloaded());
+		}
 	}
 }
@@ -808,7 +808,7 @@ public class ConfigManager
 
 				File configFile = ProfileManager.profileConfigFile(profile);
 				// remote configuration replaces local
-				configFile.delete();
+				ConfigData.delete(configFile);
 
 				ConfigData configData = new ConfigData(configFile);
 				configData.putAll(remoteConfiguration.getConfig());
@@ -961,7 +961,7 @@ public class ConfigManager
 		}
 
 		log.debug("Setting configuration value for {} to {}", wholeKey, value);
-		handler.invalidate();
+		handler.invalidate(groupName, key);
 
 		ConfigChanged configChanged = new ConfigChanged();
 		configChanged.setGroup(groupName);
@@ -1053,7 +1053,7 @@ public class ConfigManager
 		}
 
 		log.debug("Unsetting configuration value for {}", wholeKey);
-		handler.invalidate();
+		handler.invalidate(groupName, key);
 
 		ConfigChanged configChanged = new ConfigChanged();
 		configChanged.setGroup(groupName);
@@ -1430,6 +1430,8 @@ public class ConfigManager
 	private void onClientShutdown(ClientShutdown e)
 	{
 		sendConfig();
+		configProfile.compact();
+		rsProfileConfigProfile.compact();
 	}
 
 	public void sendConfig()
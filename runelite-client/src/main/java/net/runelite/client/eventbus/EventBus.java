@@ -26,8 +26,6 @@
 package net.runelite.client.eventbus;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableMultimap;
-import com.google.common.collect.Iterables;
 import java.lang.invoke.CallSite;
 import java.lang.invoke.LambdaMetafactory;
 import java.lang.invoke.MethodHandle;
@@ -35,8 +33,21 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.ThreadSafe;
 import lombok.EqualsAndHashCode;
@@ -53,6 +64,9 @@ import org.slf4j.MarkerFactory;
 public class EventBus
 {
 	private static final Marker DEDUPLICATE = MarkerFactory.getMarker("DEDUPLICATE");
+	private static final Subscriber[] NO_SUBSCRIBERS = new Subscriber[0];
+	private static final Comparator<Subscriber> SUBSCRIBER_ORDER = Comparator.comparingDouble(Subscriber::getPriority).reversed()
+		.thenComparing(s -> s.object.getClass().getName());
 
 	@Value
 	public static class Subscriber
@@ -76,10 +90,75 @@ public class EventBus
 		}
 	}
 
+	/**
+	 * Posting statistics of one event type: how often it was posted, and a histogram of the time all of its
+	 * subscribers took together per post, in power of two nanosecond buckets.
+	 */
+	public static final class EventStats
+	{
+		private static final int BUCKETS = Long.SIZE;
+
+		private final LongAdder dispatches = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+		void record(long nanos)
+		{
+			dispatches.increment();
+			totalNanos.add(nanos);
+			histogram.incrementAndGet(nanos <= 0 ? 0 : BUCKETS - 1 - Long.numberOfLeadingZeros(nanos));
+		}
+
+		public long getDispatches()
+		{
+			return dispatches.sum();
+		}
+
+		public long getTotalNanos()
+		{
+			return totalNanos.sum();
+		}
+
+		/**
+		 * @return the number of posts whose subscribers took between 2^i and 2^(i+1) nanoseconds, at index i
+		 */
+		public long[] getHistogram()
+		{
+			final long[] counts = new long[BUCKETS];
+			for (int i = 0; i < BUCKETS; i++)
+			{
+				counts[i] = histogram.get(i);
+			}
+			return counts;
+		}
+	}
+
+	/**
+	 * Receives the time every single subscriber took to handle an event, while set with {@link #setSubscriberTimer}
+	 */
+	public interface SubscriberTimer
+	{
+		void record(Class<?> eventType, Subscriber subscriber, long nanos);
+	}
+
+	/**
+	 * Subscribers of one event type, replaced as a whole whenever they change so posting never needs a lock
+	 */
+	private static final class Dispatch
+	{
+		private volatile Subscriber[] subscribers = NO_SUBSCRIBERS;
+		private final EventStats stats = new EventStats();
+	}
+
 	private final Consumer<Throwable> exceptionHandler;
 
-	@Nonnull
-	private ImmutableMultimap<Class<?>, Subscriber> subscribers = ImmutableMultimap.of();
+	private final Map<Class<?>, Dispatch> dispatches = new ConcurrentHashMap<>();
+
+	// Null unless timings are being recorded, so posting only pays for one read when they aren't
+	private volatile SubscriberTimer subscriberTimer;
+
+	// Event types every subscribed object is registered for, so unregistering only touches those, guarded by this
+	private final Map<Object, Set<Class<?>>> eventTypes = new IdentityHashMap<>();
 
 	/**
 	 * Instantiates EventBus with default exception handler
@@ -98,10 +177,7 @@ public class EventBus
 	 */
 	public synchronized void register(@Nonnull final Object object)
 	{
-		final ImmutableMultimap.Builder<Class<?>, Subscriber> builder = ImmutableMultimap.builder();
-		builder.putAll(subscribers);
-		builder.orderValuesBy(Comparator.comparingDouble(Subscriber::getPriority).reversed()
-			.thenComparing(s -> s.object.getClass().getName()));
+		final Map<Class<?>, List<Subscriber>> added = new HashMap<>();
 
 		for (Class<?> clazz = object.getClass(); clazz != null; clazz = clazz.getSuperclass())
 		{
@@ -125,7 +201,7 @@ public class EventBus
 
 				for (Class<?> psc = parameterClazz.getSuperclass(); psc != null; psc = psc.getSuperclass())
 				{
-					if (subscribers.containsKey(psc))
+					if (hasSubscribers(psc))
 					{
 						throw new IllegalArgumentException("@Subscribed method \"" + method + "\" cannot subscribe to class which inherits from subscribed class \"" + psc + "\"");
 					}
@@ -159,26 +235,22 @@ public class EventBus
 				}
 
 				final Subscriber subscriber = new Subscriber(object, method, sub.priority(), lambda);
-				builder.put(parameterClazz, subscriber);
+				added.computeIfAbsent(parameterClazz, k -> new ArrayList<>()).add(subscriber);
 				log.debug("Registering {} - {}", parameterClazz, subscriber);
 			}
 		}
 
-		subscribers = builder.build();
+		// Only published once every method passed the checks, like the rebuilt map before
+		for (Map.Entry<Class<?>, List<Subscriber>> entry : added.entrySet())
+		{
+			addSubscribers(entry.getKey(), entry.getValue());
+		}
 	}
 
 	public synchronized <T> Subscriber register(Class<T> clazz, Consumer<T> subFn, float priority)
 	{
-		final ImmutableMultimap.Builder<Class<?>, Subscriber> builder = ImmutableMultimap.builder();
-		builder.putAll(subscribers);
-		builder.orderValuesBy(Comparator.comparingDouble(Subscriber::getPriority).reversed()
-			.thenComparing(s -> s.object.getClass().getName()));
-
 		Subscriber sub = new Subscriber(subFn, null, priority, (Consumer<Object>) subFn);
-		builder.put(clazz, sub);
-
-		subscribers = builder.build();
-
+		addSubscribers(clazz, Collections.singletonList(sub));
 		return sub;
 	}
 
@@ -189,10 +261,16 @@ public class EventBus
 	 */
 	public synchronized void unregister(@Nonnull final Object object)
 	{
-		subscribers = ImmutableMultimap.copyOf(Iterables.filter(
-			subscribers.entries(),
-			e -> e.getValue().getObject() != object
-		));
+		final Set<Class<?>> types = eventTypes.remove(object);
+		if (types == null)
+		{
+			return;
+		}
+
+		for (Class<?> type : types)
+		{
+			removeSubscribers(type, s -> s.getObject() != object);
+		}
 	}
 
 	public synchronized void unregister(Subscriber sub)
@@ -202,10 +280,22 @@ public class EventBus
 			return;
 		}
 
-		subscribers = ImmutableMultimap.copyOf(Iterables.filter(
-			subscribers.entries(),
-			e -> sub != e.getValue()
-		));
+		final Set<Class<?>> types = eventTypes.get(sub.getObject());
+		if (types == null)
+		{
+			return;
+		}
+
+		boolean registeredOtherwise = false;
+		for (Class<?> type : types)
+		{
+			removeSubscribers(type, s -> sub != s);
+			registeredOtherwise |= Arrays.stream(dispatches.get(type).subscribers).anyMatch(s -> s.getObject() == sub.getObject());
+		}
+		if (!registeredOtherwise)
+		{
+			eventTypes.remove(sub.getObject());
+		}
 	}
 
 	/**
@@ -216,8 +306,17 @@ public class EventBus
 	 */
 	public void post(@Nonnull final Object event)
 	{
-		for (final Subscriber subscriber : subscribers.get(event.getClass()))
+		final Dispatch dispatch = dispatches.get(event.getClass());
+		if (dispatch == null)
+		{
+			return;
+		}
+
+		final SubscriberTimer timer = subscriberTimer;
+		final long start = timer != null ? System.nanoTime() : 0;
+		for (final Subscriber subscriber : dispatch.subscribers)
 		{
+			final long subscriberStart = timer != null ? System.nanoTime() : 0;
 			try
 			{
 				subscriber.invoke(event);
@@ -226,6 +325,71 @@ public class EventBus
 			{
 				exceptionHandler.accept(e);
 			}
+			if (timer != null)
+			{
+				timer.record(event.getClass(), subscriber, System.nanoTime() - subscriberStart);
+			}
+		}
+		if (timer != null)
+		{
+			dispatch.stats.record(System.nanoTime() - start);
 		}
 	}
+
+	/**
+	 * Starts handing the time of every subscriber call to the timer, or stops it when the timer is null.
+	 * The {@link #getEventStats() posting statistics} are only recorded while a timer is set.
+	 */
+	public void setSubscriberTimer(SubscriberTimer timer)
+	{
+		subscriberTimer = timer;
+	}
+
+	/**
+	 * @return the posting statistics of every event type that ever had a subscriber, counting only the posts made
+	 * while a {@link #setSubscriberTimer subscriber timer} was set
+	 */
+	public Map<Class<?>, EventStats> getEventStats()
+	{
+		final Map<Class<?>, EventStats> stats = new HashMap<>();
+		dispatches.forEach((type, dispatch) -> stats.put(type, dispatch.stats));
+		return stats;
+	}
+
+	private boolean hasSubscribers(Class<?> type)
+	{
+		final Dispatch dispatch = dispatches.get(type);
+		return dispatch != null && dispatch.subscribers.length > 0;
+	}
+
+	private void addSubscribers(Class<?> type, List<Subscriber> added)
+	{
+		final Dispatch dispatch = dispatches.computeIfAbsent(type, k -> new Dispatch());
+		final Subscriber[] current = dispatch.subscribers;
+		final Subscriber[] updated = Arrays.copyOf(current, current.length + added.size());
+		for (int i = 0; i < added.size(); i++)
+		{
+			updated[current.length + i] = added.get(i);
+		}
+		// Stable, so subscribers with the same priority and class keep their registration order
+		Arrays.sort(updated, SUBSCRIBER_ORDER);
+		dispatch.subscribers = updated;
+
+		for (Subscriber subscriber : added)
+		{
+			eventTypes.computeIfAbsent(subscriber.getObject(), k -> new LinkedHashSet<>()).add(type);
+		}
+	}
+
+	private void removeSubscribers(Class<?> type, Predicate<Subscriber> keep)
+	{
+		final Dispatch dispatch = dispatches.get(type);
+		if (dispatch == null)
+		{
+			return;
+		}
+
+		// The stats stay, so counts survive plugins being stopped and started again
+		dispatch.subscribers = Arrays.stream(dispatch.subscribers).filter(keep).toArray(Subscriber[]::new);
+	}
 }
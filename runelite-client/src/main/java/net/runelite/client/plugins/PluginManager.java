@@ -26,19 +26,24 @@ package net.runelite.client.plugins;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
 import com.google.common.graph.Graph;
 import com.google.common.graph.GraphBuilder;
 import com.google.common.graph.Graphs;
 import com.google.common.graph.MutableGraph;
 import com.google.common.reflect.ClassPath;
 import com.google.common.reflect.ClassPath.ClassInfo;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Binder;
 import com.google.inject.CreationException;
 import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.google.inject.Module;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.lang.invoke.CallSite;
 import java.lang.invoke.LambdaMetafactory;
 import java.lang.invoke.MethodHandle;
@@ -46,15 +51,24 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
@@ -89,6 +103,15 @@ public class PluginManager
 	 * Base package where the core plugins are
 	 */
 	private static final String PLUGIN_PACKAGE = "net.runelite.client.plugins";
+	/**
+	 * Plugin classes of the client, written at build time by the runelite-maven-plugin
+	 */
+	private static final String PLUGIN_INDEX = "/runelite/plugins";
+	/**
+	 * Instantiates the plugins of one dependency level in parallel. Off by default, since plugin constructors
+	 * and the modules they install have only ever been run one at a time
+	 */
+	private static final boolean PARALLEL_INSTANTIATION = Boolean.getBoolean("runelite.parallelpluginload");
 	private static final File SIDELOADED_PLUGINS = new File(RuneLite.RUNELITE_DIR, "sideloaded-plugins");
 
 	private final boolean developerMode;
@@ -269,16 +292,57 @@ public class PluginManager
 	public void loadCorePlugins() throws IOException, PluginInstantiationException
 	{
 		SplashScreen.stage(.59, null, "Loading plugins");
-		ClassPath classPath = ClassPath.from(getClass().getClassLoader());
+		long start = System.nanoTime();
 
-		List<Class<?>> plugins = classPath.getTopLevelClassesRecursive(PLUGIN_PACKAGE).stream()
-			.map(ClassInfo::load)
-			.collect(Collectors.toList());
+		List<Class<?>> plugins;
+		List<String> index = developerMode ? null : readPluginIndex();
+		if (index != null)
+		{
+			plugins = new ArrayList<>(index.size());
+			for (String className : index)
+			{
+				try
+				{
+					plugins.add(Class.forName(className, false, getClass().getClassLoader()));
+				}
+				catch (ClassNotFoundException ex)
+				{
+					throw new PluginInstantiationException(ex);
+				}
+			}
+		}
+		else
+		{
+			// the index may be out of date in developer mode, when classes were rebuilt without maven
+			ClassPath classPath = ClassPath.from(getClass().getClassLoader());
+
+			plugins = classPath.getTopLevelClassesRecursive(PLUGIN_PACKAGE).stream()
+				.map(ClassInfo::load)
+				.collect(Collectors.toList());
+		}
+		log.debug("Found {} plugin classes {} in {}ms", plugins.size(), index != null ? "from the plugin index" : "by scanning the classpath",
+			TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
 
 		loadPlugins(plugins, (loaded, total) ->
 			SplashScreen.stage(.60, .70, null, "Loading plugins", loaded, total, false));
 	}
 
+	private List<String> readPluginIndex() throws IOException
+	{
+		InputStream in = PluginManager.class.getResourceAsStream(PLUGIN_INDEX);
+		if (in == null)
+		{
+			return null;
+		}
+
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)))
+		{
+			return reader.lines()
+				.filter(line -> !line.isEmpty())
+				.collect(Collectors.toList());
+		}
+	}
+
 	public void loadSideLoadPlugins()
 	{
 		if (!developerMode)
@@ -376,32 +440,97 @@ public class PluginManager
 
 		List<Class<? extends Plugin>> sortedPlugins = topologicalSort(graph);
 
+		// The plugins of one batch are instantiated in parallel: a dependency level when enabled, otherwise
+		// every plugin on its own in topological order
+		List<List<Class<? extends Plugin>>> batches = PARALLEL_INSTANTIATION
+			? groupByLevel(graph, sortedPlugins)
+			: sortedPlugins.stream()
+				.map(Collections::<Class<? extends Plugin>>singletonList)
+				.collect(Collectors.toList());
+
+		long start = System.nanoTime();
+		ExecutorService executor = sortedPlugins.size() > batches.size()
+			? Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new ThreadFactoryBuilder()
+				.setNameFormat("plugin-loader-%d")
+				.setDaemon(true)
+				.build())
+			: null;
+
 		int loaded = 0;
 		List<Plugin> newPlugins = new ArrayList<>();
-		for (Class<? extends Plugin> pluginClazz : sortedPlugins)
+		try
 		{
-			Plugin plugin;
-			try
+			for (List<Class<? extends Plugin>> batch : batches)
 			{
-				plugin = instantiate(this.plugins, (Class<Plugin>) pluginClazz);
-				newPlugins.add(plugin);
-				this.plugins.add(plugin);
-			}
-			catch (PluginInstantiationException ex)
-			{
-				log.error("Error instantiating plugin!", ex);
-			}
+				List<Future<Plugin>> futures = new ArrayList<>(batch.size());
+				for (Class<? extends Plugin> pluginClazz : batch)
+				{
+					if (executor != null && batch.size() > 1)
+					{
+						futures.add(executor.submit(() -> instantiate(this.plugins, (Class<Plugin>) pluginClazz)));
+					}
+					else
+					{
+						futures.add(null);
+					}
+				}
 
-			loaded++;
-			if (onPluginLoaded != null)
+				// Plugins are added in topological order, the same as when instantiating them one by one
+				for (int i = 0; i < batch.size(); ++i)
+				{
+					Future<Plugin> future = futures.get(i);
+					try
+					{
+						Plugin plugin = future != null ? getInstantiated(future) : instantiate(this.plugins, (Class<Plugin>) batch.get(i));
+						newPlugins.add(plugin);
+						this.plugins.add(plugin);
+					}
+					catch (PluginInstantiationException ex)
+					{
+						log.error("Error instantiating plugin!", ex);
+					}
+
+					loaded++;
+					if (onPluginLoaded != null)
+					{
+						onPluginLoaded.accept(loaded, sortedPlugins.size());
+					}
+				}
+			}
+		}
+		finally
+		{
+			if (executor != null)
 			{
-				onPluginLoaded.accept(loaded, sortedPlugins.size());
+				executor.shutdownNow();
 			}
 		}
 
+		log.debug("Instantiated {} plugins in {} batches in {}ms", newPlugins.size(), batches.size(),
+			TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
 		return newPlugins;
 	}
 
+	private static Plugin getInstantiated(Future<Plugin> future) throws PluginInstantiationException
+	{
+		try
+		{
+			return future.get();
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			throw new PluginInstantiationException(ex);
+		}
+		catch (ExecutionException ex)
+		{
+			Throwable cause = ex.getCause();
+			Throwables.throwIfInstanceOf(cause, PluginInstantiationException.class);
+			Throwables.throwIfUnchecked(cause);
+			throw new PluginInstantiationException(cause);
+		}
+	}
+
 	public boolean startPlugin(Plugin plugin) throws PluginInstantiationException
 	{
 		// plugins always start in the EDT
@@ -528,6 +657,7 @@ public class PluginManager
 
 	private Plugin instantiate(List<Plugin> scannedPlugins, Class<Plugin> clazz) throws PluginInstantiationException
 	{
+		long start = System.nanoTime();
 		PluginDependency[] pluginDependencies = clazz.getAnnotationsByType(PluginDependency.class);
 		List<Plugin> deps = new ArrayList<>();
 		for (PluginDependency pluginDependency : pluginDependencies)
@@ -596,7 +726,7 @@ public class PluginManager
 			throw new PluginInstantiationException(ex);
 		}
 
-		log.debug("Loaded plugin {}", clazz.getSimpleName());
+		log.debug("Loaded plugin {} in {}ms", clazz.getSimpleName(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
 		return plugin;
 	}
 
@@ -713,6 +843,36 @@ public class PluginManager
 		return l;
 	}
 
+	/**
+	 * Groups the topologically sorted nodes of a directed acyclic graph by level. Nodes without predecessors are
+	 * on level 0, every other node is one level above its highest predecessor, so no node depends on a node of its
+	 * own level or a higher one.
+	 *
+	 * @param graph  - A directed acyclic graph
+	 * @param sorted - The nodes of the graph, topologically sorted
+	 * @return - The nodes of every level, from level 0 up, each in the order of sorted
+	 */
+	@VisibleForTesting
+	static <T> List<List<T>> groupByLevel(Graph<T> graph, List<T> sorted)
+	{
+		Map<T, Integer> levels = new HashMap<>();
+		List<List<T>> nodesByLevel = new ArrayList<>();
+		for (T node : sorted)
+		{
+			int level = graph.predecessors(node).stream()
+				.mapToInt(predecessor -> levels.get(predecessor) + 1)
+				.max()
+				.orElse(0);
+			levels.put(node, level);
+			if (level == nodesByLevel.size())
+			{
+				nodesByLevel.add(new ArrayList<>());
+			}
+			nodesByLevel.get(level).add(node);
+		}
+		return nodesByLevel;
+	}
+
 	public List<Plugin> conflictsForPlugin(Plugin plugin)
 	{
 		Set<String> conflicts;
@@ -155,6 +155,12 @@ class DevToolsPanel extends PluginPanel
 
 		container.add(plugin.getSoundEffects());
 
+		container.add(plugin.getEventTimings());
+		// Runs before the button toggles itself
+		plugin.getEventTimings().addActionListener(ev -> plugin.setEventTimingsRecorded(!plugin.getEventTimings().isActive()));
+
+		container.add(plugin.getScriptTasks());
+
 		final JButton notificationBtn = new JButton("Notification");
 		notificationBtn.addActionListener(e ->
 			scheduledExecutorService.schedule(() ->
@@ -62,6 +62,9 @@ import java.awt.event.KeyEvent;
 import java.awt.image.BufferedImage;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import static java.lang.Math.min;
 
@@ -76,6 +79,7 @@ public class DevToolsPlugin extends Plugin
 {
 	private static final List<MenuAction> EXAMINE_MENU_ACTIONS = ImmutableList.of(MenuAction.EXAMINE_ITEM,
 			MenuAction.EXAMINE_ITEM_GROUND, MenuAction.EXAMINE_NPC, MenuAction.EXAMINE_OBJECT);
+	private static final int EVENT_TIMING_LOG_HANDLERS = 5;
 
 	@Inject
 	private Client client;
@@ -159,6 +163,15 @@ public class DevToolsPlugin extends Plugin
 	private MicrobotClickOverlay microbotClickOverlay;
 	@Inject
 	private MicrobotMouseOverlay microbotMouseOverlay;
+	@Inject
+	private EventTimingOverlay eventTimingOverlay;
+	@Inject
+	private EventTimingProfiler eventTimingProfiler;
+	@Inject
+	private ScriptTaskOverlay scriptTaskOverlay;
+	@Inject
+	private ScheduledExecutorService scheduledExecutorService;
+	private ScheduledFuture<?> eventTimingDump;
 	private DevToolsButton players;
 	private DevToolsButton npcs;
 	private DevToolsButton groundItems;
@@ -198,6 +211,8 @@ public class DevToolsPlugin extends Plugin
 	//custom devtools from microbot
 	private DevToolsButton inventory;
 	private DevToolsButton memoryInspector;
+	private DevToolsButton eventTimings;
+	private DevToolsButton scriptTasks;
 
 	@Provides
 	DevToolsConfig provideConfig(ConfigManager configManager)
@@ -252,6 +267,8 @@ public class DevToolsPlugin extends Plugin
 		mouseClick = new DevToolsButton("Bot Clicks");
 		mouseMovement = new DevToolsButton("Bot Mouse");
 		mouseMovement.setActive(true);
+		eventTimings = new DevToolsButton("Event Timings");
+		scriptTasks = new DevToolsButton("Script Tasks");
 
 		overlayManager.add(overlay);
 		overlayManager.add(locationOverlay);
@@ -262,6 +279,8 @@ public class DevToolsPlugin extends Plugin
 		overlayManager.add(soundEffectOverlay);
 		overlayManager.add(microbotClickOverlay);
 		overlayManager.add(microbotMouseOverlay);
+		overlayManager.add(eventTimingOverlay);
+		overlayManager.add(scriptTaskOverlay);
 
 		final DevToolsPanel panel = injector.getInstance(DevToolsPanel.class);
 
@@ -294,10 +313,35 @@ public class DevToolsPlugin extends Plugin
 		overlayManager.remove(soundEffectOverlay);
 		overlayManager.remove(microbotClickOverlay);
 		overlayManager.remove(microbotMouseOverlay);
+		overlayManager.remove(eventTimingOverlay);
+		overlayManager.remove(scriptTaskOverlay);
+		setEventTimingsRecorded(false);
 		clientToolbar.removeNavigation(navButton);
 		Toolkit.getDefaultToolkit().removeAWTEventListener(swingInspectorKeyListener);
 	}
 
+	/**
+	 * Starts or stops recording the time of every event subscriber, which is logged every minute while recording
+	 */
+	void setEventTimingsRecorded(boolean recorded)
+	{
+		if (eventTimingDump != null)
+		{
+			eventTimingDump.cancel(false);
+			eventTimingDump = null;
+			eventBus.setSubscriberTimer(null);
+			eventTimingProfiler.logRankedStats(EVENT_TIMING_LOG_HANDLERS);
+		}
+
+		if (recorded)
+		{
+			eventTimingProfiler.reset();
+			eventBus.setSubscriberTimer(eventTimingProfiler);
+			eventTimingDump = scheduledExecutorService.scheduleAtFixedRate(
+				() -> eventTimingProfiler.logRankedStats(EVENT_TIMING_LOG_HANDLERS), 1, 1, TimeUnit.MINUTES);
+		}
+	}
+
 	@Subscribe
 	public void onCommandExecuted(CommandExecuted commandExecuted)
 	{
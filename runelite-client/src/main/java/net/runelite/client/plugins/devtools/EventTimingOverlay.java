@@ -0,0 +1,54 @@
+package net.runelite.client.plugins.devtools;
+
+import net.runelite.client.ui.overlay.OverlayPanel;
+import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.components.LineComponent;
+import net.runelite.client.ui.overlay.components.TitleComponent;
+
+import javax.inject.Inject;
+import java.awt.*;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shows the slowest event subscribers of the event types that take the most time, while event timings are recorded.
+ */
+class EventTimingOverlay extends OverlayPanel {
+    private static final int EVENT_TYPES = 4;
+    private static final int HANDLERS_PER_EVENT = 3;
+
+    private final DevToolsPlugin plugin;
+    private final EventTimingProfiler profiler;
+
+    @Inject
+    EventTimingOverlay(DevToolsPlugin plugin, EventTimingProfiler profiler) {
+        super(plugin);
+        this.plugin = plugin;
+        this.profiler = profiler;
+        setPosition(OverlayPosition.TOP_LEFT);
+    }
+
+    @Override
+    public Dimension render(Graphics2D graphics) {
+        if (!plugin.getEventTimings().isActive()) {
+            return null;
+        }
+
+        panelComponent.setPreferredSize(new Dimension(320, 0));
+        panelComponent.getChildren().add(TitleComponent.builder().text("Event subscribers (p50 / p99)").build());
+
+        int events = 0;
+        for (Map.Entry<String, List<EventTimingProfiler.HandlerStats>> entry : profiler.getRankedStats().entrySet()) {
+            if (events++ >= EVENT_TYPES) {
+                break;
+            }
+            panelComponent.getChildren().add(LineComponent.builder().left(entry.getKey()).leftColor(Color.YELLOW).build());
+            entry.getValue().stream().limit(HANDLERS_PER_EVENT).forEach(stats -> panelComponent.getChildren().add(
+                    LineComponent.builder()
+                            .left(stats.getHandler())
+                            .right(EventTimingProfiler.format(stats.getP50Nanos()) + " / " + EventTimingProfiler.format(stats.getP99Nanos()))
+                            .build()));
+        }
+        return super.render(graphics);
+    }
+}
@@ -0,0 +1,114 @@
+package net.runelite.client.plugins.devtools;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.eventbus.EventBus;
+
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long every event subscriber takes, while it is set as the {@link EventBus.SubscriberTimer},
+ * to find the {@code @Subscribe} handlers that make the client stutter.
+ */
+@Slf4j
+@Singleton
+class EventTimingProfiler implements EventBus.SubscriberTimer {
+    private final Map<EventBus.Subscriber, HandlerTimings> handlers = new ConcurrentHashMap<>();
+
+    private static final class HandlerTimings {
+        private final Class<?> eventType;
+        private final String name;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        private HandlerTimings(Class<?> eventType, EventBus.Subscriber subscriber) {
+            this.eventType = eventType;
+            this.name = subscriber.getMethod() != null
+                    ? subscriber.getMethod().getDeclaringClass().getSimpleName() + "." + subscriber.getMethod().getName()
+                    : subscriber.getObject().getClass().getName();
+        }
+    }
+
+    @Value
+    static class HandlerStats {
+        String eventType;
+        String handler;
+        long count;
+        long meanNanos;
+        long p50Nanos;
+        long p99Nanos;
+        long maxNanos;
+        long totalNanos;
+    }
+
+    @Override
+    public void record(Class<?> eventType, EventBus.Subscriber subscriber, long nanos) {
+        HandlerTimings timings = handlers.get(subscriber);
+        if (timings == null) {
+            timings = handlers.computeIfAbsent(subscriber, s -> new HandlerTimings(eventType, s));
+        }
+        timings.histogram.record(nanos);
+    }
+
+    void reset() {
+        handlers.clear();
+    }
+
+    /**
+     * @return the recorded handlers of every event type, slowest first by their 99th percentile,
+     * with the event types that took the most time in total first
+     */
+    Map<String, List<HandlerStats>> getRankedStats() {
+        final Map<String, List<HandlerStats>> byEvent = new HashMap<>();
+        for (HandlerTimings timings : handlers.values()) {
+            final LatencyHistogram histogram = timings.histogram;
+            byEvent.computeIfAbsent(timings.eventType.getSimpleName(), k -> new ArrayList<>()).add(new HandlerStats(
+                    timings.eventType.getSimpleName(), timings.name, histogram.getCount(), histogram.getMean(),
+                    histogram.getPercentile(50), histogram.getPercentile(99), histogram.getMax(), histogram.getTotal()));
+        }
+
+        byEvent.values().forEach(stats -> stats.sort(Comparator.comparingLong(HandlerStats::getP99Nanos).reversed()));
+        final List<Map.Entry<String, List<HandlerStats>>> events = new ArrayList<>(byEvent.entrySet());
+        events.sort(Comparator.comparingLong((Map.Entry<String, List<HandlerStats>> e) ->
+                e.getValue().stream().mapToLong(HandlerStats::getTotalNanos).sum()).reversed());
+
+        final Map<String, List<HandlerStats>> ranked = new LinkedHashMap<>();
+        events.forEach(e -> ranked.put(e.getKey(), e.getValue()));
+        return ranked;
+    }
+
+    /** Logs the slowest handlers of every event type */
+    void logRankedStats(int handlersPerEvent) {
+        final Map<String, List<HandlerStats>> ranked = getRankedStats();
+        if (ranked.isEmpty()) {
+            return;
+        }
+
+        final StringBuilder sb = new StringBuilder("Slowest event subscribers:");
+        ranked.forEach((event, stats) -> {
+            sb.append("\n  ").append(event);
+            stats.stream().limit(handlersPerEvent).forEach(s -> sb.append(String.format(
+                    "%n    %-60s calls %8d  mean %8s  p50 %8s  p99 %8s  max %8s",
+                    s.getHandler(), s.getCount(), format(s.getMeanNanos()), format(s.getP50Nanos()),
+                    format(s.getP99Nanos()), format(s.getMaxNanos()))));
+        });
+        log.info(sb.toString());
+    }
+
+    static String format(long nanos) {
+        if (nanos < TimeUnit.MICROSECONDS.toNanos(1)) {
+            return nanos + "ns";
+        }
+        if (nanos < TimeUnit.MILLISECONDS.toNanos(1)) {
+            return String.format("%.1fus", nanos / 1e3);
+        }
+        return String.format("%.2fms", nanos / 1e6);
+    }
+}
@@ -0,0 +1,91 @@
+package net.runelite.client.plugins.devtools;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed size, lock-free latency recorder in the style of HdrHistogram: values below 32 ns are counted exactly and
+ * every power of two above that is split into 16 linear buckets, so percentiles are accurate to about 6%
+ * over the whole range of nanosecond values.
+ */
+class LatencyHistogram {
+    private static final int EXACT = 32;
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Highest bit of the values that have their own buckets, 5 for 32 up to 62 for Long.MAX_VALUE
+    private static final int FIRST_BIT = 5;
+    private static final int BUCKETS = EXACT + (Long.SIZE - 1 - FIRST_BIT) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    void record(long nanos) {
+        final long value = Math.max(0, nanos);
+        counts.incrementAndGet(index(value));
+        count.incrementAndGet();
+        total.addAndGet(value);
+        long previous;
+        while (value > (previous = max.get()) && !max.compareAndSet(previous, value)) {
+            // Retry until no other thread recorded a higher maximum in between
+        }
+    }
+
+    long getCount() {
+        return count.get();
+    }
+
+    long getTotal() {
+        return total.get();
+    }
+
+    long getMax() {
+        return max.get();
+    }
+
+    long getMean() {
+        final long n = count.get();
+        return n == 0 ? 0 : total.get() / n;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the highest value of the bucket the percentile falls in, capped at the maximum recorded value
+     */
+    long getPercentile(double percentile) {
+        final long n = count.get();
+        if (n == 0) {
+            return 0;
+        }
+
+        final long target = Math.max(1, (long) Math.ceil(percentile / 100 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestValue(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    private static int index(long value) {
+        if (value < EXACT) {
+            return (int) value;
+        }
+        final int highestBit = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (highestBit - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+        return EXACT + (highestBit - FIRST_BIT) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long highestValue(int index) {
+        if (index < EXACT) {
+            return index;
+        }
+        final int highestBit = (index - EXACT) / SUB_BUCKETS + FIRST_BIT;
+        final int subBucket = (index - EXACT) % SUB_BUCKETS + SUB_BUCKETS;
+        final int shift = highestBit - SUB_BUCKET_BITS;
+        return ((long) (subBucket + 1) << shift) - 1;
+    }
+}
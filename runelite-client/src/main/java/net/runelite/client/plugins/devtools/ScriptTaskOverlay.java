@@ -0,0 +1,56 @@
+package net.runelite.client.plugins.devtools;
+
+import net.runelite.client.plugins.microbot.util.executor.MicrobotExecutor;
+import net.runelite.client.ui.overlay.OverlayPanel;
+import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.components.LineComponent;
+import net.runelite.client.ui.overlay.components.TitleComponent;
+
+import javax.inject.Inject;
+import java.awt.*;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Shows the shared microbot workers in use and the tasks every script and utility has scheduled or running.
+ */
+class ScriptTaskOverlay extends OverlayPanel {
+    private static final int MAX_TASKS = 20;
+
+    private final DevToolsPlugin plugin;
+
+    @Inject
+    ScriptTaskOverlay(DevToolsPlugin plugin) {
+        super(plugin);
+        this.plugin = plugin;
+        setPosition(OverlayPosition.TOP_LEFT);
+    }
+
+    @Override
+    public Dimension render(Graphics2D graphics) {
+        if (!plugin.getScriptTasks().isActive()) {
+            return null;
+        }
+
+        final List<MicrobotExecutor.TaskStatus> tasks = MicrobotExecutor.getTaskStatus();
+        // Running tasks first, then by owner
+        tasks.sort(Comparator.comparing(MicrobotExecutor.TaskStatus::isRunning).reversed()
+                .thenComparing(MicrobotExecutor.TaskStatus::getOwner));
+
+        panelComponent.setPreferredSize(new Dimension(240, 0));
+        panelComponent.getChildren().add(TitleComponent.builder().text("Script tasks").build());
+        panelComponent.getChildren().add(LineComponent.builder()
+                .left("Workers")
+                .right(MicrobotExecutor.getWorkerCount() + " / " + MicrobotExecutor.getMaxWorkers())
+                .build());
+        panelComponent.getChildren().add(LineComponent.builder().left("Tasks").right(String.valueOf(tasks.size())).build());
+
+        tasks.stream().limit(MAX_TASKS).forEach(task -> panelComponent.getChildren().add(
+                LineComponent.builder()
+                        .left(task.getOwner())
+                        .leftColor(task.isRunning() ? Color.GREEN : Color.WHITE)
+                        .right((task.isPeriodic() ? "loop, " : "") + task.getRuns() + " runs")
+                        .build()));
+        return super.render(graphics);
+    }
+}
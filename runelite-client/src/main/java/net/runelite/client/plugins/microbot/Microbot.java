@@ -29,6 +29,7 @@ import net.runelite.client.plugins.loottracker.LootTrackerRecord;
 import net.runelite.client.plugins.microbot.configs.SpecialAttackConfigs;
 import net.runelite.client.plugins.microbot.dashboard.PluginRequestModel;
 import net.runelite.client.plugins.microbot.qualityoflife.scripts.pouch.PouchScript;
+import net.runelite.client.plugins.microbot.util.WorldSnapshot;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2ItemModel;
 import net.runelite.client.plugins.microbot.util.menu.NewMenuEntry;
 import net.runelite.client.plugins.microbot.util.misc.Rs2UiHelper;
@@ -174,11 +175,11 @@ public class Microbot {
     }
 
     public static int getVarbitValue(int varbit) {
-        return getClientThread().runOnClientThread(() -> getClient().getVarbitValue(varbit));
+        return WorldSnapshot.getVarbitValue(varbit);
     }
 
     public static int getVarbitPlayerValue(int varbit) {
-        return getClientThread().runOnClientThread(() -> getClient().getVarpValue(varbit));
+        return WorldSnapshot.getVarpValue(varbit);
     }
 
     public static EnumComposition getEnum(int id) {
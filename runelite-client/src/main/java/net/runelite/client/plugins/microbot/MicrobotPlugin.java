@@ -22,11 +22,17 @@ import net.runelite.client.plugins.PluginInstantiationException;
 import net.runelite.client.plugins.PluginManager;
 import net.runelite.client.plugins.microbot.qualityoflife.scripts.pouch.PouchOverlay;
 import net.runelite.client.plugins.microbot.qualityoflife.scripts.pouch.PouchScript;
+import net.runelite.client.plugins.microbot.util.ConditionWaiter;
+import net.runelite.client.plugins.microbot.util.DefinitionCache;
+import net.runelite.client.plugins.microbot.util.WorldSnapshot;
 import net.runelite.client.plugins.microbot.util.bank.Rs2Bank;
 import net.runelite.client.plugins.microbot.util.equipment.Rs2Equipment;
+import net.runelite.client.plugins.microbot.util.gameobject.SceneObjectIndex;
+import net.runelite.client.plugins.microbot.util.grounditem.GroundItemIndex;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2Gembag;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2Inventory;
 import net.runelite.client.plugins.microbot.util.mouse.VirtualMouse;
+import net.runelite.client.plugins.microbot.util.npc.Rs2NpcRegistry;
 import net.runelite.client.plugins.microbot.util.mouse.naturalmouse.NaturalMouse;
 import net.runelite.client.plugins.microbot.util.overlay.GembagOverlay;
 import net.runelite.client.plugins.microbot.util.player.Rs2Player;
@@ -143,6 +149,7 @@ public class MicrobotPlugin extends Plugin {
     @Subscribe
     public void onStatChanged(StatChanged statChanged) {
         Microbot.setIsGainingExp(true);
+        ConditionWaiter.signal();
     }
 
     @Subscribe
@@ -157,27 +164,121 @@ public class MicrobotPlugin extends Plugin {
         } else {
             Rs2Shop.storeShopItemsInMemory(event, event.getContainerId());
         }
+        ConditionWaiter.signal();
     }
 
     @Subscribe
     public void onGameStateChanged(GameStateChanged gameStateChanged) {
         if (gameStateChanged.getGameState() == GameState.HOPPING || gameStateChanged.getGameState() == GameState.LOGIN_SCREEN || gameStateChanged.getGameState() == GameState.CONNECTION_LOST) {
-            if (Rs2Bank.bankItems != null) {
-                Rs2Bank.bankItems.clear();
-            }
+            Rs2Bank.clearBankItems();
             Microbot.loggedIn = false;
+            WorldSnapshot.clear();
         }
+        SceneObjectIndex.onGameStateChanged(gameStateChanged);
+        Rs2NpcRegistry.onGameStateChanged(gameStateChanged);
+        GroundItemIndex.onGameStateChanged(gameStateChanged);
+        DefinitionCache.onGameStateChanged(gameStateChanged);
+        ConditionWaiter.signal();
     }
 
     @Subscribe
     public void onVarbitChanged(VarbitChanged event) {
         Rs2Player.handlePotionTimers(event);
         Rs2Player.handleTeleblockTimer(event);
+        WorldSnapshot.onVarbitChanged(event);
+        ConditionWaiter.signal();
     }
     
     @Subscribe
     public void onAnimationChanged(AnimationChanged event) {
         Rs2Player.handleAnimationChanged(event);
+        ConditionWaiter.signal();
+    }
+
+    // Runs after the other subscribers, so woken scripts see the state of the new tick
+    @Subscribe(priority = -1)
+    public void onGameTick(GameTick event) {
+        Rs2NpcRegistry.onGameTick(client);
+        WorldSnapshot.capture(client);
+        SceneObjectIndex.onGameTick();
+        GroundItemIndex.onGameTick();
+        DefinitionCache.onGameTick(client);
+        ConditionWaiter.signal();
+    }
+
+    @Subscribe
+    public void onItemSpawned(ItemSpawned event) {
+        GroundItemIndex.onItemSpawned(event);
+    }
+
+    @Subscribe
+    public void onItemDespawned(ItemDespawned event) {
+        GroundItemIndex.onItemDespawned(event);
+    }
+
+    @Subscribe
+    public void onItemQuantityChanged(ItemQuantityChanged event) {
+        GroundItemIndex.onItemQuantityChanged(event);
+    }
+
+    @Subscribe
+    public void onNpcSpawned(NpcSpawned event) {
+        Rs2NpcRegistry.onNpcSpawned(event);
+    }
+
+    @Subscribe
+    public void onNpcDespawned(NpcDespawned event) {
+        Rs2NpcRegistry.onNpcDespawned(event);
+    }
+
+    @Subscribe
+    public void onNpcChanged(NpcChanged event) {
+        Rs2NpcRegistry.onNpcChanged(event);
+    }
+
+    @Subscribe
+    public void onGameObjectSpawned(GameObjectSpawned event) {
+        SceneObjectIndex.onGameObjectSpawned(event);
+    }
+
+    @Subscribe
+    public void onGameObjectDespawned(GameObjectDespawned event) {
+        SceneObjectIndex.onGameObjectDespawned(event);
+    }
+
+    @Subscribe
+    public void onWallObjectSpawned(WallObjectSpawned event) {
+        SceneObjectIndex.onWallObjectSpawned(event);
+    }
+
+    @Subscribe
+    public void onWallObjectDespawned(WallObjectDespawned event) {
+        SceneObjectIndex.onWallObjectDespawned(event);
+    }
+
+    @Subscribe
+    public void onDecorativeObjectSpawned(DecorativeObjectSpawned event) {
+        SceneObjectIndex.onDecorativeObjectSpawned(event);
+    }
+
+    @Subscribe
+    public void onDecorativeObjectDespawned(DecorativeObjectDespawned event) {
+        SceneObjectIndex.onDecorativeObjectDespawned(event);
+    }
+
+    @Subscribe
+    public void onGroundObjectSpawned(GroundObjectSpawned event) {
+        SceneObjectIndex.onGroundObjectSpawned(event);
+    }
+
+    @Subscribe
+    public void onGroundObjectDespawned(GroundObjectDespawned event) {
+        SceneObjectIndex.onGroundObjectDespawned(event);
+    }
+
+    @Subscribe
+    public void onWidgetLoaded(WidgetLoaded event) {
+        ConditionWaiter.signal();
     }
     
     @Subscribe(priority = 999)
@@ -226,6 +327,7 @@ public class MicrobotPlugin extends Plugin {
         }
         Microbot.getPouchScript().onChatMessage(event);
         Rs2Gembag.onChatMessage(event);
+        ConditionWaiter.signal();
     }
 
     @SneakyThrows
@@ -1,6 +1,5 @@
 package net.runelite.client.plugins.microbot;
 
-import com.google.common.base.Stopwatch;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.coords.WorldPoint;
@@ -8,7 +7,9 @@ import net.runelite.api.events.WidgetLoaded;
 import net.runelite.api.widgets.InterfaceID;
 import net.runelite.client.plugins.microbot.globval.enums.InterfaceTab;
 import net.runelite.client.plugins.microbot.shortestpath.ShortestPathPlugin;
+import net.runelite.client.plugins.microbot.util.ConditionWaiter;
 import net.runelite.client.plugins.microbot.util.Global;
+import net.runelite.client.plugins.microbot.util.executor.MicrobotExecutor;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2Inventory;
 import net.runelite.client.plugins.microbot.util.keyboard.Rs2Keyboard;
 import net.runelite.client.plugins.microbot.util.player.Rs2Player;
@@ -18,7 +19,6 @@ import net.runelite.client.plugins.microbot.util.widget.Rs2Widget;
 
 import java.time.Duration;
 import java.time.LocalTime;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -27,7 +27,7 @@ import java.util.function.BooleanSupplier;
 @Slf4j
 public abstract class Script implements IScript {
 
-    protected ScheduledExecutorService scheduledExecutorService = Executors.newScheduledThreadPool(10);
+    protected ScheduledExecutorService scheduledExecutorService = MicrobotExecutor.newScheduler(getClass().getSimpleName());
     protected ScheduledFuture<?> scheduledFuture;
     public ScheduledFuture<?> mainScheduledFuture;
     public static boolean hasLeveledUp = false;
@@ -70,12 +70,7 @@ public abstract class Script implements IScript {
     }
 
     public boolean sleepUntil(BooleanSupplier awaitedCondition, int time) {
-        boolean done;
-        long startTime = System.currentTimeMillis();
-        do {
-            done = awaitedCondition.getAsBoolean();
-        } while (!done && System.currentTimeMillis() - startTime < time);
-        return done;
+        return Global.sleepUntil(awaitedCondition, time);
     }
 
     /**
@@ -117,15 +112,8 @@ public abstract class Script implements IScript {
 
 
     public boolean sleepUntil(BooleanSupplier awaitedCondition, BooleanSupplier resetCondition, int timeout) {
-        final Stopwatch watch = Stopwatch.createStarted();
-        while (!awaitedCondition.getAsBoolean() && watch.elapsed(TimeUnit.MILLISECONDS) < timeout) {
-            sleep(100);
-            if (resetCondition.getAsBoolean() && Microbot.isLoggedIn()) {
-                watch.reset();
-                watch.start();
-            }
-        }
-        return awaitedCondition.getAsBoolean();
+        return ConditionWaiter.waitUntil(awaitedCondition, () -> resetCondition.getAsBoolean() && Microbot.isLoggedIn(),
+                timeout, ConditionWaiter.DEFAULT_POLL_MILLIS);
     }
 
     public void sleepUntilOnClientThread(BooleanSupplier awaitedCondition) {
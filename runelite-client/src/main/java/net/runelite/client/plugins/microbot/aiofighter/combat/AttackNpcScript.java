@@ -72,8 +72,8 @@ public class AttackNpcScript extends Script {
                 }
                 messageShown = false;
 
-                attackableNpcs = Rs2Npc.getAttackableNpcs(config.attackReachableNpcs())
-                        .filter(npc -> npc.getWorldLocation().distanceTo(config.centerLocation()) <= config.attackRadius() && npcsToAttack.contains(npc.getName().toLowerCase()))
+                attackableNpcs = Rs2Npc.getAttackableNpcs(config.attackReachableNpcs(), config.centerLocation(), config.attackRadius())
+                        .filter(npc -> npcsToAttack.contains(npc.getName().toLowerCase()))
                         .sorted(Comparator.comparingInt((Rs2NpcModel npc) -> npc.getInteracting() == Microbot.getClient().getLocalPlayer() ? 0 : 1)
                                 .thenComparingInt(npc -> Rs2Player.getRs2WorldPoint().distanceToPath(npc.getWorldLocation())))
                         .collect(Collectors.toList());
@@ -7,6 +7,7 @@ import net.runelite.api.widgets.Widget;
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.Script;
 import net.runelite.client.plugins.microbot.magic.housetab.enums.HOUSETABS_CONFIG;
+import net.runelite.client.plugins.microbot.util.executor.MicrobotExecutor;
 import net.runelite.client.plugins.microbot.util.gameobject.Rs2GameObject;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2Inventory;
 import net.runelite.client.plugins.microbot.util.keyboard.Rs2Keyboard;
@@ -16,7 +17,6 @@ import net.runelite.client.plugins.microbot.util.player.Rs2Player;
 import net.runelite.client.plugins.microbot.util.widget.Rs2Widget;
 
 import java.util.Arrays;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -54,7 +54,7 @@ public class HouseTabScript extends Script {
     public HouseTabScript(HOUSETABS_CONFIG houseTabConfig, String[] playerHouses) {
         this.houseTabConfig = houseTabConfig;
         this.playerHouses = playerHouses;
-        scheduledExecutorService = Executors.newScheduledThreadPool(1);
+        scheduledExecutorService = MicrobotExecutor.newScheduler("HouseTabScript");
     }
 
     private void lookForHouseAdvertisementObject() {
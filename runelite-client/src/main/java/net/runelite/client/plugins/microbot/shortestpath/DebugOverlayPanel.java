@@ -60,6 +60,9 @@ public class DebugOverlayPanel extends OverlayPanel {
 
         components.add(separator);
 
+        components.add(makeLine("Algorithm:", stats.isRepaired() ? "Path repair"
+                : stats.getAlgorithm() == PathfinderAlgorithm.A_STAR ? "A*" : "Breadth-first"));
+
         String nodes = Integer.toString(stats.getNodesChecked());
         components.add(makeLine("Nodes:", nodes));
 
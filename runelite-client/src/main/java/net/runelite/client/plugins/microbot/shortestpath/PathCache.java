@@ -0,0 +1,174 @@
+package net.runelite.client.plugins.microbot.shortestpath;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.coords.WorldPoint;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LRU cache of complete paths, so scripts walking the same routes over and over don't search them again.
+ * <p>
+ * Paths are keyed by the area around the start tile, the exact target and a fingerprint of everything
+ * that decides which transports and tiles can be used (see {@link net.runelite.client.plugins.microbot.shortestpath.pathfinder.PathfinderConfig#getPathCacheFingerprint()}),
+ * so a path is never reused after the usable transports or restrictions changed.
+ * The cached path starts somewhere in the start area; the caller is expected to connect the actual start to it.
+ */
+@Slf4j
+public class PathCache {
+    private static final int MAX_ENTRIES = 256;
+    // Start tiles are grouped in squares of 8x8 tiles
+    private static final int START_BUCKET_SHIFT = 3;
+    private static final int FILE_MAGIC = 0x50415448;
+    // Bumped when the pathfinder's costs change, so paths found with the old costs are dropped
+    private static final int FILE_VERSION = 2;
+
+    @Value
+    private static class Key {
+        int startBucket;
+        int targetPacked;
+        long fingerprint;
+    }
+
+    private final LinkedHashMap<Key, int[]> paths = new LinkedHashMap<>(MAX_ENTRIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, int[]> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    private long fingerprint;
+    private boolean modified = false;
+
+    /**
+     * @return the cached path for a start tile in the same area, or null if there is none
+     */
+    public synchronized List<WorldPoint> get(WorldPoint start, WorldPoint target, long fingerprint) {
+        int[] path = paths.get(key(start, target, fingerprint));
+        if (path == null) {
+            return null;
+        }
+
+        List<WorldPoint> result = new ArrayList<>(path.length);
+        for (int packed : path) {
+            result.add(WorldPointUtil.unpackWorldPoint(packed));
+        }
+        return result;
+    }
+
+    /** Stores a path that ends on its target; partial paths must not be cached */
+    public synchronized void put(WorldPoint start, WorldPoint target, long fingerprint, List<WorldPoint> path) {
+        int[] packed = new int[path.size()];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = WorldPointUtil.packWorldPoint(path.get(i));
+        }
+        paths.put(key(start, target, fingerprint), packed);
+        modified = true;
+    }
+
+    /**
+     * Drops every path computed with a different fingerprint, called when the usable transports or restrictions change.
+     */
+    public synchronized void retainFingerprint(long fingerprint) {
+        if (this.fingerprint == fingerprint) {
+            return;
+        }
+        this.fingerprint = fingerprint;
+        modified |= paths.keySet().removeIf(key -> key.getFingerprint() != fingerprint);
+    }
+
+    public synchronized void clear() {
+        modified |= !paths.isEmpty();
+        paths.clear();
+    }
+
+    public synchronized int size() {
+        return paths.size();
+    }
+
+    private static Key key(WorldPoint start, WorldPoint target, long fingerprint) {
+        final int startBucket = WorldPointUtil.packWorldPoint(start.getX() >> START_BUCKET_SHIFT,
+                start.getY() >> START_BUCKET_SHIFT, start.getPlane());
+        return new Key(startBucket, WorldPointUtil.packWorldPoint(target), fingerprint);
+    }
+
+    /** Reads paths saved by {@link #save(File)}; a missing or unreadable file leaves the cache empty */
+    public synchronized void load(File file) {
+        if (!file.exists()) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                log.debug("Ignoring path cache {} with an unknown format", file);
+                return;
+            }
+
+            final int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                Key key = new Key(in.readInt(), in.readInt(), in.readLong());
+                int[] path = new int[in.readInt()];
+                for (int j = 0; j < path.length; j++) {
+                    path[j] = in.readInt();
+                }
+                paths.put(key, path);
+            }
+            modified = false;
+        } catch (IOException e) {
+            log.warn("Unable to load path cache from {}", file, e);
+            paths.clear();
+        }
+    }
+
+    /** Writes the cache to the file if it changed since it was loaded or last saved */
+    public synchronized void save(File file) {
+        if (!modified) {
+            return;
+        }
+
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            log.warn("Unable to create directory {} for the path cache", parent);
+            return;
+        }
+
+        // Write a temporary file first, so a crash halfway through never leaves a corrupt cache behind
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            out.writeInt(paths.size());
+            for (Map.Entry<Key, int[]> entry : paths.entrySet()) {
+                out.writeInt(entry.getKey().getStartBucket());
+                out.writeInt(entry.getKey().getTargetPacked());
+                out.writeLong(entry.getKey().getFingerprint());
+                out.writeInt(entry.getValue().length);
+                for (int packed : entry.getValue()) {
+                    out.writeInt(packed);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Unable to save path cache to {}", file, e);
+            return;
+        }
+
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            modified = false;
+        } catch (IOException e) {
+            log.warn("Unable to save path cache to {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package net.runelite.client.plugins.microbot.shortestpath;
+
+public enum PathfinderAlgorithm {
+    /** Uniform cost flood from the start, with transports ordered by cost */
+    BREADTH_FIRST,
+    /** Best-first search guided by a transport-aware lower bound on the remaining cost */
+    A_STAR
+}
@@ -0,0 +1,161 @@
+package net.runelite.client.plugins.microbot.shortestpath;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.IntConsumer;
+
+// Open addressing set of ints for the pathfinding hotpath, so membership checks of packed WorldPoint's
+// don't need to box the key or walk a list. Like PrimitiveIntHashMap it has no way to remove single elements.
+public class PrimitiveIntSet {
+    private static final int MINIMUM_SIZE = 8;
+    private static final float LOAD_FACTOR = 0.5f;
+    // Marks an empty slot; the value itself is tracked separately so it can still be stored
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    private int[] keys;
+    private int mask;
+    private int capacity;
+    private int size;
+    private boolean containsEmptyKey;
+
+    public PrimitiveIntSet() {
+        this(MINIMUM_SIZE);
+    }
+
+    public PrimitiveIntSet(int initialSize) {
+        allocate(tableSizeFor(Math.max(initialSize, MINIMUM_SIZE)));
+    }
+
+    public static PrimitiveIntSet of(Collection<Integer> values) {
+        PrimitiveIntSet set = new PrimitiveIntSet(values.size());
+        for (int value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int key) {
+        if (key == EMPTY) {
+            return containsEmptyKey;
+        }
+
+        final int[] keys = this.keys;
+        int index = hash(key) & mask;
+        while (true) {
+            final int current = keys[index];
+            if (current == key) {
+                return true;
+            }
+            if (current == EMPTY) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    // Returns true if the key was not in the set before
+    public boolean add(int key) {
+        if (key == EMPTY) {
+            if (containsEmptyKey) {
+                return false;
+            }
+            containsEmptyKey = true;
+            size++;
+            return true;
+        }
+
+        int index = hash(key) & mask;
+        while (true) {
+            final int current = keys[index];
+            if (current == key) {
+                return false;
+            }
+            if (current == EMPTY) {
+                keys[index] = key;
+                if (++size >= capacity) {
+                    rehash();
+                }
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    public void forEach(IntConsumer action) {
+        if (containsEmptyKey) {
+            action.accept(EMPTY);
+        }
+        for (int key : keys) {
+            if (key != EMPTY) {
+                action.accept(key);
+            }
+        }
+    }
+
+    public int[] toArray() {
+        int[] result = new int[size];
+        int index = 0;
+        if (containsEmptyKey) {
+            result[index++] = EMPTY;
+        }
+        for (int key : keys) {
+            if (key != EMPTY) {
+                result[index++] = key;
+            }
+        }
+        return result;
+    }
+
+    public PrimitiveIntSet copy() {
+        PrimitiveIntSet copy = new PrimitiveIntSet(size);
+        forEach(copy::add);
+        return copy;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        containsEmptyKey = false;
+        size = 0;
+    }
+
+    // Same hash as PrimitiveIntHashMap, which is effective for packed WorldPoint's
+    private static int hash(int value) {
+        return value ^ (value >>> 5) ^ (value >>> 25);
+    }
+
+    private static int tableSizeFor(int size) {
+        int tableSize = Integer.highestOneBit(Math.max(size - 1, 1)) << 1;
+        // Keep the load below LOAD_FACTOR for the requested size
+        return (int) (tableSize * LOAD_FACTOR) < size ? tableSize << 1 : tableSize;
+    }
+
+    private void allocate(int tableSize) {
+        keys = new int[tableSize];
+        Arrays.fill(keys, EMPTY);
+        mask = tableSize - 1;
+        capacity = (int) (tableSize * LOAD_FACTOR);
+    }
+
+    private void rehash() {
+        final int[] oldKeys = keys;
+        allocate(oldKeys.length << 1);
+        for (int key : oldKeys) {
+            if (key == EMPTY) {
+                continue;
+            }
+            int index = hash(key) & mask;
+            while (keys[index] != EMPTY) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+        }
+    }
+}
@@ -353,6 +353,44 @@ public interface ShortestPathConfig extends Config {
         return 5;
     }
 
+    @ConfigItem(
+            keyName = "pathfinderAlgorithm",
+            name = "Search algorithm",
+            description = "Breadth-first floods outwards from the start until the target is found<br>" +
+                    "A* steers the search towards the target and usually checks far fewer tiles on long walks",
+            position = 28,
+            section = sectionSettings
+    )
+    default PathfinderAlgorithm pathfinderAlgorithm()
+    {
+        return PathfinderAlgorithm.BREADTH_FIRST;
+    }
+
+    @ConfigItem(
+            keyName = "useTransportHubs",
+            name = "Use transport hub graph",
+            description = "Route long walks over a precomputed graph of transports, only searching the tiles for cheaper paths<br>" +
+                    "The graph is built in the background the first time a path is calculated",
+            position = 29,
+            section = sectionSettings
+    )
+    default boolean useTransportHubs()
+    {
+        return false;
+    }
+
+    @ConfigItem(
+            keyName = "persistPathCache",
+            name = "Save path cache",
+            description = "Keep recently calculated paths on disk so repeated routes are instant after a restart",
+            position = 30,
+            section = sectionSettings
+    )
+    default boolean persistPathCache()
+    {
+        return false;
+    }
+
     @ConfigSection(
             name = "Display",
             description = "Options for displaying the path on the world map, minimap and scene tiles",
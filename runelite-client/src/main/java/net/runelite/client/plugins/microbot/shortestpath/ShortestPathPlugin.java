@@ -28,6 +28,9 @@ import lombok.Setter;
 import net.runelite.api.Point;
 import net.runelite.api.*;
 import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.GameObjectDespawned;
+import net.runelite.api.events.GameObjectSpawned;
+import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
 import net.runelite.api.events.MenuEntryAdded;
 import net.runelite.api.events.MenuOpened;
@@ -35,8 +38,10 @@ import net.runelite.api.widgets.ComponentID;
 import net.runelite.api.widgets.Widget;
 import net.runelite.api.worldmap.WorldMap;
 import net.runelite.client.callback.ClientThread;
+import net.runelite.client.RuneLite;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.events.ClientShutdown;
 import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.events.PluginMessage;
 import net.runelite.client.game.SpriteManager;
@@ -66,6 +71,7 @@ import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.awt.geom.Ellipse2D;
 import java.awt.image.BufferedImage;
+import java.io.File;
 import java.util.List;
 import java.util.*;
 import java.util.concurrent.ExecutorService;
@@ -167,6 +173,9 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
     @Getter
     public static PathfinderConfig pathfinderConfig;
     @Getter
+    private static final PathCache pathCache = new PathCache();
+    private static final File PATH_CACHE_FILE = new File(new File(RuneLite.RUNELITE_DIR, "shortest-path"), "path-cache.dat");
+    @Getter
     @Setter
     public static boolean startPointSet = false;
     @Setter
@@ -184,6 +193,10 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
         Map<WorldPoint, Set<Transport>> transports = Transport.loadAllFromResources();
         List<Restriction> restrictions = Restriction.loadAllFromResources();
         pathfinderConfig = new PathfinderConfig(map, transports, restrictions, client, config);
+        if (config.persistPathCache()) {
+            pathCache.load(PATH_CACHE_FILE);
+        }
+        pathfinderConfig.setPathCache(pathCache);
 
         panel = injector.getInstance(ShortestPathPanel.class);
         final BufferedImage icon = ImageUtil.loadImageResource(ShortestPathPlugin.class, "panel_icon.png");
@@ -226,6 +239,10 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
 
         shortestPathScript.shutdown();
 
+        if (config.persistPathCache()) {
+            pathCache.save(PATH_CACHE_FILE);
+        }
+
         exit();
         keyManager.unregisterKeyListener(this);
     }
@@ -277,7 +294,7 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
         return false;
     }
 
-    private final Pattern TRANSPORT_OPTIONS_REGEX = Pattern.compile("^(avoidWilderness|use\\w+|useTeleportationItems)$");
+    private final Pattern TRANSPORT_OPTIONS_REGEX = Pattern.compile("^(avoidWilderness|use\\w+|useTeleportationItems|pathfinderAlgorithm)$");
 
     @Subscribe
     public void onConfigChanged(ConfigChanged event) {
@@ -311,6 +328,13 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
         }
     }
 
+    @Subscribe
+    public void onClientShutdown(ClientShutdown event) {
+        if (config.persistPathCache()) {
+            pathCache.save(PATH_CACHE_FILE);
+        }
+    }
+
     @Subscribe
     public void onPluginMessage(PluginMessage event) {
         if (!CONFIG_GROUP.equals(event.getNamespace())) {
@@ -341,6 +365,27 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
         lastMenuOpenedPoint = client.getMouseCanvasPosition();
     }
 
+    @Subscribe
+    public void onGameStateChanged(GameStateChanged event) {
+        if (event.getGameState() == GameState.LOADING && pathfinderConfig != null) {
+            pathfinderConfig.invalidateReachableTiles();
+        }
+    }
+
+    @Subscribe
+    public void onGameObjectSpawned(GameObjectSpawned event) {
+        if (pathfinderConfig != null) {
+            pathfinderConfig.invalidateReachableTiles();
+        }
+    }
+
+    @Subscribe
+    public void onGameObjectDespawned(GameObjectDespawned event) {
+        if (pathfinderConfig != null) {
+            pathfinderConfig.invalidateReachableTiles();
+        }
+    }
+
     @Subscribe
     public void onGameTick(GameTick tick) {
         Player localPlayer = client.getLocalPlayer();
@@ -2,18 +2,19 @@ package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
 
 import net.runelite.api.TileObject;
 import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.PrimitiveIntHashMap;
+import net.runelite.client.plugins.microbot.shortestpath.PrimitiveIntSet;
 import net.runelite.client.plugins.microbot.shortestpath.Transport;
 import net.runelite.client.plugins.microbot.shortestpath.TransportType;
 import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
 import net.runelite.client.plugins.microbot.util.coords.Rs2WorldPoint;
 import net.runelite.client.plugins.microbot.util.gameobject.Rs2GameObject;
-import net.runelite.client.plugins.microbot.util.player.Rs2Player;
 
 import java.util.*;
 
 public class CollisionMap {
     // Enum.values() makes copies every time which hurts performance in the hotpath
-    private static final OrdinalDirection[] ORDINAL_VALUES = OrdinalDirection.values();
+    static final OrdinalDirection[] ORDINAL_VALUES = OrdinalDirection.values();
 
     private final SplitFlagMap collisionData;
 
@@ -65,6 +66,40 @@ public class CollisionMap {
         return !n(x, y, z) && !s(x, y, z) && !e(x, y, z) && !w(x, y, z);
     }
 
+    /**
+     * Fills {@code out} with whether each {@link OrdinalDirection} can be walked to from the tile.
+     * Blocked tiles (e.g. the player standing inside an object) may walk towards any unblocked neighbour.
+     */
+    void getTraversable(int x, int y, int z, boolean[] out) {
+        if (isBlocked(x, y, z)) {
+            boolean westBlocked = isBlocked(x - 1, y, z);
+            boolean eastBlocked = isBlocked(x + 1, y, z);
+            boolean southBlocked = isBlocked(x, y - 1, z);
+            boolean northBlocked = isBlocked(x, y + 1, z);
+            boolean southWestBlocked = isBlocked(x - 1, y - 1, z);
+            boolean southEastBlocked = isBlocked(x + 1, y - 1, z);
+            boolean northWestBlocked = isBlocked(x - 1, y + 1, z);
+            boolean northEastBlocked = isBlocked(x + 1, y + 1, z);
+            out[0] = !westBlocked;
+            out[1] = !eastBlocked;
+            out[2] = !southBlocked;
+            out[3] = !northBlocked;
+            out[4] = !southWestBlocked && !westBlocked && !southBlocked;
+            out[5] = !southEastBlocked && !eastBlocked && !southBlocked;
+            out[6] = !northWestBlocked && !westBlocked && !northBlocked;
+            out[7] = !northEastBlocked && !eastBlocked && !northBlocked;
+        } else {
+            out[0] = w(x, y, z);
+            out[1] = e(x, y, z);
+            out[2] = s(x, y, z);
+            out[3] = n(x, y, z);
+            out[4] = sw(x, y, z);
+            out[5] = se(x, y, z);
+            out[6] = nw(x, y, z);
+            out[7] = ne(x, y, z);
+        }
+    }
+
     private static int packedPointFromOrdinal(int startPacked, OrdinalDirection direction) {
         final int x = WorldPointUtil.unpackWorldX(startPacked);
         final int y = WorldPointUtil.unpackWorldY(startPacked);
@@ -72,10 +107,24 @@ public class CollisionMap {
         return WorldPointUtil.packWorldPoint(x + direction.x, y + direction.y, plane);
     }
 
-    // This is only safe if pathfinding is single-threaded
-    private final List<Node> neighbors = new ArrayList<>(16);
+    // PathfinderConfig keeps one CollisionMap per thread, so the buffers and search state below are never shared
+    // Neighbours of the last getNeighbors call, stored in parallel arrays that are reused between calls
+    private int[] neighborPositions = new int[16];
+    private int[] neighborCosts = new int[16];
+    private boolean[] neighborTransports = new boolean[16];
+    private int neighborCount;
     private final boolean[] traversable = new boolean[8];
 
+    // Region specific special cases, resolved once per search in prepareSearch
+    private WorldPoint target;
+    private boolean avoidMinecarts;
+    private boolean inToaPuzzleRoom;
+    // Reused by consecutive searches on this thread, see acquireVisitedTiles
+    private VisitedTiles visitedTiles;
+    private boolean visitedTilesInUse;
+    // Teleports that became usable during the current search, by the tile where they became usable
+    private final PrimitiveIntHashMap<Set<Transport>> searchTeleports = new PrimitiveIntHashMap<>(4);
+
     public static final List<WorldPoint> ignoreCollision = Arrays.asList(
             new WorldPoint(3142, 3457, 0),
             new WorldPoint(3141, 3457, 0),
@@ -97,78 +146,162 @@ public class CollisionMap {
             new WorldPoint(3672, 3862, 0)
     );
 
-    public List<Node> getNeighbors(Node node, VisitedTiles visited, PathfinderConfig config, WorldPoint target) {
-        final int x = WorldPointUtil.unpackWorldX(node.packedPosition);
-        final int y = WorldPointUtil.unpackWorldY(node.packedPosition);
-        final int z = WorldPointUtil.unpackWorldPlane(node.packedPosition);
+    private static final PrimitiveIntSet IGNORE_COLLISION_PACKED = new PrimitiveIntSet(ignoreCollision.size());
 
-        neighbors.clear();
+    static {
+        for (WorldPoint point : ignoreCollision) {
+            IGNORE_COLLISION_PACKED.add(WorldPointUtil.packWorldPoint(point));
+        }
+    }
 
-        @SuppressWarnings("unchecked") // Casting EMPTY_LIST to List<Transport> is safe here
-        Set<Transport> transports = config.getTransportsPacked().getOrDefault(node.packedPosition, (Set<Transport>) Collections.EMPTY_SET);
+    public static boolean isIgnoreCollision(int packedPoint) {
+        return IGNORE_COLLISION_PACKED.contains(packedPoint);
+    }
 
-        // Transports are pre-filtered by PathfinderConfig.refreshTransports
-        // Thus any transports in the list are guaranteed to be valid per the user's settings
+    /**
+     * Resolves the per-search special cases so they aren't re-evaluated for every expanded node.
+     * Must be called on the thread running the search before the first {@link #getNeighbors} call.
+     */
+    public void prepareSearch(PathfinderConfig config, WorldPoint target) {
+        this.target = target;
+        //avoid using minecart if you ned to go dwarven mines or mining guild
+        final int targetRegion = target.getRegionID();
+        avoidMinecarts = targetRegion == 12183 || targetRegion == 12184
+                || targetRegion == 12439 || targetRegion == 12951;
+        inToaPuzzleRoom = config.isInToaPuzzleRoom();
+        searchTeleports.clear();
+    }
+
+    /**
+     * Returns this thread's cleared visited set, or a new one if it is still in use by another search on this thread.
+     * Must be given back with {@link #releaseVisitedTiles} once the search is done.
+     */
+    VisitedTiles acquireVisitedTiles() {
+        if (visitedTilesInUse) {
+            return new VisitedTiles(this);
+        }
+        if (visitedTiles == null) {
+            visitedTiles = new VisitedTiles(this);
+        }
+        visitedTilesInUse = true;
+        visitedTiles.clear();
+        return visitedTiles;
+    }
+
+    void releaseVisitedTiles(VisitedTiles visited) {
+        if (visited == visitedTiles) {
+            visitedTilesInUse = false;
+        }
+    }
+
+    /**
+     * Makes teleports usable from a tile for the rest of the current search, see {@link PathfinderConfig#getUsableTeleports(int)}.
+     * Kept per search instead of in the shared transport maps, so concurrent searches don't see each other's teleports.
+     */
+    public void addSearchTeleports(int packedPosition, Set<Transport> teleports) {
+        if (teleports.isEmpty()) {
+            return;
+        }
+        Set<Transport> existing = searchTeleports.get(packedPosition);
+        if (existing == null) {
+            searchTeleports.put(packedPosition, teleports);
+        } else {
+            Set<Transport> merged = new HashSet<>(existing);
+            merged.addAll(teleports);
+            searchTeleports.put(packedPosition, merged);
+        }
+    }
+
+    boolean isAvoidMinecarts() {
+        return avoidMinecarts;
+    }
+
+    boolean isInToaPuzzleRoom() {
+        return inToaPuzzleRoom;
+    }
+
+    public int getNeighborCount() {
+        return neighborCount;
+    }
+
+    public int getNeighborPosition(int index) {
+        return neighborPositions[index];
+    }
+
+    public int getNeighborCost(int index) {
+        return neighborCosts[index];
+    }
+
+    public boolean isNeighborTransport(int index) {
+        return neighborTransports[index];
+    }
+
+    private void addNeighbor(int packedPosition, int cost, boolean transport) {
+        if (neighborCount == neighborPositions.length) {
+            final int newLength = neighborPositions.length * 2;
+            neighborPositions = Arrays.copyOf(neighborPositions, newLength);
+            neighborCosts = Arrays.copyOf(neighborCosts, newLength);
+            neighborTransports = Arrays.copyOf(neighborTransports, newLength);
+        }
+        neighborPositions[neighborCount] = packedPosition;
+        neighborCosts[neighborCount] = cost;
+        neighborTransports[neighborCount] = transport;
+        neighborCount++;
+    }
+
+    private void addTransportNeighbors(Set<Transport> transports, int packedPosition, int cost, VisitedTiles visited,
+                                       PathfinderConfig config) {
         for (Transport transport : transports) {
             //START microbot variables
             if (visited.get(transport.getDestination())) continue;
             if (config.isIgnoreTeleportAndItems() && TransportType.isTeleport(transport.getType())) continue;
 
             //EXCEPTION
-            if (transport.getType() == TransportType.MINECART) {
-                //avoid using minecart if you ned to go dwarven mines or mining guild
-                if (target.getRegionID() == 12183 || target.getRegionID() == 12184
-                        || target.getRegionID() == 12439 || target.getRegionID() == 12951) {
-                    continue;
-                }
-            }
+            if (avoidMinecarts && transport.getType() == TransportType.MINECART) continue;
 
-            if (TransportType.isTeleport(transport.getType())) {
-                neighbors.add(new TransportNode(transport.getDestination(), node, config.getDistanceBeforeUsingTeleport() + transport.getDuration(), transport.getType(), transport.getDisplayInfo()));
-            } else {
-                neighbors.add(new TransportNode(transport.getDestination(), node, transport.getDuration(), transport.getType(), transport.getDisplayInfo()));
-            }
+            final int destinationPacked = WorldPointUtil.packWorldPoint(transport.getDestination());
+            addNeighbor(destinationPacked, cost + config.getTransportCost(transport, packedPosition), true);
             //END microbot variables
         }
+    }
 
+    /**
+     * Expands the node at {@code packedPosition} with the accumulated {@code cost}.
+     * The neighbours are available through {@link #getNeighborPosition}, {@link #getNeighborCost}
+     * and {@link #isNeighborTransport} until the next call.
+     *
+     * @return the number of neighbours
+     */
+    public int getNeighbors(int packedPosition, int cost, VisitedTiles visited, PathfinderConfig config) {
+        final int x = WorldPointUtil.unpackWorldX(packedPosition);
+        final int y = WorldPointUtil.unpackWorldY(packedPosition);
+        final int z = WorldPointUtil.unpackWorldPlane(packedPosition);
 
-        if (isBlocked(x, y, z)) {
-            boolean westBlocked = isBlocked(x - 1, y, z);
-            boolean eastBlocked = isBlocked(x + 1, y, z);
-            boolean southBlocked = isBlocked(x, y - 1, z);
-            boolean northBlocked = isBlocked(x, y + 1, z);
-            boolean southWestBlocked = isBlocked(x - 1, y - 1, z);
-            boolean southEastBlocked = isBlocked(x + 1, y - 1, z);
-            boolean northWestBlocked = isBlocked(x - 1, y + 1, z);
-            boolean northEastBlocked = isBlocked(x + 1, y + 1, z);
-            traversable[0] = !westBlocked;
-            traversable[1] = !eastBlocked;
-            traversable[2] = !southBlocked;
-            traversable[3] = !northBlocked;
-            traversable[4] = !southWestBlocked && !westBlocked && !southBlocked;
-            traversable[5] = !southEastBlocked && !eastBlocked && !southBlocked;
-            traversable[6] = !northWestBlocked && !westBlocked && !northBlocked;
-            traversable[7] = !northEastBlocked && !eastBlocked && !northBlocked;
-        } else {
-            traversable[0] = w(x, y, z);
-            traversable[1] = e(x, y, z);
-            traversable[2] = s(x, y, z);
-            traversable[3] = n(x, y, z);
-            traversable[4] = sw(x, y, z);
-            traversable[5] = se(x, y, z);
-            traversable[6] = nw(x, y, z);
-            traversable[7] = ne(x, y, z);
+        neighborCount = 0;
+
+        @SuppressWarnings("unchecked") // Casting EMPTY_LIST to List<Transport> is safe here
+        Set<Transport> transports = config.getTransportsPacked().getOrDefault(packedPosition, (Set<Transport>) Collections.EMPTY_SET);
+
+        // Transports are pre-filtered by PathfinderConfig.refreshTransports
+        // Thus any transports in the list are guaranteed to be valid per the user's settings
+        addTransportNeighbors(transports, packedPosition, cost, visited, config);
+        Set<Transport> teleports = searchTeleports.get(packedPosition);
+        if (teleports != null) {
+            addTransportNeighbors(teleports, packedPosition, cost, visited, config);
         }
 
+        getTraversable(x, y, z, traversable);
+        final boolean ignoreTileCollision = isIgnoreCollision(packedPosition);
+        final PrimitiveIntSet restrictedPointsPacked = config.getRestrictedPointsPacked();
+
         for (int i = 0; i < traversable.length; i++) {
             OrdinalDirection d = ORDINAL_VALUES[i];
-            int neighborPacked = packedPointFromOrdinal(node.packedPosition, d);
+            int neighborPacked = packedPointFromOrdinal(packedPosition, d);
             if (visited.get(neighborPacked)) continue;
-            if (config.getRestrictedPointsPacked().contains(neighborPacked)) continue;
-            if (config.getCustomRestrictions().contains(neighborPacked)) continue;
+            if (restrictedPointsPacked.contains(neighborPacked)) continue;
 
-            if (ignoreCollision.contains(new WorldPoint(x, y, z))) {
-                neighbors.add(new Node(neighborPacked, node));
+            if (ignoreTileCollision) {
+                addNeighbor(neighborPacked, cost + 1, false);
                 continue;
             }
 
@@ -176,7 +309,7 @@ public class CollisionMap {
              * This piece of code is designed to allow web walker to be used in toa puzzle room
              * it will dodge specific tiles in the sequence room
              */
-            if (Rs2Player.getWorldLocation().getRegionID() == 14162) { //toa puzzle room
+            if (inToaPuzzleRoom) {
                 final int lx = WorldPointUtil.unpackWorldX(neighborPacked);
                 final int ly = WorldPointUtil.unpackWorldY(neighborPacked);
                 final int lz = WorldPointUtil.unpackWorldPlane(neighborPacked);
@@ -192,7 +325,7 @@ public class CollisionMap {
             }
 
             if (traversable[i]) {
-                neighbors.add(new Node(neighborPacked, node));
+                addNeighbor(neighborPacked, cost + 1, false);
             } else if (Math.abs(d.x + d.y) == 1 && isBlocked(x + d.x, y + d.y, z)) {
                 // The transport starts from a blocked adjacent tile, e.g. fairy ring
                 // Only checks non-teleport transports (includes portals and levers, but not items and spells)
@@ -202,11 +335,12 @@ public class CollisionMap {
                     if (transport.getOrigin() == null || visited.get(transport.getOrigin())) {
                         continue;
                     }
-                    neighbors.add(new Node(transport.getOrigin(), node));
+                    final int originPacked = WorldPointUtil.packWorldPoint(transport.getOrigin());
+                    addNeighbor(originPacked, cost + WorldPointUtil.distanceBetween(packedPosition, originPacked), false);
                 }
             }
         }
 
-        return neighbors;
+        return neighborCount;
     }
 }
@@ -0,0 +1,129 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.client.RuneLite;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+
+import static net.runelite.api.Constants.REGION_SIZE;
+
+/**
+ * Flat, uncompressed copy of collision-map.zip that is memory-mapped read-only, so the collision flags are read
+ * straight from off-heap pages instead of being inflated into a {@link FlagMap} per region on every start.
+ * <p>
+ * Layout, all big-endian:
+ * <pre>
+ * int magic, int version, long crc of the source zip, int minX, int minY, int maxX, int maxY
+ * int[regions] page of each region in the extents, -1 when there is no collision data for it
+ * byte[regions] plane count of each region
+ * padding up to the next page
+ * one page per region, holding the region's flag bits in the same order as {@link FlagMap}
+ * </pre>
+ * A region has at most 4 planes of 64x64 tiles with 2 flags, which is exactly one 4096 byte page.
+ */
+class CollisionMapFile {
+    static final File DEFAULT_FILE = new File(new File(RuneLite.RUNELITE_DIR, "shortest-path"), "collision-map.dat");
+    static final int PAGE_SIZE = 4096;
+    static final int PLANE_SIZE = REGION_SIZE * REGION_SIZE * 2 / Byte.SIZE;
+    private static final int MAGIC = 0x5350434d;
+    private static final int VERSION = 1;
+    private static final int FIXED_HEADER_SIZE = 32;
+
+    private CollisionMapFile() {
+    }
+
+    /** Writes the regions of the zip, keyed by packed region position, to a new collision file */
+    static void write(File file, long sourceCrc, SplitFlagMap.RegionExtent extents, Map<Integer, byte[]> regions) throws IOException {
+        final int width = extents.getWidth() + 1;
+        final int slots = width * (extents.getHeight() + 1);
+        final int[] pages = new int[slots];
+        final byte[] planeCounts = new byte[slots];
+        Arrays.fill(pages, -1);
+
+        int pageCount = 0;
+        for (Map.Entry<Integer, byte[]> entry : regions.entrySet()) {
+            final int slot = (SplitFlagMap.unpackX(entry.getKey()) - extents.getMinX())
+                    + (SplitFlagMap.unpackY(entry.getKey()) - extents.getMinY()) * width;
+            pages[slot] = pageCount++;
+            // Same as FlagMap, which gets the plane count from the size of its BitSet
+            planeCounts[slot] = (byte) ((entry.getValue().length + PLANE_SIZE - 1) / PLANE_SIZE);
+        }
+
+        final int dataOffset = dataOffset(slots);
+        ByteBuffer buffer = ByteBuffer.allocate(dataOffset + pageCount * PAGE_SIZE);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(sourceCrc)
+                .putInt(extents.getMinX()).putInt(extents.getMinY()).putInt(extents.getMaxX()).putInt(extents.getMaxY());
+        for (int page : pages) {
+            buffer.putInt(page);
+        }
+        buffer.put(planeCounts);
+        for (Map.Entry<Integer, byte[]> entry : regions.entrySet()) {
+            final int slot = (SplitFlagMap.unpackX(entry.getKey()) - extents.getMinX())
+                    + (SplitFlagMap.unpackY(entry.getKey()) - extents.getMinY()) * width;
+            buffer.position(dataOffset + pages[slot] * PAGE_SIZE);
+            buffer.put(entry.getValue(), 0, Math.min(entry.getValue().length, PAGE_SIZE));
+        }
+
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Unable to create directory " + parent);
+        }
+        // Written next to the target first, so a half written file is never mapped
+        File temp = new File(file.getPath() + ".tmp");
+        Files.write(temp.toPath(), buffer.array());
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Maps an existing collision file.
+     *
+     * @return the collision map, or null if the file is missing or wasn't written from the zip with this crc
+     */
+    static SplitFlagMap map(File file, long sourceCrc) throws IOException {
+        if (!file.exists()) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapped.order(ByteOrder.BIG_ENDIAN);
+            if (mapped.capacity() < FIXED_HEADER_SIZE || mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION
+                    || mapped.getLong(8) != sourceCrc) {
+                return null;
+            }
+
+            SplitFlagMap.RegionExtent extents = new SplitFlagMap.RegionExtent(
+                    mapped.getInt(16), mapped.getInt(20), mapped.getInt(24), mapped.getInt(28));
+            final int slots = (extents.getWidth() + 1) * (extents.getHeight() + 1);
+            final int dataOffset = dataOffset(slots);
+            final int[] pages = new int[slots];
+            final byte[] planeCounts = new byte[slots];
+            for (int i = 0; i < slots; i++) {
+                pages[i] = mapped.getInt(FIXED_HEADER_SIZE + i * Integer.BYTES);
+                planeCounts[i] = mapped.get(FIXED_HEADER_SIZE + slots * Integer.BYTES + i);
+                if (pages[i] >= 0 && (long) dataOffset + (long) (pages[i] + 1) * PAGE_SIZE > mapped.capacity()) {
+                    // Truncated file
+                    return null;
+                }
+            }
+
+            mapped.position(dataOffset);
+            return new SplitFlagMap(extents, mapped.slice(), pages, planeCounts);
+        }
+    }
+
+    private static int dataOffset(int slots) {
+        final int headerSize = FIXED_HEADER_SIZE + slots * Integer.BYTES + slots;
+        return (headerSize + PAGE_SIZE - 1) / PAGE_SIZE * PAGE_SIZE;
+    }
+}
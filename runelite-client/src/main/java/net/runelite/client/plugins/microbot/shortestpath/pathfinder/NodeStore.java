@@ -0,0 +1,216 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Search tree of a single {@link Pathfinder} run, stored as parallel int arrays indexed by node
+ * instead of a linked object per node. A node is identified by its index in the store.
+ */
+class NodeStore {
+    static final int NO_PARENT = -1;
+
+    private int[] positions;
+    private int[] parents;
+    private int[] costs;
+    // Cost so far plus the estimated remaining cost, which orders the CostQueue
+    private int[] estimates;
+    private int size;
+
+    NodeStore(int initialCapacity) {
+        positions = new int[initialCapacity];
+        parents = new int[initialCapacity];
+        costs = new int[initialCapacity];
+        estimates = new int[initialCapacity];
+    }
+
+    int add(int packedPosition, int parent, int cost) {
+        return add(packedPosition, parent, cost, cost);
+    }
+
+    int add(int packedPosition, int parent, int cost, int estimate) {
+        if (size == positions.length) {
+            final int newCapacity = Math.max(positions.length * 2, 16);
+            positions = Arrays.copyOf(positions, newCapacity);
+            parents = Arrays.copyOf(parents, newCapacity);
+            costs = Arrays.copyOf(costs, newCapacity);
+            estimates = Arrays.copyOf(estimates, newCapacity);
+        }
+
+        positions[size] = packedPosition;
+        parents[size] = parent;
+        costs[size] = cost;
+        estimates[size] = estimate;
+        return size++;
+    }
+
+    int getPosition(int node) {
+        return positions[node];
+    }
+
+    int getParent(int node) {
+        return parents[node];
+    }
+
+    int getCost(int node) {
+        return costs[node];
+    }
+
+    int getEstimate(int node) {
+        return estimates[node];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /** Drops the backing arrays once the search is done and its path has been built */
+    void release() {
+        size = 0;
+        positions = new int[0];
+        parents = new int[0];
+        costs = new int[0];
+        estimates = new int[0];
+    }
+
+    /**
+     * @return the path from the root to the node, or null if the node isn't visible in the arrays read by this thread
+     */
+    List<WorldPoint> getPath(int node) {
+        // Read the arrays once; they may be replaced by a concurrent add while the search is running
+        final int[] positions = this.positions;
+        final int[] parents = this.parents;
+        if (node < 0 || node >= positions.length || node >= parents.length) {
+            return null;
+        }
+
+        int length = 0;
+        for (int current = node; current != NO_PARENT; current = parents[current]) {
+            length++;
+        }
+
+        WorldPoint[] path = new WorldPoint[length];
+        for (int current = node; current != NO_PARENT; current = parents[current]) {
+            path[--length] = WorldPointUtil.unpackWorldPoint(positions[current]);
+        }
+        return new ArrayList<>(Arrays.asList(path));
+    }
+
+    /** FIFO queue of node indices, used for the walking boundary */
+    static class Queue {
+        private int[] nodes;
+        private int head;
+        private int tail;
+
+        Queue(int initialCapacity) {
+            nodes = new int[initialCapacity];
+        }
+
+        boolean isEmpty() {
+            return head == tail;
+        }
+
+        int peek() {
+            return nodes[head];
+        }
+
+        int poll() {
+            return nodes[head++];
+        }
+
+        void add(int node) {
+            if (tail == nodes.length) {
+                if (head > 0) {
+                    // Reuse the consumed space at the front before growing
+                    System.arraycopy(nodes, head, nodes, 0, tail - head);
+                    tail -= head;
+                    head = 0;
+                }
+                if (tail == nodes.length) {
+                    nodes = Arrays.copyOf(nodes, nodes.length * 2);
+                }
+            }
+            nodes[tail++] = node;
+        }
+
+        void clear() {
+            head = 0;
+            tail = 0;
+        }
+    }
+
+    /** Binary min-heap of node indices ordered by their estimate in the store, used for pending transports and A* */
+    static class CostQueue {
+        private final NodeStore store;
+        private int[] heap;
+        private int size;
+
+        CostQueue(NodeStore store, int initialCapacity) {
+            this.store = store;
+            heap = new int[initialCapacity];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int peek() {
+            return heap[0];
+        }
+
+        void add(int node) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, heap.length * 2);
+            }
+
+            final int estimate = store.getEstimate(node);
+            int index = size++;
+            while (index > 0) {
+                final int parent = (index - 1) >>> 1;
+                if (store.getEstimate(heap[parent]) <= estimate) {
+                    break;
+                }
+                heap[index] = heap[parent];
+                index = parent;
+            }
+            heap[index] = node;
+        }
+
+        int poll() {
+            final int result = heap[0];
+            final int last = heap[--size];
+            if (size > 0) {
+                final int estimate = store.getEstimate(last);
+                int index = 0;
+                while (true) {
+                    int child = (index << 1) + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && store.getEstimate(heap[child + 1]) < store.getEstimate(heap[child])) {
+                        child++;
+                    }
+                    if (estimate <= store.getEstimate(heap[child])) {
+                        break;
+                    }
+                    heap[index] = heap[child];
+                    index = child;
+                }
+                heap[index] = last;
+            }
+            return result;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
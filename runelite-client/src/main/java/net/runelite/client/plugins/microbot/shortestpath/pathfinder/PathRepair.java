@@ -0,0 +1,97 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import lombok.Getter;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.PrimitiveIntSet;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+
+import java.util.List;
+
+/**
+ * Repairs a finished path after the player drifted off it or a tile on it became blocked, by walking from the new
+ * start back onto the remainder of the previous path instead of searching the whole route again.
+ * <p>
+ * Only a bounded flood around the new start is expanded. Every tile of the previous path from the point the player
+ * had reached onwards is a candidate to rejoin at, and the one with the lowest walk there plus the remaining length
+ * of the previous path wins, so the rest of the route, including its transports, is kept as it was.
+ */
+class PathRepair {
+    /** Deviations further than this from the previous path need a full search */
+    static final int RADIUS = 16;
+
+    @Getter
+    private final List<WorldPoint> path;
+    @Getter
+    private final int nodesChecked;
+
+    private PathRepair(List<WorldPoint> path, int nodesChecked) {
+        this.path = path;
+        this.nodesChecked = nodesChecked;
+    }
+
+    /**
+     * @param blockedTile a tile of the previous path that can no longer be walked over or used, or null
+     * @return the repaired path, or null if the previous path can't be rejoined near the start
+     */
+    static PathRepair repair(PathfinderConfig config, CollisionMap map, List<WorldPoint> previousPath,
+                             WorldPoint start, WorldPoint blockedTile) {
+        if (previousPath.isEmpty()) {
+            return null;
+        }
+
+        // Don't rejoin before the last tile of the path closest to the player, which would walk back
+        int from = 0;
+        int closestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < previousPath.size(); i++) {
+            final int distance = WorldPointUtil.distanceBetween(previousPath.get(i), start, 1);
+            if (distance <= closestDistance) {
+                closestDistance = distance;
+                from = i;
+            }
+        }
+        if (closestDistance > RADIUS) {
+            return null;
+        }
+
+        PrimitiveIntSet restricted = config.getRestrictedPointsPacked();
+        if (blockedTile != null) {
+            final int blockedIndex = previousPath.indexOf(blockedTile);
+            if (blockedIndex < 0) {
+                return null;
+            }
+            // Rejoin after the blocked tile and never step on it on the way
+            from = Math.max(from, blockedIndex + 1);
+            restricted = restricted.copy();
+            restricted.add(WorldPointUtil.packWorldPoint(blockedTile));
+        } else {
+            // The closest tile may be a little behind the one the player was heading to
+            from = Math.max(0, from - 1);
+        }
+
+        final ReachableTiles field = ReachableTiles.build(map, restricted, WorldPointUtil.packWorldPoint(start), RADIUS, null);
+        final int last = previousPath.size() - 1;
+        int best = -1;
+        int bestCost = Integer.MAX_VALUE;
+        for (int i = from; i <= last; i++) {
+            final WorldPoint point = previousPath.get(i);
+            final int distance = field.getDistance(point.getX(), point.getY(), point.getPlane());
+            if (distance < 0) {
+                continue;
+            }
+            // Later tiles win ties, so no part of the previous path is walked twice
+            final int cost = distance + (last - i);
+            if (cost <= bestCost) {
+                bestCost = cost;
+                best = i;
+            }
+        }
+        if (best < 0) {
+            return null;
+        }
+
+        final WorldPoint join = previousPath.get(best);
+        List<WorldPoint> path = field.getPathTo(join.getX(), join.getY(), join.getPlane());
+        path.addAll(previousPath.subList(best + 1, previousPath.size()));
+        return new PathRepair(path, field.getReachedCount());
+    }
+}
@@ -2,36 +2,54 @@ package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
 
 import lombok.Getter;
 import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.PathCache;
+import net.runelite.client.plugins.microbot.shortestpath.PathfinderAlgorithm;
+import net.runelite.client.plugins.microbot.shortestpath.PrimitiveIntHashMap;
 import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
 
 import java.util.*;
 
 public class Pathfinder implements Runnable {
+    // Cached paths start in the same 8x8 area as the start, so they are always close
+    private static final int PATH_CACHE_CONNECT_RADIUS = 16;
+
     private PathfinderStats stats;
     private volatile boolean done = false;
     private volatile boolean cancelled = false;
 
     @Getter
     private final WorldPoint start;
+    /** The target, or the first of the targets when searching for the nearest of several */
     @Getter
     private final WorldPoint target;
 
     private final int targetPacked;
+    // All targets, the search ends at whichever is reached first
+    private final int[] targetsPacked;
+    // Tiles that end a search for several targets, each mapped to the target it is on or next to; null for a single target
+    private final PrimitiveIntHashMap<WorldPoint> goals;
+    private volatile WorldPoint reachedTarget;
 
     private final PathfinderConfig config;
-    private final CollisionMap map;
+    private CollisionMap map;
     private final boolean targetInWilderness;
+    private final PathfinderAlgorithm algorithm;
+    // Admissible lower bound on the cost of reaching each target through any transport, see PathfinderConfig
+    private int[] transportLowerBounds;
 
     // Capacities should be enough to store all nodes without requiring the queue to grow
     // They were found by checking the max queue size
-    private final Deque<Node> boundary = new ArrayDeque<>(4096);
-    private final Queue<Node> pending = new PriorityQueue<>(256);
-    private final VisitedTiles visited;
+    private final NodeStore nodes = new NodeStore(4096);
+    private final NodeStore.Queue boundary = new NodeStore.Queue(4096);
+    // Transports for breadth-first, every queued node for A*
+    private final NodeStore.CostQueue pending = new NodeStore.CostQueue(nodes, 256);
+    // Borrowed from the collision map of the thread running the search
+    private VisitedTiles visited;
 
     @SuppressWarnings("unchecked") // Casting EMPTY_LIST is safe here
     private List<WorldPoint> path = (List<WorldPoint>)Collections.EMPTY_LIST;
-    private boolean pathNeedsUpdate = false;
-    private Node bestLastNode;
+    private volatile boolean pathNeedsUpdate = false;
+    private volatile int bestLastNode = NodeStore.NO_PARENT;
     /**
      * Teleportation transports are updated when this changes.
      * Can be either:
@@ -42,21 +60,109 @@ public class Pathfinder implements Runnable {
     private int wildernessLevel;
 
     public Pathfinder(PathfinderConfig config, WorldPoint start, WorldPoint target) {
+        this(config, start, Collections.singletonList(target), false);
+    }
+
+    /**
+     * Searches for the nearest of several targets with a single flood, ending at the first tile on or next to a target,
+     * since targets like bank booths and deposit boxes can't be stood on.
+     * Use {@link #getReachedTarget()} to find out which one it was.
+     */
+    public Pathfinder(PathfinderConfig config, WorldPoint start, Collection<WorldPoint> targets) {
+        this(config, start, targets, true);
+    }
+
+    private Pathfinder(PathfinderConfig config, WorldPoint start, Collection<WorldPoint> targets, boolean nearest) {
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("At least one target is required");
+        }
         stats = new PathfinderStats();
         this.config = config;
-        this.map = config.getMap();
         this.start = start;
-        this.target = target;
-        visited = new VisitedTiles(map);
+        this.target = targets.iterator().next();
         targetPacked = WorldPointUtil.packWorldPoint(target);
-        targetInWilderness = PathfinderConfig.isInWilderness(target);
+        targetsPacked = new int[targets.size()];
+        boolean inWilderness = false;
+        int i = 0;
+        for (WorldPoint point : targets) {
+            targetsPacked[i++] = WorldPointUtil.packWorldPoint(point);
+            inWilderness |= PathfinderConfig.isInWilderness(point);
+        }
+        if (nearest) {
+            goals = new PrimitiveIntHashMap<>(targetsPacked.length * 9);
+            // Standing on a target beats standing next to another one
+            for (WorldPoint point : targets) {
+                goals.put(WorldPointUtil.packWorldPoint(point), point);
+            }
+            for (WorldPoint point : targets) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    for (int dy = -1; dy <= 1; dy++) {
+                        final int packed = WorldPointUtil.packWorldPoint(point.getX() + dx, point.getY() + dy, point.getPlane());
+                        if (goals.get(packed) == null) {
+                            goals.put(packed, point);
+                        }
+                    }
+                }
+            }
+        } else {
+            goals = null;
+        }
+        targetInWilderness = inWilderness;
         wildernessLevel = 31;
+        algorithm = config.getAlgorithm();
     }
 
     public boolean isDone() {
         return done;
     }
 
+    /**
+     * @return the target the path ends on, or next to when searching for several targets,
+     * or null if none of the targets were reached (yet)
+     */
+    public WorldPoint getReachedTarget() {
+        return reachedTarget;
+    }
+
+    /**
+     * Repairs the finished path for a new start close to it, see {@link PathRepair}.
+     * Must be called on the thread that will use the result, since it runs the repair itself.
+     *
+     * @param newStart    where the player is now
+     * @param blockedTile a tile of the path that turned out to be blocked, e.g. a door that failed to open, or null
+     * @return a finished pathfinder with the repaired path, or null if a full search is needed
+     */
+    public Pathfinder repair(WorldPoint newStart, WorldPoint blockedTile) {
+        if (!done || goals != null) {
+            return null;
+        }
+
+        PathRepair repair = PathRepair.repair(config, config.getMap(), getPath(), newStart, blockedTile);
+        if (repair == null) {
+            return null;
+        }
+
+        Pathfinder repaired = new Pathfinder(config, newStart, target);
+        repaired.stats.start(algorithm);
+        repaired.stats.repaired = true;
+        repaired.stats.nodesChecked = repair.getNodesChecked();
+        repaired.path = repair.getPath();
+        repaired.reachedTarget = reachedTarget;
+        repaired.done = true;
+        repaired.stats.end();
+        return repaired;
+    }
+
+    /**
+     * @return the target reached on this tile, or null if it doesn't end the search
+     */
+    private WorldPoint getTargetAt(int packedPosition) {
+        if (goals != null) {
+            return goals.get(packedPosition);
+        }
+        return packedPosition == targetPacked ? target : null;
+    }
+
     public void cancel() {
         cancelled = true;
     }
@@ -71,41 +177,177 @@ public class Pathfinder implements Runnable {
     }
 
     public List<WorldPoint> getPath() {
-        Node lastNode = bestLastNode; // For thread safety, read bestLastNode once
-        if (lastNode == null) {
+        int lastNode = bestLastNode; // For thread safety, read bestLastNode once
+        if (lastNode == NodeStore.NO_PARENT) {
             return path;
         }
 
         if (pathNeedsUpdate) {
-            path = lastNode.getPath();
             pathNeedsUpdate = false;
+            List<WorldPoint> updatedPath = nodes.getPath(lastNode);
+            if (updatedPath != null) {
+                path = updatedPath;
+            } else {
+                // The node store grew concurrently, try again on the next call
+                pathNeedsUpdate = true;
+            }
         }
 
         return path;
     }
 
-    private void addNeighbors(Node node) {
-        List<Node> nodes = map.getNeighbors(node, visited, config, target);
-        for (Node neighbor : nodes) {
-            if (config.avoidWilderness(node.packedPosition, neighbor.packedPosition, targetInWilderness)) {
+    private void addNeighbors(int node) {
+        final int packedPosition = nodes.getPosition(node);
+        final int count = map.getNeighbors(packedPosition, nodes.getCost(node), visited, config);
+        for (int i = 0; i < count; i++) {
+            final int neighborPosition = map.getNeighborPosition(i);
+            if (config.avoidWilderness(packedPosition, neighborPosition, targetInWilderness)) {
                 continue;
             }
 
-            visited.set(neighbor.packedPosition);
-            if (neighbor instanceof TransportNode) {
-                pending.add(neighbor);
-                ++stats.transportsChecked;
+            final int cost = map.getNeighborCost(i);
+            if (algorithm == PathfinderAlgorithm.A_STAR) {
+                // Tiles are only closed once expanded, so a tile may be queued more than once until then
+                pending.add(nodes.add(neighborPosition, node, cost, cost + heuristic(neighborPosition)));
             } else {
-                boundary.addLast(neighbor);
-                ++stats.nodesChecked;
+                visited.set(neighborPosition);
+                final int neighbor = nodes.add(neighborPosition, node, cost);
+                if (map.isNeighborTransport(i)) {
+                    pending.add(neighbor);
+                } else {
+                    boundary.add(neighbor);
+                }
+            }
+        }
+    }
+
+    /** Counts an expanded node, as a transport when it wasn't reached by walking to it from the tile next to it */
+    private void countExpanded(int node) {
+        final int parent = nodes.getParent(node);
+        // Tiles on different planes are Integer.MAX_VALUE apart
+        if (parent != NodeStore.NO_PARENT && WorldPointUtil.distanceBetween(nodes.getPosition(node), nodes.getPosition(parent)) > 1) {
+            ++stats.transportsChecked;
+        } else {
+            ++stats.nodesChecked;
+        }
+    }
+
+    /**
+     * Lower bound on the remaining cost: for the closest target, the walking distance ignoring collision and planes,
+     * or the cheapest way of getting to that target with a transport when that is lower.
+     * One less when the tiles next to the targets end the search too.
+     */
+    private int heuristic(int packedPosition) {
+        final int x = WorldPointUtil.unpackWorldX(packedPosition);
+        final int y = WorldPointUtil.unpackWorldY(packedPosition);
+        int best = Integer.MAX_VALUE;
+        for (int i = 0; i < targetsPacked.length; i++) {
+            final int dx = Math.abs(x - WorldPointUtil.unpackWorldX(targetsPacked[i]));
+            final int dy = Math.abs(y - WorldPointUtil.unpackWorldY(targetsPacked[i]));
+            best = Math.min(best, Math.min(Math.max(dx, dy), transportLowerBounds[i]));
+        }
+        return goals != null ? Math.max(best - 1, 0) : best;
+    }
+
+    private int pollNext() {
+        if (algorithm == PathfinderAlgorithm.A_STAR) {
+            while (!pending.isEmpty()) {
+                final int node = pending.poll();
+                // Skip stale queue entries for tiles that were already expanded through a cheaper node
+                if (visited.set(nodes.getPosition(node))) {
+                    return node;
+                }
             }
+            return NodeStore.NO_PARENT;
+        }
+
+        if (!pending.isEmpty() && (boundary.isEmpty() || nodes.getCost(pending.peek()) < nodes.getCost(boundary.peek()))) {
+            return pending.poll();
+        }
+        return boundary.isEmpty() ? NodeStore.NO_PARENT : boundary.poll();
+    }
+
+    /**
+     * Reuses a path found earlier from the same start area, connecting the start to the first tile of the cached path.
+     * Searches that ignore teleports are never cached, since that flag isn't part of the cache fingerprint.
+     *
+     * @return true if a cached path was used
+     */
+    private boolean findCachedPath(int startPacked) {
+        final PathCache cache = config.getPathCache();
+        if (cache == null || goals != null || config.isIgnoreTeleportAndItems()) {
+            return false;
         }
+
+        List<WorldPoint> cachedPath = cache.get(start, target, config.getPathCacheFingerprint());
+        if (cachedPath == null || cachedPath.isEmpty()) {
+            return false;
+        }
+
+        final WorldPoint first = cachedPath.get(0);
+        List<WorldPoint> connection = ReachableTiles.build(map, config.getRestrictedPointsPacked(), startPacked,
+                PATH_CACHE_CONNECT_RADIUS, null).getPathTo(first.getX(), first.getY(), first.getPlane());
+        if (connection == null) {
+            return false;
+        }
+
+        connection.addAll(cachedPath.subList(1, cachedPath.size()));
+        path = connection;
+        reachedTarget = target;
+        return true;
+    }
+
+    private void cachePath() {
+        final PathCache cache = config.getPathCache();
+        if (cache != null && goals == null && !config.isIgnoreTeleportAndItems() && !path.isEmpty() && target.equals(path.get(path.size() - 1))) {
+            cache.put(start, target, config.getPathCacheFingerprint(), path);
+        }
+    }
+
+    /**
+     * Tries the transport hub graph for targets beyond the local search radius.
+     * The route is only used when the tile search finds nothing cheaper, see {@link #run()}.
+     *
+     * @return the route through the hubs, or null if there is none
+     */
+    private TransportHubGraph.Route findHubRoute(int startPacked) {
+        final TransportHubGraph hubGraph = config.getTransportHubGraph();
+        if (!config.isUseTransportHubs() || goals != null || hubGraph == null || !hubGraph.isReady() || map.isInToaPuzzleRoom()
+                || WorldPointUtil.distanceBetween(startPacked, targetPacked) <= TransportHubGraph.LOCAL_RADIUS) {
+            return null;
+        }
+        return hubGraph.findRoute(config, map, start, target);
     }
 
     @Override
     public void run() {
-        stats.start();
-        boundary.addFirst(new Node(start, null));
+        stats.start(algorithm);
+        // The collision map keeps per-thread neighbour buffers, so it has to be fetched on the thread running the search
+        map = config.getMap();
+        map.prepareSearch(config, target);
+        final int startPacked = WorldPointUtil.packWorldPoint(start);
+
+        if (findCachedPath(startPacked)) {
+            done = !cancelled;
+            stats.end();
+            return;
+        }
+
+        // The tile search only has to look for paths cheaper than the route through the hubs
+        final TransportHubGraph.Route hubRoute = findHubRoute(startPacked);
+        final int costBound = hubRoute != null ? hubRoute.cost : Integer.MAX_VALUE;
+
+        visited = map.acquireVisitedTiles();
+
+        if (algorithm == PathfinderAlgorithm.A_STAR) {
+            transportLowerBounds = new int[targetsPacked.length];
+            for (int i = 0; i < targetsPacked.length; i++) {
+                transportLowerBounds[i] = config.getTransportLowerBound(WorldPointUtil.unpackWorldPoint(targetsPacked[i]));
+            }
+            pending.add(nodes.add(startPacked, NodeStore.NO_PARENT, 0, heuristic(startPacked)));
+        } else {
+            boundary.add(nodes.add(startPacked, NodeStore.NO_PARENT, 0));
+        }
 
         int bestDistance = Integer.MAX_VALUE;
         long bestHeuristic = Integer.MAX_VALUE;
@@ -113,14 +355,15 @@ public class Pathfinder implements Runnable {
         long cutoffTimeMillis = System.currentTimeMillis() + cutoffDurationMillis;
 
         while (!cancelled && (!boundary.isEmpty() || !pending.isEmpty())) {
-            Node node = boundary.peekFirst();
-            Node p = pending.peek();
-            
-            if (p != null && (node == null || p.cost < node.cost)) {
-                node = pending.poll();
-            } else {
-                node = boundary.removeFirst();
+            final int node = pollNext();
+            if (node == NodeStore.NO_PARENT) {
+                break;
             }
+            if (nodes.getEstimate(node) >= costBound) {
+                continue;
+            }
+            final int packedPosition = nodes.getPosition(node);
+            countExpanded(node);
 
             if (wildernessLevel > 0) {
                 // We don't need to remove teleports when going from 20 to 21 or higher,
@@ -131,31 +374,41 @@ public class Pathfinder implements Runnable {
 
                 // These are overlapping boundaries, so if the node isn't in level 30, it's in 0-29
                 // likewise, if the node isn't in level 20, it's in 0-19
-                if (wildernessLevel > 29 && !config.isInLevel29Wilderness(node.packedPosition)) {
+                if (wildernessLevel > 29 && !config.isInLevel29Wilderness(packedPosition)) {
                     wildernessLevel = 29;
                     update = true;
                 }
-                if (wildernessLevel > 19 && !config.isInLevel19Wilderness(node.packedPosition)) {
+                if (wildernessLevel > 19 && !config.isInLevel19Wilderness(packedPosition)) {
                     wildernessLevel = 19;
                     update = true;
                 }
-                if (wildernessLevel > 0 && !config.isInWilderness(node.packedPosition)) {
+                if (wildernessLevel > 0 && !config.isInWilderness(packedPosition)) {
                     wildernessLevel = 0;
                     update = true;
                 }
                 if (update) {
-                    config.refreshTeleports(node.packedPosition, wildernessLevel);
+                    map.addSearchTeleports(packedPosition, config.refreshTeleports(packedPosition, wildernessLevel));
                 }
             }
 
-            if (node.packedPosition == targetPacked) {
+            final WorldPoint targetAt = getTargetAt(packedPosition);
+            if (targetAt != null) {
+                reachedTarget = targetAt;
                 bestLastNode = node;
                 pathNeedsUpdate = true;
                 break;
             }
 
-            int distance = WorldPointUtil.distanceBetween(node.packedPosition, targetPacked);
-            long heuristic = distance + (long) WorldPointUtil.distanceBetween(node.packedPosition, targetPacked, 2);
+            int distance = Integer.MAX_VALUE;
+            long heuristic = Long.MAX_VALUE;
+            for (int target : targetsPacked) {
+                final int targetDistance = WorldPointUtil.distanceBetween(packedPosition, target);
+                final long targetHeuristic = targetDistance + (long) WorldPointUtil.distanceBetween(packedPosition, target, 2);
+                if (targetHeuristic < heuristic || (targetHeuristic == heuristic && targetDistance < distance)) {
+                    distance = targetDistance;
+                    heuristic = targetHeuristic;
+                }
+            }
 
             if (heuristic < bestHeuristic || (heuristic <= bestHeuristic && distance < bestDistance)) {
 
@@ -173,11 +426,26 @@ public class Pathfinder implements Runnable {
             addNeighbors(node);
         }
 
+        if (reachedTarget == null && hubRoute != null) {
+            // Nothing cheaper than the route through the hubs was found
+            path = hubRoute.path;
+            bestLastNode = NodeStore.NO_PARENT;
+            reachedTarget = target;
+        } else if (bestLastNode != NodeStore.NO_PARENT) {
+            // Build the final path before the node store is released
+            pathNeedsUpdate = false;
+            path = nodes.getPath(bestLastNode);
+        }
+
         done = !cancelled;
+        if (done) {
+            cachePath();
+        }
 
         boundary.clear();
-        visited.clear();
+        map.releaseVisitedTiles(visited);
         pending.clear();
+        nodes.release();
 
         stats.end(); // Include cleanup in stats to get the total cost of pathfinding
     }
@@ -185,6 +453,11 @@ public class Pathfinder implements Runnable {
     public static class PathfinderStats {
         @Getter
         private int nodesChecked = 0, transportsChecked = 0;
+        @Getter
+        private PathfinderAlgorithm algorithm;
+        /** Whether the path was repaired from a previous path instead of searched from scratch */
+        @Getter
+        private boolean repaired;
         private long startNanos, endNanos;
         private volatile boolean started = false, ended = false;
 
@@ -196,7 +469,8 @@ public class Pathfinder implements Runnable {
             return endNanos - startNanos;
         }
 
-        private void start() {
+        private void start(PathfinderAlgorithm algorithm) {
+            this.algorithm = algorithm;
             started = true;
             nodesChecked = 0;
             transportsChecked = 0;
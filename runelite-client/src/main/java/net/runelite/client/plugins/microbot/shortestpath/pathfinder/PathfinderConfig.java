@@ -19,6 +19,7 @@ import net.runelite.client.plugins.microbot.util.walker.Rs2Walker;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -36,6 +37,7 @@ public class PathfinderConfig {
     private final ThreadLocal<CollisionMap> map;
     /** All transports by origin {@link WorldPoint}. The null key is used for transports centered on the player. */
     private final Map<WorldPoint, Set<Transport>> allTransports;
+    @Getter
     @Setter
     private Set<Transport> usableTeleports;
 
@@ -53,6 +55,8 @@ public class PathfinderConfig {
     private long calculationCutoffMillis;
     @Getter
     private boolean avoidWilderness;
+    @Getter
+    private PathfinderAlgorithm algorithm = PathfinderAlgorithm.BREADTH_FIRST;
     private boolean useAgilityShortcuts,
             useGrappleShortcuts,
             useBoats,
@@ -78,8 +82,19 @@ public class PathfinderConfig {
     @Getter
     private List<Restriction> customRestrictions;
     @Getter
-    private Set<Integer> restrictedPointsPacked;
+    private PrimitiveIntSet restrictedPointsPacked;
     private boolean useNpcs;
+    private final AtomicInteger reachableTilesGeneration = new AtomicInteger();
+    private volatile ReachableTiles reachableTiles;
+    @Getter
+    private boolean useTransportHubs;
+    @Getter
+    private volatile TransportHubGraph transportHubGraph;
+    @Getter
+    @Setter
+    private PathCache pathCache;
+    // Hash of the usable transports and restrictions, recomputed by refresh()
+    private long transportFingerprint;
     //END microbot variables
     private TeleportationItem useTeleportationItems;
     private final int[] boostedLevels = new int[Skill.values().length];
@@ -111,7 +126,7 @@ public class PathfinderConfig {
         //START microbot variables
         this.resourceRestrictions = restrictions;
         this.customRestrictions = new ArrayList<>();
-        this.restrictedPointsPacked = new HashSet<>();
+        this.restrictedPointsPacked = new PrimitiveIntSet(restrictions.size());
         //END microbot variables
     }
 
@@ -119,9 +134,32 @@ public class PathfinderConfig {
         return map.get();
     }
 
+    /**
+     * Returns the bounded reachability field around {@code origin}. The field is cached and only recomputed
+     * when the origin moves or the collision changes, see {@link #invalidateReachableTiles()}.
+     */
+    public ReachableTiles getReachableTiles(WorldPoint origin) {
+        final int originPacked = WorldPointUtil.packWorldPoint(origin);
+        final int generation = reachableTilesGeneration.get();
+        ReachableTiles cached = reachableTiles;
+        if (cached != null && cached.getOriginPacked() == originPacked && cached.getGeneration() == generation) {
+            return cached;
+        }
+
+        cached = ReachableTiles.build(this, client.getTopLevelWorldView(), originPacked, generation);
+        reachableTiles = cached;
+        return cached;
+    }
+
+    /** Discards the cached reachability field, e.g. when objects in the scene or the restrictions change */
+    public void invalidateReachableTiles() {
+        reachableTilesGeneration.incrementAndGet();
+    }
+
     public void refresh() {
         calculationCutoffMillis = config.calculationCutoff() * Constants.GAME_TICK_LENGTH;
         avoidWilderness = config.avoidWilderness();
+        algorithm = config.pathfinderAlgorithm() != null ? config.pathfinderAlgorithm() : PathfinderAlgorithm.BREADTH_FIRST;
         useAgilityShortcuts = config.useAgilityShortcuts();
         useGrappleShortcuts = config.useGrappleShortcuts();
         useBoats = config.useBoats();
@@ -144,6 +182,7 @@ public class PathfinderConfig {
 
         //START microbot variables
         useNpcs = config.useNpcs();
+        useTransportHubs = config.useTransportHubs();
         //END microbot variables
 
         if (GameState.LOGGED_IN.equals(client.getGameState())) {
@@ -159,15 +198,131 @@ public class PathfinderConfig {
             if (Rs2Player.getWorldLocation().getRegionID() != 13463) {
                 Rs2Tab.switchToInventoryTab();
             }
+
+            transportFingerprint = computeTransportFingerprint();
+            if (pathCache != null) {
+                pathCache.retainFingerprint(getPathCacheFingerprint());
+            }
             //END microbot variables
         }
+
+        //START microbot variables
+        if (useTransportHubs && transportHubGraph == null) {
+            // Built once in the background from all transports against the restrictions that apply now,
+            // transports are filtered when it is queried
+            transportHubGraph = new TransportHubGraph(allTransports, restrictedPointsPacked.copy());
+            transportHubGraph.buildAsync(this);
+        }
+        //END microbot variables
     }
 
-    /** Specialized method for only updating player-held item and spell transports */
-    public void refreshTeleports(int packedLocation, int wildernessLevel) {
-        Set<Transport> usableWildyTeleports = new HashSet<>(usableTeleports.size());
-        if (ignoreTeleportAndItems) return;
+    /**
+     * Lower bound on the cost of any path to the target that uses at least one transport: the cheapest
+     * {@link #getTransportCost cost} of a usable transport plus the distance from its destination to the target.
+     * Used by the A* heuristic, since a transport can move the player arbitrarily far in one step.
+     */
+    public int getTransportLowerBound(WorldPoint target) {
+        int bound = Integer.MAX_VALUE;
+        for (Set<Transport> transportsAtOrigin : transports.values()) {
+            for (Transport transport : transportsAtOrigin) {
+                bound = Math.min(bound, transportLowerBound(transport, target));
+            }
+        }
+        if (!ignoreTeleportAndItems) {
+            for (Transport teleport : usableTeleports) {
+                bound = Math.min(bound, transportLowerBound(teleport, target));
+            }
+        }
+        return bound;
+    }
+
+    private int transportLowerBound(Transport transport, WorldPoint target) {
+        WorldPoint destination = transport.getDestination();
+        if (destination == null) {
+            return Integer.MAX_VALUE;
+        }
+        // Teleports have no origin, they can only cost less than a tick when the destination is where they are used
+        final int originPacked = WorldPointUtil.packWorldPoint(transport.getOrigin() != null ? transport.getOrigin() : destination);
+        int distance = Math.max(Math.abs(destination.getX() - target.getX()), Math.abs(destination.getY() - target.getY()));
+        return getTransportCost(transport, originPacked) + distance;
+    }
+
+    /**
+     * Cost of using the transport from the tile at {@code originPacked}: its duration, plus the walking distance a
+     * teleport has to save, or the distance it moves the player (at least one tile) when that adds up to nothing.
+     * The tile search and the {@link TransportHubGraph} both charge transports with this, so their costs can be compared.
+     */
+    public int getTransportCost(Transport transport, int originPacked) {
+        int travelTime = transport.getDuration();
+        if (TransportType.isTeleport(transport.getType())) {
+            travelTime += distanceBeforeUsingTeleport;
+        }
+        if (travelTime > 0) {
+            return travelTime;
+        }
+        // Planes are ignored, WorldPointUtil.distanceBetween would make a staircase cost Integer.MAX_VALUE
+        final int destinationPacked = WorldPointUtil.packWorldPoint(transport.getDestination());
+        final int dx = Math.abs(WorldPointUtil.unpackWorldX(originPacked) - WorldPointUtil.unpackWorldX(destinationPacked));
+        final int dy = Math.abs(WorldPointUtil.unpackWorldY(originPacked) - WorldPointUtil.unpackWorldY(destinationPacked));
+        return Math.max(1, Math.max(dx, dy));
+    }
+
+    /**
+     * Fingerprint of everything that decides which paths the pathfinder can find: the usable transports and
+     * teleports, the restricted tiles, the wilderness setting, the walking distance a teleport has to save, the
+     * search algorithm and whether the transport hub graph is used. Paths are only reused from the
+     * {@link PathCache} while this stays the same.
+     */
+    public long getPathCacheFingerprint() {
+        long fingerprint = transportFingerprint * 31 + (avoidWilderness ? 1 : 0);
+        fingerprint = fingerprint * 31 + distanceBeforeUsingTeleport;
+        fingerprint = fingerprint * 31 + algorithm.ordinal();
+        return fingerprint * 31 + (useTransportHubs ? 1 : 0);
+    }
+
+    // Stable between client restarts so persisted paths stay valid; combined by addition since the sets are unordered
+    private long computeTransportFingerprint() {
+        long fingerprint = 0;
+        for (Set<Transport> transportsAtOrigin : transports.values()) {
+            for (Transport transport : transportsAtOrigin) {
+                fingerprint += mix(transportHash(transport));
+            }
+        }
+        for (Transport teleport : usableTeleports) {
+            fingerprint += mix(transportHash(teleport) * 31 + 1);
+        }
+        final long[] restricted = {0};
+        restrictedPointsPacked.forEach(point -> restricted[0] += mix(point));
+        return fingerprint * 31 + restricted[0];
+    }
 
+    private static long transportHash(Transport transport) {
+        long hash = transport.getOrigin() == null ? -1 : WorldPointUtil.packWorldPoint(transport.getOrigin());
+        hash = hash * 31 + (transport.getDestination() == null ? -1 : WorldPointUtil.packWorldPoint(transport.getDestination()));
+        hash = hash * 31 + transport.getType().ordinal();
+        hash = hash * 31 + transport.getObjectId();
+        hash = hash * 31 + Objects.hashCode(transport.getDisplayInfo());
+        return hash * 31 + Objects.hashCode(transport.getAction());
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+
+    /**
+     * Specialized method for only updating player-held item and spell transports.
+     * The teleports are returned for the calling search to use from this tile (see {@link CollisionMap#addSearchTeleports})
+     * and published to {@link #getTransports()} for the walker. The shared sets are replaced rather than modified,
+     * so concurrent searches never see a set change while iterating it.
+     *
+     * @return the teleports that can be used at this wilderness level
+     */
+    public Set<Transport> refreshTeleports(int packedLocation, int wildernessLevel) {
+        if (ignoreTeleportAndItems) return Collections.emptySet();
+
+        Set<Transport> usableWildyTeleports = new HashSet<>(usableTeleports.size());
         for (Transport teleport : usableTeleports) {
             if (wildernessLevel <= teleport.getMaxWildernessLevel()) {
                 usableWildyTeleports.add(teleport);
@@ -175,20 +330,14 @@ public class PathfinderConfig {
         }
 
         if (!usableWildyTeleports.isEmpty()) {
-            // Added extra code to check if the key already exists
-            // if the key already exists we append instead of overwriting
-            // The issue was that the transport list would contain a transport object on the same
-            // tile as the player, this would then be overwritten by the usableWildyTeleports
-            // therefor losing the original transport object
-            WorldPoint key = WorldPointUtil.unpackWorldPoint(packedLocation);
-            Set<Transport> existingTeleports = transports.get(key);
-            if (existingTeleports != null) {
-                existingTeleports.addAll(usableWildyTeleports);
-            } else {
-                transports.put(key, usableWildyTeleports);
-            }
-            transportsPacked.put(packedLocation, usableWildyTeleports);
+            // Appended to the transports that already start on this tile instead of overwriting them
+            transports.merge(WorldPointUtil.unpackWorldPoint(packedLocation), usableWildyTeleports, (existing, teleports) -> {
+                Set<Transport> merged = new HashSet<>(existing);
+                merged.addAll(teleports);
+                return merged;
+            });
         }
+        return usableWildyTeleports;
     }
 
     private void refreshTransports() {
@@ -358,6 +507,21 @@ public class PathfinderConfig {
                 restrictedPointsPacked.add(entry.getPackedWorldPoint());
             }
         }
+
+        if (transportHubGraph != null) {
+            transportHubGraph.updateRestrictions(restrictedPointsPacked.copy());
+        }
+
+        invalidateReachableTiles();
+    }
+
+    /** Whether the player is in the ToA puzzle room, where the pathfinder has to dodge the sequence floor tiles */
+    public boolean isInToaPuzzleRoom() {
+        if (client.getLocalPlayer() == null) {
+            return false;
+        }
+        WorldPoint location = Rs2Player.getWorldLocation();
+        return location != null && location.getRegionID() == 14162;
     }
 
     public static boolean isInWilderness(WorldPoint p) {
@@ -0,0 +1,282 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import lombok.Getter;
+import net.runelite.api.CollisionData;
+import net.runelite.api.CollisionDataFlag;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.PrimitiveIntSet;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bounded walking distance field around a single origin tile.
+ * <p>
+ * Unlike {@link Pathfinder} this only floods the tiles within a radius of the origin on the origin's plane,
+ * never uses transports and stores the result in flat arrays, so the field can be queried many times for
+ * "can I reach this object" style checks. Collision comes from the {@link CollisionMap} flags, combined with the
+ * live scene collision (tiles fully blocked by objects currently in the scene) when the origin is in the loaded scene.
+ */
+public class ReachableTiles {
+    /** Enough to cover the whole loaded scene (104x104) from anywhere inside it */
+    public static final int RADIUS = 64;
+    private static final int UNREACHABLE = -1;
+    private static final byte NO_DIRECTION = -1;
+    // The client marks the outer scene border as fully blocked, which says nothing about the real collision there
+    private static final int SCENE_BORDER = 5;
+
+    @Getter
+    private final int originPacked;
+    @Getter
+    private final int generation;
+    private final int minX;
+    private final int minY;
+    private final int plane;
+    private final int size;
+    // Walking distance in tiles from the origin, UNREACHABLE for tiles that cannot be reached
+    private final int[] distances;
+    // OrdinalDirection index of the step that reached each tile, used to rebuild paths
+    private final byte[] directions;
+    // Reached tile indices in the order they were reached, i.e. by increasing distance
+    private final int[] reached;
+    private int reachedCount;
+
+    ReachableTiles(int originPacked, int generation) {
+        this(originPacked, generation, RADIUS);
+    }
+
+    ReachableTiles(int originPacked, int generation, int radius) {
+        this.originPacked = originPacked;
+        this.generation = generation;
+        this.minX = WorldPointUtil.unpackWorldX(originPacked) - radius;
+        this.minY = WorldPointUtil.unpackWorldY(originPacked) - radius;
+        this.plane = WorldPointUtil.unpackWorldPlane(originPacked);
+        this.size = radius * 2 + 1;
+        distances = new int[size * size];
+        directions = new byte[size * size];
+        reached = new int[size * size];
+        Arrays.fill(distances, UNREACHABLE);
+    }
+
+    /**
+     * @return true if the point lies inside the bounded area covered by this field
+     */
+    public boolean contains(WorldPoint point) {
+        return point.getPlane() == plane && contains(point.getX(), point.getY());
+    }
+
+    private boolean contains(int x, int y) {
+        return x >= minX && x < minX + size && y >= minY && y < minY + size;
+    }
+
+    /**
+     * @return true if the area is entirely covered by this field, so a query over it is conclusive
+     */
+    public boolean containsArea(int x, int y, int width, int height, int z) {
+        return z == plane && contains(x, y) && contains(x + width - 1, y + height - 1);
+    }
+
+    /**
+     * @return walking distance from the origin, or -1 if unreachable or outside of the field
+     */
+    public int getDistance(int x, int y, int z) {
+        if (z != plane || !contains(x, y)) {
+            return UNREACHABLE;
+        }
+        return distances[index(x, y)];
+    }
+
+    public boolean isReachable(WorldPoint point) {
+        return getDistance(point.getX(), point.getY(), point.getPlane()) != UNREACHABLE;
+    }
+
+    /**
+     * Finds the closest reachable tile inside the given rectangle.
+     *
+     * @return walking distance to the closest reachable tile in the area, or -1 if none of the tiles are reachable
+     */
+    public int getClosestDistance(int x, int y, int width, int height, int z) {
+        if (z != plane) {
+            return UNREACHABLE;
+        }
+
+        final int fromX = Math.max(x, minX);
+        final int fromY = Math.max(y, minY);
+        final int toX = Math.min(x + width - 1, minX + size - 1);
+        final int toY = Math.min(y + height - 1, minY + size - 1);
+
+        int best = UNREACHABLE;
+        for (int ty = fromY; ty <= toY; ty++) {
+            for (int tx = fromX; tx <= toX; tx++) {
+                int distance = distances[index(tx, ty)];
+                if (distance != UNREACHABLE && (best == UNREACHABLE || distance < best)) {
+                    best = distance;
+                }
+            }
+        }
+        return best;
+    }
+
+    public int getReachedCount() {
+        return reachedCount;
+    }
+
+    /**
+     * @return packed position of the i-th reached tile; tiles are ordered by increasing distance
+     */
+    public int getReached(int i) {
+        final int index = reached[i];
+        return WorldPointUtil.packWorldPoint(minX + index % size, minY + index / size, plane);
+    }
+
+    /**
+     * Rebuilds the walking path from the origin to a reached tile.
+     *
+     * @return the tiles from the origin up to and including the given tile, or null if it cannot be reached
+     */
+    public List<WorldPoint> getPathTo(int x, int y, int z) {
+        if (getDistance(x, y, z) == UNREACHABLE) {
+            return null;
+        }
+
+        WorldPoint[] path = new WorldPoint[distances[index(x, y)] + 1];
+        int cx = x;
+        int cy = y;
+        for (int i = path.length - 1; i >= 0; i--) {
+            path[i] = new WorldPoint(cx, cy, plane);
+            final byte direction = directions[index(cx, cy)];
+            if (direction == NO_DIRECTION) {
+                break;
+            }
+            cx -= CollisionMap.ORDINAL_VALUES[direction].x;
+            cy -= CollisionMap.ORDINAL_VALUES[direction].y;
+        }
+        return new ArrayList<>(Arrays.asList(path));
+    }
+
+    private int index(int x, int y) {
+        return (x - minX) + (y - minY) * size;
+    }
+
+    /**
+     * Floods the field from the origin. Diagonal movement follows the same rules as {@link CollisionMap#getNeighbors}.
+     *
+     * @param enterableBlocked blocked tiles that may still be stepped onto from an adjacent tile but not left,
+     *                         e.g. transports starting on a fairy ring; may be null
+     */
+    void compute(CollisionMap map, PrimitiveIntSet restrictedPointsPacked, int[][] sceneFlags, int sceneBaseX, int sceneBaseY,
+                 PrimitiveIntSet enterableBlocked) {
+        final int originX = WorldPointUtil.unpackWorldX(originPacked);
+        final int originY = WorldPointUtil.unpackWorldY(originPacked);
+
+        final int[] queue = reached;
+        int head = 0;
+        int tail = 0;
+
+        distances[index(originX, originY)] = 0;
+        directions[index(originX, originY)] = NO_DIRECTION;
+        queue[tail++] = index(originX, originY);
+
+        final boolean[] traversable = new boolean[8];
+        while (head < tail) {
+            final int current = queue[head++];
+            final int x = minX + current % size;
+            final int y = minY + current / size;
+            final int distance = distances[current];
+
+            if (distance > 0 && enterableBlocked != null && map.isBlocked(x, y, plane)
+                    && enterableBlocked.contains(WorldPointUtil.packWorldPoint(x, y, plane))) {
+                // Nothing can be walked to from inside a blocked tile that was only entered to use its transport
+                continue;
+            }
+
+            if (CollisionMap.isIgnoreCollision(WorldPointUtil.packWorldPoint(x, y, plane))) {
+                Arrays.fill(traversable, true);
+            } else {
+                map.getTraversable(x, y, plane, traversable);
+            }
+
+            for (int i = 0; i < traversable.length; i++) {
+                final OrdinalDirection d = CollisionMap.ORDINAL_VALUES[i];
+                final int nx = x + d.x;
+                final int ny = y + d.y;
+                if (!contains(nx, ny)) {
+                    continue;
+                }
+
+                final int neighbor = index(nx, ny);
+                if (distances[neighbor] != UNREACHABLE) {
+                    continue;
+                }
+                final int neighborPacked = WorldPointUtil.packWorldPoint(nx, ny, plane);
+                if (restrictedPointsPacked.contains(neighborPacked)) {
+                    continue;
+                }
+
+                if (!traversable[i]) {
+                    if (enterableBlocked != null && Math.abs(d.x + d.y) == 1
+                            && enterableBlocked.contains(neighborPacked) && map.isBlocked(nx, ny, plane)) {
+                        // Reached, but it is not expanded further; see below
+                        distances[neighbor] = distance + 1;
+                        directions[neighbor] = (byte) i;
+                        queue[tail++] = neighbor;
+                    }
+                    continue;
+                }
+                if (isBlockedInScene(sceneFlags, nx - sceneBaseX, ny - sceneBaseY)) {
+                    continue;
+                }
+
+                distances[neighbor] = distance + 1;
+                directions[neighbor] = (byte) i;
+                queue[tail++] = neighbor;
+            }
+        }
+
+        reachedCount = tail;
+    }
+
+    private static boolean isBlockedInScene(int[][] sceneFlags, int sceneX, int sceneY) {
+        if (sceneFlags == null || sceneX < SCENE_BORDER || sceneY < SCENE_BORDER
+                || sceneX >= sceneFlags.length - SCENE_BORDER || sceneY >= sceneFlags[sceneX].length - SCENE_BORDER) {
+            return false;
+        }
+        return (sceneFlags[sceneX][sceneY] & CollisionDataFlag.BLOCK_MOVEMENT_FULL) != 0;
+    }
+
+    /**
+     * Builds a new field for the origin. The live scene collision is only used outside of instances,
+     * since instanced scene coordinates do not line up with the static collision map.
+     */
+    static ReachableTiles build(PathfinderConfig config, WorldView worldView, int originPacked, int generation) {
+        ReachableTiles reachableTiles = new ReachableTiles(originPacked, generation);
+
+        int[][] sceneFlags = null;
+        int sceneBaseX = 0;
+        int sceneBaseY = 0;
+        if (worldView != null && !worldView.isInstance() && worldView.getPlane() == reachableTiles.plane) {
+            CollisionData[] collisionMaps = worldView.getCollisionMaps();
+            if (collisionMaps != null && collisionMaps[reachableTiles.plane] != null) {
+                sceneFlags = collisionMaps[reachableTiles.plane].getFlags();
+                sceneBaseX = worldView.getBaseX();
+                sceneBaseY = worldView.getBaseY();
+            }
+        }
+
+        reachableTiles.compute(config.getMap(), config.getRestrictedPointsPacked(), sceneFlags, sceneBaseX, sceneBaseY, null);
+        return reachableTiles;
+    }
+
+    /**
+     * Builds a field from the static collision map only, e.g. for tiles far away from the loaded scene.
+     */
+    static ReachableTiles build(CollisionMap map, PrimitiveIntSet restrictedPointsPacked, int originPacked, int radius,
+                                PrimitiveIntSet enterableBlocked) {
+        ReachableTiles reachableTiles = new ReachableTiles(originPacked, 0, radius);
+        reachableTiles.compute(map, restrictedPointsPacked, null, 0, 0, enterableBlocked);
+        return reachableTiles;
+    }
+}
@@ -2,18 +2,24 @@ package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import net.runelite.client.plugins.microbot.shortestpath.ShortestPathPlugin;
 import net.runelite.client.plugins.microbot.shortestpath.Util;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 import static net.runelite.api.Constants.REGION_SIZE;
 
+@Slf4j
 public class SplitFlagMap {
     @Getter
     private static RegionExtent regionExtents;
@@ -23,6 +29,9 @@ public class SplitFlagMap {
     // Size is automatically chosen based on the max extents of the collision data
     private final FlagMap[] regionMaps;
     private final int widthInclusive;
+    // Set instead of regionMaps when the flags are read from a memory-mapped CollisionMapFile
+    private final ByteBuffer mappedRegions;
+    private final int[] mappedRegionPages;
 
     public SplitFlagMap(Map<Integer, byte[]> compressedRegions) {
         widthInclusive = regionExtents.getWidth() + 1;
@@ -39,10 +48,24 @@ public class SplitFlagMap {
             regionMaps[index] = flagMap;
             regionMapPlaneCounts[index] = flagMap.getPlaneCount();
         }
+        mappedRegions = null;
+        mappedRegionPages = null;
+    }
+
+    SplitFlagMap(RegionExtent extents, ByteBuffer mappedRegions, int[] mappedRegionPages, byte[] regionMapPlaneCounts) {
+        regionExtents = extents;
+        widthInclusive = extents.getWidth() + 1;
+        regionMaps = null;
+        this.mappedRegions = mappedRegions;
+        this.mappedRegionPages = mappedRegionPages;
+        this.regionMapPlaneCounts = regionMapPlaneCounts;
     }
 
     public boolean get(int x, int y, int z, int flag) {
         final int index = getIndex(x / REGION_SIZE, y / REGION_SIZE);
+        if (mappedRegions != null) {
+            return getMapped(index, x, y, z, flag);
+        }
         if (index < 0 || index >= regionMaps.length || regionMaps[index] == null) {
             return false;
         }
@@ -69,6 +92,18 @@ public class SplitFlagMap {
         return regionMaps[index].get(x, y, z, flag);
     }
 
+    private boolean getMapped(int index, int x, int y, int z, int flag) {
+        if (index < 0 || index >= mappedRegionPages.length || mappedRegionPages[index] < 0
+                || z < 0 || z >= regionMapPlaneCounts[index] || x < 0 || y < 0) {
+            return false;
+        }
+
+        // Same bit order as FlagMap, whose bytes come from BitSet.toByteArray
+        final int bit = ((z * REGION_SIZE + y % REGION_SIZE) * REGION_SIZE + x % REGION_SIZE) * 2 + flag;
+        final byte value = mappedRegions.get(mappedRegionPages[index] * CollisionMapFile.PAGE_SIZE + (bit >>> 3));
+        return (value & (1 << (bit & 7))) != 0;
+    }
+
     private int getIndex(int regionX, int regionY) {
         return (regionX - regionExtents.getMinX()) + (regionY - regionExtents.getMinY()) * widthInclusive;
     }
@@ -85,7 +120,39 @@ public class SplitFlagMap {
         return (x & 0xFFFF) | ((y & 0xFFFF) << 16);
     }
 
+    /**
+     * Loads the collision map, memory-mapping the flat {@link CollisionMapFile} when it is up to date with
+     * collision-map.zip. Otherwise the zip is inflated once, the flat file is written for the next start,
+     * and the regions are decoded into the heap when the file can't be written.
+     */
     public static SplitFlagMap fromResources() {
+        final long startNanos = System.nanoTime();
+        final long heapBefore = usedHeap();
+        final long crc = resourceCrc();
+
+        SplitFlagMap map = null;
+        try {
+            map = CollisionMapFile.map(CollisionMapFile.DEFAULT_FILE, crc);
+            if (map == null) {
+                Map<Integer, byte[]> compressedRegions = readRegions();
+                CollisionMapFile.write(CollisionMapFile.DEFAULT_FILE, crc, regionExtents, compressedRegions);
+                map = CollisionMapFile.map(CollisionMapFile.DEFAULT_FILE, crc);
+            }
+        } catch (IOException e) {
+            log.warn("Unable to use the memory-mapped collision map, decoding it into the heap instead", e);
+        }
+
+        final boolean mapped = map != null;
+        if (!mapped) {
+            map = new SplitFlagMap(readRegions());
+        }
+
+        log.info("Loaded {} collision map in {} ms using {} KB of heap", mapped ? "memory-mapped" : "heap",
+                (System.nanoTime() - startNanos) / 1_000_000, Math.max(usedHeap() - heapBefore, 0) / 1024);
+        return map;
+    }
+
+    private static Map<Integer, byte[]> readRegions() {
         Map<Integer, byte[]> compressedRegions = new HashMap<>();
         try (ZipInputStream in = new ZipInputStream(ShortestPathPlugin.class.getResourceAsStream("collision-map.zip"))) {
             int minX = Integer.MAX_VALUE;
@@ -110,8 +177,27 @@ public class SplitFlagMap {
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
+        return compressedRegions;
+    }
+
+    // Crc of the raw zip, which is much cheaper than inflating it and tells whether the flat file is stale
+    private static long resourceCrc() {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = ShortestPathPlugin.class.getResourceAsStream("collision-map.zip")) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return crc.getValue();
+    }
 
-        return new SplitFlagMap(compressedRegions);
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
     }
 
     @RequiredArgsConstructor
@@ -0,0 +1,383 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.PrimitiveIntHashMap;
+import net.runelite.client.plugins.microbot.shortestpath.PrimitiveIntSet;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
+import net.runelite.client.plugins.microbot.shortestpath.TransportType;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+import net.runelite.client.plugins.microbot.util.executor.MicrobotExecutor;
+import net.runelite.client.plugins.microbot.util.executor.ScriptScheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Graph of transport hubs for answering long-distance queries without flooding the tiles in between.
+ * <p>
+ * Every transport origin and destination is a hub. Hubs are connected by walking edges to the other hubs
+ * within {@link #HUB_RADIUS} tiles, computed once from the static collision map, and by the transports
+ * themselves. Hubs of the same walkable area that are further apart are only connected through the hubs in
+ * between, so a query across a stretch without hubs finds no path here and falls back to the tile search.
+ * Transport edges are read from {@link PathfinderConfig#getTransportsPacked()} at query time, so transports
+ * filtered out by quests, varbits or items never need a rebuild; only walking edges around restrictions that
+ * changed are recomputed, lazily on the next query.
+ * <p>
+ * A query walks from the start to the hubs around it, runs Dijkstra over the hubs and walks from the
+ * last hub to the target. Transports cost {@link PathfinderConfig#getTransportCost} and walking one tile per
+ * step, as in the tile search, so the cost of a route can be compared with the cost of a tile path.
+ * It returns null whenever that doesn't work out, so the caller can fall back to a regular tile search.
+ */
+@Slf4j
+public class TransportHubGraph {
+    /** Walking edges are only stored between hubs that are at most this far apart */
+    static final int HUB_RADIUS = 32;
+    /** Radius of the tile searches around the start and the target */
+    static final int LOCAL_RADIUS = ReachableTiles.RADIUS;
+
+    private static final ScriptScheduler scheduler = MicrobotExecutor.newInternalScheduler("TransportHubGraph");
+
+    private final int[] hubPositions;
+    private final PrimitiveIntHashMap<Integer> hubIndices;
+    private final PrimitiveIntSet hubPositionsSet;
+    // Walking edges per hub, replaced as a whole when the hub is recomputed so queries never see half of an update
+    private final AtomicReferenceArray<Edges> edges;
+    private final BitSet dirty;
+    private PrimitiveIntSet restrictedPointsPacked;
+    private volatile boolean ready = false;
+
+    TransportHubGraph(Map<WorldPoint, Set<Transport>> allTransports, PrimitiveIntSet restrictedPointsPacked) {
+        PrimitiveIntSet positions = new PrimitiveIntSet(allTransports.size() * 2);
+        for (Map.Entry<WorldPoint, Set<Transport>> entry : allTransports.entrySet()) {
+            if (entry.getKey() != null) {
+                positions.add(WorldPointUtil.packWorldPoint(entry.getKey()));
+            }
+            for (Transport transport : entry.getValue()) {
+                if (transport.getDestination() != null) {
+                    positions.add(WorldPointUtil.packWorldPoint(transport.getDestination()));
+                }
+            }
+        }
+
+        hubPositions = positions.toArray();
+        hubIndices = new PrimitiveIntHashMap<>(hubPositions.length);
+        for (int i = 0; i < hubPositions.length; i++) {
+            hubIndices.put(hubPositions[i], i);
+        }
+        hubPositionsSet = positions;
+        edges = new AtomicReferenceArray<>(hubPositions.length);
+        dirty = new BitSet(hubPositions.length);
+        this.restrictedPointsPacked = restrictedPointsPacked;
+    }
+
+    /** A path through the hubs and its cost */
+    static final class Route {
+        final List<WorldPoint> path;
+        final int cost;
+
+        private Route(List<WorldPoint> path, int cost) {
+            this.path = path;
+            this.cost = cost;
+        }
+    }
+
+    /** Walking edges of one hub: the hubs reached and the walking distance to them */
+    private static final class Edges {
+        private final int[] targets;
+        private final int[] costs;
+
+        private Edges(int[] targets, int[] costs) {
+            this.targets = targets;
+            this.costs = costs;
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int getHubCount() {
+        return hubPositions.length;
+    }
+
+    /** Computes all walking edges on a background thread; queries return null until it is done */
+    void buildAsync(PathfinderConfig config) {
+        // The collision map is fetched on the thread that uses it, since its search buffers are per thread
+        scheduler.execute(() -> build(config.getMap()));
+    }
+
+    private void build(CollisionMap map) {
+        long startNanos = System.nanoTime();
+        PrimitiveIntSet restricted;
+        synchronized (this) {
+            restricted = restrictedPointsPacked;
+        }
+        for (int hub = 0; hub < hubPositions.length; hub++) {
+            computeEdges(map, restricted, hub);
+        }
+        ready = true;
+        log.debug("Built transport hub graph with {} hubs in {} ms", hubPositions.length, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    private void computeEdges(CollisionMap map, PrimitiveIntSet restricted, int hub) {
+        ReachableTiles field = ReachableTiles.build(map, restricted, hubPositions[hub], HUB_RADIUS, hubPositionsSet);
+        int count = 0;
+        int[] targets = new int[16];
+        int[] costs = new int[16];
+        // Index 0 is the hub itself
+        for (int i = 1; i < field.getReachedCount(); i++) {
+            final int position = field.getReached(i);
+            if (!hubPositionsSet.contains(position)) {
+                continue;
+            }
+            if (count == targets.length) {
+                targets = Arrays.copyOf(targets, count * 2);
+                costs = Arrays.copyOf(costs, count * 2);
+            }
+            targets[count] = hubIndices.get(position);
+            costs[count] = field.getDistance(WorldPointUtil.unpackWorldX(position), WorldPointUtil.unpackWorldY(position),
+                    WorldPointUtil.unpackWorldPlane(position));
+            count++;
+        }
+        edges.set(hub, new Edges(Arrays.copyOf(targets, count), Arrays.copyOf(costs, count)));
+    }
+
+    /**
+     * Replaces the restricted tiles used for walking edges. Hubs close enough to a tile that was added or removed
+     * are marked dirty and recomputed on the next query.
+     */
+    synchronized void updateRestrictions(PrimitiveIntSet restrictedPointsPacked) {
+        final PrimitiveIntSet previous = this.restrictedPointsPacked;
+        PrimitiveIntSet changed = new PrimitiveIntSet();
+        previous.forEach(point -> {
+            if (!restrictedPointsPacked.contains(point)) {
+                changed.add(point);
+            }
+        });
+        restrictedPointsPacked.forEach(point -> {
+            if (!previous.contains(point)) {
+                changed.add(point);
+            }
+        });
+        this.restrictedPointsPacked = restrictedPointsPacked;
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        changed.forEach(point -> {
+            for (int hub = 0; hub < hubPositions.length; hub++) {
+                if (WorldPointUtil.distanceBetween(hubPositions[hub], point) <= HUB_RADIUS) {
+                    dirty.set(hub);
+                }
+            }
+        });
+    }
+
+    private synchronized void recomputeDirty(CollisionMap map) {
+        for (int hub = dirty.nextSetBit(0); hub >= 0; hub = dirty.nextSetBit(hub + 1)) {
+            computeEdges(map, restrictedPointsPacked, hub);
+        }
+        dirty.clear();
+    }
+
+    /**
+     * Finds a route from the start to the target through the hub graph.
+     * {@link CollisionMap#prepareSearch} must have been called for this target on the current thread.
+     *
+     * @return the route, or null if the graph isn't built yet or no route was found through it
+     */
+    Route findRoute(PathfinderConfig config, CollisionMap map, WorldPoint start, WorldPoint target) {
+        if (!ready) {
+            return null;
+        }
+        recomputeDirty(map);
+
+        final int startPacked = WorldPointUtil.packWorldPoint(start);
+        final int targetPacked = WorldPointUtil.packWorldPoint(target);
+        final PrimitiveIntSet restricted = config.getRestrictedPointsPacked();
+        final ReachableTiles startField = ReachableTiles.build(map, restricted, startPacked, LOCAL_RADIUS, hubPositionsSet);
+        // Estimates the walk from every hub near the target as the walk back to it, the last leg is checked forwards below
+        final ReachableTiles targetField = ReachableTiles.build(map, restricted, targetPacked, LOCAL_RADIUS, hubPositionsSet);
+        if (targetField.getReachedCount() <= 1) {
+            return null;
+        }
+
+        final boolean avoidWilderness = config.isAvoidWilderness()
+                && !PathfinderConfig.isInWilderness(start) && !PathfinderConfig.isInWilderness(target);
+
+        NodeStore nodes = new NodeStore(1024);
+        NodeStore.CostQueue queue = new NodeStore.CostQueue(nodes, 256);
+        // Whether each node was reached through a transport rather than by walking
+        BitSet viaTransport = new BitSet();
+        int[] bestCosts = new int[hubPositions.length];
+        Arrays.fill(bestCosts, Integer.MAX_VALUE);
+
+        for (int i = 0; i < startField.getReachedCount(); i++) {
+            final int position = startField.getReached(i);
+            final Integer hub = hubIndices.get(position);
+            if (hub != null) {
+                final int cost = startField.getDistance(WorldPointUtil.unpackWorldX(position),
+                        WorldPointUtil.unpackWorldY(position), WorldPointUtil.unpackWorldPlane(position));
+                bestCosts[hub] = cost;
+                queue.add(nodes.add(hub, NodeStore.NO_PARENT, cost));
+            }
+        }
+        if (!config.isIgnoreTeleportAndItems()) {
+            final int wildernessLevel = getWildernessLevel(config, startPacked);
+            for (Transport teleport : config.getUsableTeleports()) {
+                if (wildernessLevel > teleport.getMaxWildernessLevel() || teleport.getDestination() == null) {
+                    continue;
+                }
+                final Integer hub = hubIndices.get(WorldPointUtil.packWorldPoint(teleport.getDestination()));
+                final int cost = config.getTransportCost(teleport, startPacked);
+                if (hub != null && cost < bestCosts[hub]) {
+                    bestCosts[hub] = cost;
+                    final int node = nodes.add(hub, NodeStore.NO_PARENT, cost);
+                    viaTransport.set(node);
+                    queue.add(node);
+                }
+            }
+        }
+
+        // Hubs the target can be walked to from, ordered by their estimated total cost
+        NodeStore.CostQueue lastHubs = new NodeStore.CostQueue(nodes, 16);
+        int bestCost = Integer.MAX_VALUE;
+        while (!queue.isEmpty()) {
+            final int node = queue.poll();
+            final int hub = nodes.getPosition(node);
+            final int cost = nodes.getCost(node);
+            if (cost >= bestCost) {
+                break;
+            }
+            if (cost > bestCosts[hub]) {
+                // Stale entry, the hub was reached more cheaply since
+                continue;
+            }
+
+            final int position = hubPositions[hub];
+            final int remaining = targetField.getDistance(WorldPointUtil.unpackWorldX(position),
+                    WorldPointUtil.unpackWorldY(position), WorldPointUtil.unpackWorldPlane(position));
+            if (remaining >= 0) {
+                bestCost = Math.min(bestCost, cost + remaining);
+                lastHubs.add(nodes.add(hub, node, cost + remaining));
+            }
+
+            final Edges hubEdges = edges.get(hub);
+            for (int i = 0; i < hubEdges.targets.length; i++) {
+                final int neighbor = hubEdges.targets[i];
+                final int neighborCost = cost + hubEdges.costs[i];
+                if (neighborCost < bestCosts[neighbor]
+                        && !(avoidWilderness && config.isInWilderness(hubPositions[neighbor]))) {
+                    bestCosts[neighbor] = neighborCost;
+                    queue.add(nodes.add(neighbor, node, neighborCost));
+                }
+            }
+
+            @SuppressWarnings("unchecked") // Casting EMPTY_SET to Set<Transport> is safe here
+            Set<Transport> transports = config.getTransportsPacked().getOrDefault(position, (Set<Transport>) Collections.EMPTY_SET);
+            for (Transport transport : transports) {
+                // Teleports are added to the player's tile by refreshTeleports and were handled above
+                if (transport.getOrigin() == null || transport.getDestination() == null) continue;
+                if (config.isIgnoreTeleportAndItems() && TransportType.isTeleport(transport.getType())) continue;
+                if (map.isAvoidMinecarts() && transport.getType() == TransportType.MINECART) continue;
+
+                final int destinationPacked = WorldPointUtil.packWorldPoint(transport.getDestination());
+                final Integer neighbor = hubIndices.get(destinationPacked);
+                if (neighbor == null || (avoidWilderness && config.isInWilderness(destinationPacked))) {
+                    continue;
+                }
+                final int neighborCost = cost + config.getTransportCost(transport, position);
+                if (neighborCost < bestCosts[neighbor]) {
+                    bestCosts[neighbor] = neighborCost;
+                    final int next = nodes.add(neighbor, node, neighborCost);
+                    viaTransport.set(next);
+                    queue.add(next);
+                }
+            }
+        }
+
+        // Walking may not be symmetric, e.g. through one-way doors, so the walk from each last hub is searched forwards.
+        // The estimate is kept as the order to check them in, stopping once no estimate beats the best walk found.
+        final PrimitiveIntSet targetSet = new PrimitiveIntSet(1);
+        targetSet.add(targetPacked);
+        int bestNode = NodeStore.NO_PARENT;
+        List<WorldPoint> bestLastLeg = null;
+        bestCost = Integer.MAX_VALUE;
+        while (!lastHubs.isEmpty() && nodes.getCost(lastHubs.peek()) < bestCost) {
+            final int node = nodes.getParent(lastHubs.poll());
+            final ReachableTiles field = ReachableTiles.build(map, restricted, hubPositions[nodes.getPosition(node)], LOCAL_RADIUS, targetSet);
+            final List<WorldPoint> lastLeg = field.getPathTo(target.getX(), target.getY(), target.getPlane());
+            if (lastLeg != null && nodes.getCost(node) + lastLeg.size() - 1 < bestCost) {
+                bestCost = nodes.getCost(node) + lastLeg.size() - 1;
+                bestNode = node;
+                bestLastLeg = lastLeg;
+            }
+        }
+
+        if (bestNode == NodeStore.NO_PARENT) {
+            return null;
+        }
+        final List<WorldPoint> path = buildPath(map, restricted, nodes, viaTransport, bestNode, start, startField, bestLastLeg);
+        return path == null ? null : new Route(path, bestCost);
+    }
+
+    /** Turns the chain of hubs back into tiles by repeating the short walks between them */
+    private List<WorldPoint> buildPath(CollisionMap map, PrimitiveIntSet restricted, NodeStore nodes, BitSet viaTransport,
+                                       int lastNode, WorldPoint start, ReachableTiles startField, List<WorldPoint> lastLeg) {
+        int length = 0;
+        for (int node = lastNode; node != NodeStore.NO_PARENT; node = nodes.getParent(node)) {
+            length++;
+        }
+        int[] chain = new int[length];
+        for (int node = lastNode; node != NodeStore.NO_PARENT; node = nodes.getParent(node)) {
+            chain[--length] = node;
+        }
+
+        List<WorldPoint> path = new ArrayList<>();
+        int previous = NodeStore.NO_PARENT;
+        for (int node : chain) {
+            final int position = hubPositions[nodes.getPosition(node)];
+            if (viaTransport.get(node)) {
+                if (previous == NodeStore.NO_PARENT) {
+                    path.add(start);
+                }
+                path.add(WorldPointUtil.unpackWorldPoint(position));
+            } else {
+                ReachableTiles field = previous == NodeStore.NO_PARENT ? startField
+                        : ReachableTiles.build(map, restricted, previous, HUB_RADIUS, hubPositionsSet);
+                List<WorldPoint> leg = field.getPathTo(WorldPointUtil.unpackWorldX(position),
+                        WorldPointUtil.unpackWorldY(position), WorldPointUtil.unpackWorldPlane(position));
+                if (leg == null) {
+                    return null;
+                }
+                // Every walk starts on the tile the previous leg ended on
+                path.addAll(path.isEmpty() ? leg : leg.subList(1, leg.size()));
+            }
+            previous = position;
+        }
+
+        path.addAll(lastLeg.subList(1, lastLeg.size()));
+        return path;
+    }
+
+    /** Same wilderness levels as {@link Pathfinder} uses to pick the teleports that can be used */
+    private static int getWildernessLevel(PathfinderConfig config, int packedPosition) {
+        if (!config.isInWilderness(packedPosition)) {
+            return 0;
+        }
+        if (!config.isInLevel19Wilderness(packedPosition)) {
+            return 19;
+        }
+        if (!config.isInLevel29Wilderness(packedPosition)) {
+            return 29;
+        }
+        return 31;
+    }
+}
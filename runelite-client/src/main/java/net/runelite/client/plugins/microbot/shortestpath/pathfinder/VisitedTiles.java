@@ -3,14 +3,25 @@ package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
 
+import java.util.Arrays;
+
 import static net.runelite.api.Constants.REGION_SIZE;
 
+/**
+ * Visited set of a search, with one bitset per region allocated on first use.
+ * <p>
+ * Regions are kept between searches and stamped with the generation they were last written in, so {@link #clear()}
+ * only bumps the generation and a region is wiped lazily the first time the next search writes to it.
+ * One instance is reused per thread (see {@link CollisionMap#acquireVisitedTiles()}), so repeated searches reuse
+ * the region bitsets of earlier searches instead of creating new ones.
+ */
 public class VisitedTiles {
     private final SplitFlagMap.RegionExtent regionExtents;
     private final int widthInclusive;
 
     private final VisitedRegion[] visitedRegions;
     private final byte[] visitedRegionPlanes;
+    private int generation = 1;
 
     public VisitedTiles(CollisionMap map) {
         regionExtents = SplitFlagMap.getRegionExtents();
@@ -39,7 +50,7 @@ public class VisitedTiles {
         }
 
         final VisitedRegion region = visitedRegions[regionIndex];
-        if (region == null) {
+        if (region == null || region.generation != generation) {
             return false;
         }
 
@@ -62,17 +73,21 @@ public class VisitedTiles {
         VisitedRegion region = visitedRegions[regionIndex];
         if (region == null) {
             region = new VisitedRegion(visitedRegionPlanes[regionIndex]);
+            region.generation = generation;
             visitedRegions[regionIndex] = region;
+        } else if (region.generation != generation) {
+            // Written by an earlier search
+            region.reset(generation);
         }
 
         return region.set(x % REGION_SIZE, y % REGION_SIZE, plane);
     }
 
     public void clear() {
-        for (int i = 0; i < visitedRegions.length; ++i) {
-            if (visitedRegions[i] != null) {
-                visitedRegions[i] = null;
-            }
+        if (++generation == 0) {
+            // Wrapped around, so old stamps could match again
+            Arrays.fill(visitedRegions, null);
+            generation = 1;
         }
     }
 
@@ -84,12 +99,18 @@ public class VisitedTiles {
         // This assumes a row is at most 64 tiles and fits in a long
         private final long[] planes;
         private final byte planeCount;
+        private int generation;
 
         VisitedRegion(byte planeCount) {
             this.planeCount = planeCount;
             this.planes = new long[planeCount * REGION_SIZE];
         }
 
+        void reset(int generation) {
+            Arrays.fill(planes, 0L);
+            this.generation = generation;
+        }
+
         // Sets a tile as visited in the tile bitset
         // Returns true if the tile is unique and hasn't been seen before or false if it was seen before
         public boolean set(int x, int y, int plane) {
@@ -5,7 +5,10 @@ import com.google.common.graph.Graph;
 import com.google.common.graph.GraphBuilder;
 import com.google.common.graph.Graphs;
 import com.google.common.graph.MutableGraph;
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
 import com.google.common.reflect.ClassPath;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Binder;
 import com.google.inject.CreationException;
 import com.google.inject.Injector;
@@ -22,6 +25,11 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 @Singleton
@@ -56,30 +64,91 @@ public class MicrobotPluginManager {
             return;
         }
 
-        for (File f : files)
-        {
-            if (f.getName().endsWith(".jar"))
+        List<File> jars = Arrays.stream(files)
+                .filter(f -> f.getName().endsWith(".jar"))
+                .collect(Collectors.toList());
+        if (jars.isEmpty()) {
+            return;
+        }
+
+        // Jars are scanned in parallel, their plugins are instantiated one jar after another in the order of the folder
+        SideloadIndex index = SideloadIndex.load();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(jars.size(), Runtime.getRuntime().availableProcessors()),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("microbot-sideload-%d")
+                        .setDaemon(true)
+                        .build());
+        List<Future<ScannedJar>> scans = new ArrayList<>(jars.size());
+        for (File jar : jars) {
+            scans.add(executor.submit(() -> scan(index, jar)));
+        }
+        executor.shutdown();
+
+        for (int i = 0; i < jars.size(); i++) {
+            File jar = jars.get(i);
+            System.out.println("Side-loading plugin " + jar.getName());
+
+            try
+            {
+                ScannedJar scanned = scans.get(i).get();
+                long start = System.nanoTime();
+                loadPlugins(scanned.plugins, null);
+                long loadMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                log.info("Side-loaded {} in {}ms ({}ms {}, {}ms instantiating)", jar.getName(),
+                        scanned.scanMillis + loadMillis, scanned.scanMillis,
+                        scanned.cached ? "from the sideload index" : "scanning", loadMillis);
+            }
+            catch (ExecutionException | PluginInstantiationException ex)
             {
-                System.out.println("Side-loading plugin " + f.getName());
+                System.out.println("error sideloading plugin " + (ex instanceof ExecutionException ? ex.getCause() : ex));
+            }
+            catch (InterruptedException ex)
+            {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        index.save(jars);
+    }
 
-                try
-                {
-                    MicrobotPluginClassLoader classLoader = new MicrobotPluginClassLoader(f, getClass().getClassLoader());
+    private static class ScannedJar {
+        private final List<Class<?>> plugins;
+        private final boolean cached;
+        private final long scanMillis;
 
-                    List<Class<?>> plugins = ClassPath.from(classLoader)
-                            .getAllClasses()
-                            .stream()
-                            .map(ClassPath.ClassInfo::load)
-                            .collect(Collectors.toList());
+        private ScannedJar(List<Class<?>> plugins, boolean cached, long scanMillis) {
+            this.plugins = plugins;
+            this.cached = cached;
+            this.scanMillis = scanMillis;
+        }
+    }
 
-                    loadPlugins(plugins, null);
-                }
-                catch (PluginInstantiationException | IOException ex)
-                {
-                    System.out.println("error sideloading plugin " + ex);
+    private ScannedJar scan(SideloadIndex index, File jar) throws IOException, ClassNotFoundException {
+        long start = System.nanoTime();
+        String hash = MoreFiles.asByteSource(jar.toPath()).hash(Hashing.sha256()).toString();
+        MicrobotPluginClassLoader classLoader = new MicrobotPluginClassLoader(jar, getClass().getClassLoader());
+
+        List<Class<?>> plugins = new ArrayList<>();
+        List<String> classNames = index.get(jar, hash);
+        boolean cached = classNames != null;
+        if (cached) {
+            for (String className : classNames) {
+                plugins.add(classLoader.loadClass(className));
+            }
+        } else {
+            classNames = new ArrayList<>();
+            for (ClassPath.ClassInfo classInfo : ClassPath.from(classLoader).getAllClasses()) {
+                Class<?> clazz = classInfo.load();
+                // plugins without a descriptor are kept too, so loadPlugins still reports them
+                if (clazz.getSuperclass() == Plugin.class || clazz.isAnnotationPresent(PluginDescriptor.class)) {
+                    plugins.add(clazz);
+                    classNames.add(clazz.getName());
                 }
             }
+            index.put(jar, hash, classNames);
         }
+        return new ScannedJar(plugins, cached, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
     }
 
     /**
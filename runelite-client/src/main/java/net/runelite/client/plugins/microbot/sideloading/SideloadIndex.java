@@ -0,0 +1,102 @@
+package net.runelite.client.plugins.microbot.sideloading;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which plugin classes a sideloaded jar contains, so a jar that didn't change since the last start is not
+ * scanned again. An entry is only used while the jar has the same size, modification time and SHA-256 hash.
+ * <p>
+ * Stored as one line per jar: path, size, modification time, hash and the comma separated class names, tab separated.
+ */
+@Slf4j
+class SideloadIndex {
+    private static final File INDEX_FILE = new File(RuneLite.CACHE_DIR, "microbot-sideload.index");
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value
+    private static class Entry {
+        long size;
+        long lastModified;
+        String hash;
+        List<String> classNames;
+    }
+
+    static SideloadIndex load() {
+        SideloadIndex index = new SideloadIndex();
+        if (!INDEX_FILE.exists()) {
+            return index;
+        }
+
+        try {
+            for (String line : Files.readAllLines(INDEX_FILE.toPath(), StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t", -1);
+                if (fields.length != 5) {
+                    continue;
+                }
+                List<String> classNames = fields[4].isEmpty()
+                        ? Collections.emptyList()
+                        : Arrays.asList(fields[4].split(","));
+                index.entries.put(fields[0], new Entry(Long.parseLong(fields[1]), Long.parseLong(fields[2]), fields[3], classNames));
+            }
+        } catch (IOException | NumberFormatException ex) {
+            log.warn("Unable to read the sideload index, all jars will be scanned", ex);
+            index.entries.clear();
+        }
+        return index;
+    }
+
+    /**
+     * @return the plugin class names found in the jar last time, or null if it changed or was never scanned
+     */
+    List<String> get(File jar, String hash) {
+        Entry entry = entries.get(jar.getAbsolutePath());
+        if (entry == null || entry.size != jar.length() || entry.lastModified != jar.lastModified() || !entry.hash.equals(hash)) {
+            return null;
+        }
+        return entry.classNames;
+    }
+
+    void put(File jar, String hash, List<String> classNames) {
+        entries.put(jar.getAbsolutePath(), new Entry(jar.length(), jar.lastModified(), hash, classNames));
+    }
+
+    /**
+     * Writes the index, keeping only the given jars so removed jars are forgotten
+     */
+    void save(Collection<File> jars) {
+        List<String> lines = new ArrayList<>(jars.size());
+        for (File jar : jars) {
+            String path = jar.getAbsolutePath();
+            Entry entry = entries.get(path);
+            if (entry != null) {
+                lines.add(String.join("\t", path, Long.toString(entry.size), Long.toString(entry.lastModified),
+                        entry.hash, String.join(",", entry.classNames)));
+            }
+        }
+
+        try {
+            Files.createDirectories(INDEX_FILE.getParentFile().toPath());
+            File tempFile = File.createTempFile("microbot-sideload", null, INDEX_FILE.getParentFile());
+            Files.write(tempFile.toPath(), lines, StandardCharsets.UTF_8);
+            Files.move(tempFile.toPath(), INDEX_FILE.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            log.warn("Unable to write the sideload index", ex);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package net.runelite.client.plugins.microbot.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Central place where script threads wait for a condition to become true.
+ * <p>
+ * A waiting thread is parked instead of sleeping a fixed interval, and every game event that can change what scripts
+ * wait on (game ticks, container, varbit, animation and stat changes, ...) calls {@link #signal()}, which unparks all
+ * waiting threads so they re-check their condition right away. Conditions are always evaluated on the waiting thread,
+ * never on the client thread that signals. Conditions that depend on something no event is signalled for are still
+ * re-checked every poll interval, so no wait reacts later than it did with plain polling.
+ */
+public final class ConditionWaiter {
+    /** Interval at which conditions are re-checked when no event arrives, same as the old polling interval */
+    public static final int DEFAULT_POLL_MILLIS = 100;
+
+    // Waiting threads with their nesting depth, a condition may wait itself
+    private static final Map<Thread, Integer> WAITERS = new ConcurrentHashMap<>();
+
+    private ConditionWaiter() {
+    }
+
+    /**
+     * Wakes every waiting thread to re-check its condition. Called by the event subscribers, cheap enough for every event.
+     */
+    public static void signal() {
+        for (Thread thread : WAITERS.keySet()) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    public static boolean waitUntil(BooleanSupplier condition, long timeoutMillis) {
+        return waitUntil(condition, null, timeoutMillis, DEFAULT_POLL_MILLIS);
+    }
+
+    /**
+     * Waits until the condition is true, checking it at least once.
+     *
+     * @param condition      the condition to wait for
+     * @param resetCondition restarts the timeout whenever it is true, or null
+     * @param timeoutMillis  the maximum time to wait without a reset
+     * @param pollMillis     the longest time between two checks when no event is signalled
+     * @return true if the condition became true within the timeout, false if it timed out or the thread was interrupted
+     */
+    public static boolean waitUntil(BooleanSupplier condition, BooleanSupplier resetCondition, long timeoutMillis, long pollMillis) {
+        final Thread thread = Thread.currentThread();
+        final long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        final long pollNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, pollMillis));
+        long start = System.nanoTime();
+
+        // Registered before the first check, so an event between a check and parking still wakes the thread
+        WAITERS.merge(thread, 1, Integer::sum);
+        try {
+            while (true) {
+                if (resetCondition != null && resetCondition.getAsBoolean()) {
+                    start = System.nanoTime();
+                }
+                if (condition.getAsBoolean()) {
+                    return true;
+                }
+
+                final long remaining = timeoutNanos - (System.nanoTime() - start);
+                if (remaining <= 0) {
+                    return false;
+                }
+                LockSupport.parkNanos(ConditionWaiter.class, Math.min(remaining, pollNanos));
+                // Parking returns immediately while interrupted, stop waiting instead of spinning until the timeout
+                if (thread.isInterrupted()) {
+                    return condition.getAsBoolean();
+                }
+            }
+        } finally {
+            WAITERS.computeIfPresent(thread, (t, depth) -> depth == 1 ? null : depth - 1);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package net.runelite.client.plugins.microbot.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.ItemComposition;
+import net.runelite.api.NPC;
+import net.runelite.api.NPCComposition;
+import net.runelite.api.ObjectComposition;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.client.plugins.microbot.Microbot;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Cache of the item, object and NPC definitions the microbot utilities read, so a definition is fetched from the
+ * client on the client thread once instead of on every lookup.
+ * <p>
+ * Every definition is stored with the fields scripts derive from it most, such as its lower-cased name and its
+ * actions. The caches are bounded and evict the least recently used definitions. When a scene is loaded, the
+ * definitions of all objects, ground items and NPCs in it are fetched right away on the client thread: the scene
+ * object and ground item indexes read theirs from here as they index the scene, the NPCs are prefetched here.
+ * A miss on another thread waits for the client thread without holding a lock, so the client thread never waits
+ * for a script.
+ */
+@Slf4j
+public class DefinitionCache {
+    private static final int MAX_ITEMS = 4096;
+    private static final int MAX_OBJECTS = 4096;
+    private static final int MAX_NPCS = 1024;
+    // Rates are logged once every ten minutes
+    private static final int METRICS_INTERVAL_TICKS = 1000;
+
+    private static final Cache<Integer, CachedItem> items = CacheBuilder.newBuilder().maximumSize(MAX_ITEMS).recordStats().build();
+    private static final Cache<Integer, CachedObject> objects = CacheBuilder.newBuilder().maximumSize(MAX_OBJECTS).recordStats().build();
+    private static final Cache<Integer, CachedNpc> npcs = CacheBuilder.newBuilder().maximumSize(MAX_NPCS).recordStats().build();
+    private static final LongAdder missNanos = new LongAdder();
+
+    @Getter
+    public static final class CachedItem {
+        private final ItemComposition composition;
+        private final int id;
+        /** Lower-cased name */
+        private final String name;
+        private final String[] inventoryActions;
+        private final boolean noted;
+        /** Id of the noted item, or -1 if the item can't be noted */
+        private final int notedId;
+        /** Id of the unnoted item, the id itself if the item isn't noted */
+        private final int unnotedId;
+
+        private CachedItem(ItemComposition composition) {
+            this.composition = composition;
+            this.id = composition.getId();
+            this.name = lowerName(composition.getName());
+            this.inventoryActions = composition.getInventoryActions();
+            this.noted = composition.getNote() == 799;
+            this.notedId = noted ? id : composition.getLinkedNoteId();
+            this.unnotedId = noted ? composition.getLinkedNoteId() : id;
+        }
+    }
+
+    @Getter
+    public static final class CachedObject {
+        private final ObjectComposition composition;
+        private final int id;
+        /** Lower-cased name, of the object itself for objects with impostors */
+        private final String name;
+        private final String[] actions;
+        /** Whether the object changes into others depending on varbits, see {@link ObjectComposition#getImpostor()} */
+        private final boolean impostor;
+
+        private CachedObject(ObjectComposition composition) {
+            this.composition = composition;
+            this.id = composition.getId();
+            this.name = lowerName(composition.getName());
+            this.actions = composition.getActions();
+            this.impostor = composition.getImpostorIds() != null;
+        }
+    }
+
+    @Getter
+    public static final class CachedNpc {
+        private final NPCComposition composition;
+        private final int id;
+        /** Lower-cased name */
+        private final String name;
+        private final String[] actions;
+
+        private CachedNpc(NPCComposition composition) {
+            this.composition = composition;
+            this.id = composition.getId();
+            this.name = lowerName(composition.getName());
+            this.actions = composition.getActions();
+        }
+    }
+
+    /**
+     * @return the item definition, or null if the client has none
+     */
+    public static CachedItem getItem(int id) {
+        return get(items, id, client -> load(client.getItemDefinition(id), CachedItem::new));
+    }
+
+    /**
+     * @return the object definition, or null if the client has none
+     */
+    public static CachedObject getObject(int id) {
+        return get(objects, id, client -> load(client.getObjectDefinition(id), CachedObject::new));
+    }
+
+    /**
+     * @return the NPC definition, or null if the client has none
+     */
+    public static CachedNpc getNpc(int id) {
+        return get(npcs, id, client -> load(client.getNpcDefinition(id), CachedNpc::new));
+    }
+
+    public static ItemComposition getItemComposition(int id) {
+        final CachedItem item = getItem(id);
+        return item == null ? null : item.composition;
+    }
+
+    public static ObjectComposition getObjectComposition(int id) {
+        final CachedObject object = getObject(id);
+        return object == null ? null : object.composition;
+    }
+
+    public static NPCComposition getNpcComposition(int id) {
+        final CachedNpc npc = getNpc(id);
+        return npc == null ? null : npc.composition;
+    }
+
+    /** Prefetches the NPC definitions of the new scene, called on the client thread */
+    public static void onGameStateChanged(GameStateChanged event) {
+        if (event.getGameState() != GameState.LOGGED_IN) {
+            return;
+        }
+
+        final Client client = Microbot.getClient();
+        final Set<Integer> npcIds = new HashSet<>();
+        for (NPC npc : client.getTopLevelWorldView().npcs()) {
+            if (npc != null) {
+                npcIds.add(npc.getId());
+            }
+        }
+
+        final long start = System.nanoTime();
+        final int fetched = prefetch(npcs, npcIds, id -> load(client.getNpcDefinition(id), CachedNpc::new));
+        log.debug("Prefetched {} NPC definitions of the scene in {}ms", fetched, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public static void onGameTick(Client client) {
+        if (client.getTickCount() % METRICS_INTERVAL_TICKS == 0) {
+            logMetrics();
+        }
+    }
+
+    private static <V> V get(Cache<Integer, V> cache, int id, Function<Client, V> load) {
+        final V cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        // loaded without holding a lock, two threads missing the same id both fetch it
+        final long start = System.nanoTime();
+        final V loaded = Microbot.getClientThread().runOnClientThread(() -> load.apply(Microbot.getClient()));
+        missNanos.add(System.nanoTime() - start);
+        if (loaded != null) {
+            cache.put(id, loaded);
+        }
+        return loaded;
+    }
+
+    private static <C, V> V load(C composition, Function<C, V> wrap) {
+        return composition == null ? null : wrap.apply(composition);
+    }
+
+    private static <V> int prefetch(Cache<Integer, V> cache, Set<Integer> ids, IntFunction<V> load) {
+        int fetched = 0;
+        for (int id : ids) {
+            // not getIfPresent, which would count as a miss
+            if (!cache.asMap().containsKey(id)) {
+                final V loaded = load.apply(id);
+                if (loaded != null) {
+                    cache.put(id, loaded);
+                    fetched++;
+                }
+            }
+        }
+        return fetched;
+    }
+
+    private static String lowerName(String name) {
+        return name == null ? null : name.toLowerCase();
+    }
+
+    private static void logMetrics() {
+        final CacheStats item = items.stats();
+        final CacheStats object = objects.stats();
+        final CacheStats npc = npcs.stats();
+        final CacheStats total = item.plus(object).plus(npc);
+        log.debug("Definition cache hit rate: {}% (items {}%, objects {}%, NPCs {}%), {} misses averaging {}us, {} evictions",
+                String.format("%.1f", total.hitRate() * 100),
+                String.format("%.1f", item.hitRate() * 100),
+                String.format("%.1f", object.hitRate() * 100),
+                String.format("%.1f", npc.hitRate() * 100),
+                total.missCount(),
+                total.missCount() == 0 ? 0 : missNanos.sum() / total.missCount() / 1000,
+                total.evictionCount());
+    }
+}
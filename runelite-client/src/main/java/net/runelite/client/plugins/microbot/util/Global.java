@@ -2,13 +2,14 @@ package net.runelite.client.plugins.microbot.util;
 
 import lombok.SneakyThrows;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.executor.MicrobotExecutor;
 import net.runelite.client.plugins.microbot.util.math.Rs2Random;
 
 import java.util.concurrent.*;
 import java.util.function.BooleanSupplier;
 
 public class Global {
-    static ScheduledExecutorService scheduledExecutorService = Executors.newScheduledThreadPool(10);
+    static ScheduledExecutorService scheduledExecutorService = MicrobotExecutor.newScheduler("Global");
     static ScheduledFuture<?> scheduledFuture;
 
     public static ScheduledFuture<?> awaitExecutionUntil(Runnable callback, BooleanSupplier awaitedCondition, int time) {
@@ -70,14 +71,7 @@ public class Global {
 
     public static boolean sleepUntil(BooleanSupplier awaitedCondition, int time) {
         if (Microbot.getClient().isClientThread()) return false;
-        boolean done;
-        long startTime = System.currentTimeMillis();
-        do {
-            done = awaitedCondition.getAsBoolean();
-            sleep(100);
-        } while (!done && System.currentTimeMillis() - startTime < time);
-
-        return done;
+        return ConditionWaiter.waitUntil(awaitedCondition, time);
     }
 
     /**
@@ -115,35 +109,21 @@ public class Global {
      */
     public static boolean sleepUntilTrue(BooleanSupplier awaitedCondition) {
         if (Microbot.getClient().isClientThread()) return false;
-        long startTime = System.currentTimeMillis();
-        do {
-            if (awaitedCondition.getAsBoolean()) {
-                return true;
-            }
-            sleep(100);
-        } while (System.currentTimeMillis() - startTime < 5000);
-        return false;
+        return ConditionWaiter.waitUntil(awaitedCondition, 5000);
     }
 
     /**
      * Sleeps until the given condition is true or a specified timeout is reached.
      *
      * @param awaitedCondition the condition to wait for, represented as a {@link BooleanSupplier}.
-     * @param time             the interval in milliseconds to sleep between condition checks.
+     * @param time             the longest interval in milliseconds between condition checks, they are also checked on every game event.
      * @param timeout          the maximum time in milliseconds to wait for the condition to become true.
      * @return {@code true} if the condition became true within the timeout, {@code false} otherwise.
      * Returns {@code false} immediately if called on the client thread.
      */
     public static boolean sleepUntilTrue(BooleanSupplier awaitedCondition, int time, int timeout) {
         if (Microbot.getClient().isClientThread()) return false;
-        long startTime = System.currentTimeMillis();
-        do {
-            if (awaitedCondition.getAsBoolean()) {
-                return true;
-            }
-            sleep(time);
-        } while (System.currentTimeMillis() - startTime < timeout);
-        return false;
+        return ConditionWaiter.waitUntil(awaitedCondition, null, timeout, time);
     }
 
     /**
@@ -152,25 +132,14 @@ public class Global {
      *
      * @param awaitedCondition the condition to wait for, represented as a {@link BooleanSupplier}.
      * @param resetCondition   a condition that, when true, resets the timeout timer.
-     * @param time             the interval in milliseconds to sleep between condition checks.
+     * @param time             the longest interval in milliseconds between condition checks, they are also checked on every game event.
      * @param timeout          the maximum time in milliseconds to wait for the {@code awaitedCondition} to become true.
      * @return {@code true} if the {@code awaitedCondition} became true within the timeout, {@code false} otherwise.
      * Returns {@code false} immediately if called on the client thread.
      */
     public static boolean sleepUntilTrue(BooleanSupplier awaitedCondition, BooleanSupplier resetCondition, int time, int timeout) {
         if (Microbot.getClient().isClientThread()) return false;
-        long startTime = System.currentTimeMillis();
-        do {
-            if (resetCondition.getAsBoolean()) {
-                startTime = System.currentTimeMillis();
-            }
-
-            if (awaitedCondition.getAsBoolean()) {
-                return true;
-            }
-            sleep(time);
-        } while (System.currentTimeMillis() - startTime < timeout);
-        return false;
+        return ConditionWaiter.waitUntil(awaitedCondition, resetCondition, timeout, time);
     }
 
     public static void sleepUntilOnClientThread(BooleanSupplier awaitedCondition) {
@@ -0,0 +1,186 @@
+package net.runelite.client.plugins.microbot.util;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.NPC;
+import net.runelite.api.Player;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.npc.Rs2NpcModel;
+import net.runelite.client.plugins.microbot.util.npc.Rs2NpcRegistry;
+import net.runelite.client.plugins.microbot.util.player.Rs2PlayerModel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The game state scripts read most, taken on the client thread at the end of every game tick and published through
+ * a volatile reference, so script threads can read it without a client thread round trip.
+ * <p>
+ * The tick and player location are plain values. The NPC and player lists are fixed for the tick, but their models wrap
+ * the live actors, so anything read from a model, like a filter on the lists, still has to run on the client thread.
+ * <p>
+ * A snapshot is only handed out while the client is still on the tick it was taken on; once the next tick started,
+ * {@link #get()} returns null and callers fall back to reading the client on the client thread.
+ * Varbits and varps are not copied every tick, only those that were read once are tracked and kept up to date
+ * from {@link VarbitChanged}, so their values are never stale.
+ * Inventory, equipment and bank are already kept in memory from container events by their Rs2 helpers.
+ */
+@Slf4j
+@Getter
+public class WorldSnapshot {
+    // Rates are logged once a minute
+    private static final int METRICS_INTERVAL_TICKS = 100;
+
+    private static volatile WorldSnapshot current;
+    private static final Map<Integer, Integer> varbits = new ConcurrentHashMap<>();
+    private static final Map<Integer, Integer> varps = new ConcurrentHashMap<>();
+    private static final LongAdder snapshotReads = new LongAdder();
+    private static long metricsStart = System.nanoTime();
+    private static long clientThreadCallsAtStart;
+
+    private final int tick;
+    private final Rs2PlayerModel localPlayer;
+    private final WorldPoint playerLocation;
+    /** NPCs with a name, sorted by distance to the local player */
+    private final List<Rs2NpcModel> npcs;
+    /** Players other than the local player */
+    private final List<Rs2PlayerModel> players;
+
+    private WorldSnapshot(int tick, Rs2PlayerModel localPlayer, WorldPoint playerLocation,
+                          List<Rs2NpcModel> npcs, List<Rs2PlayerModel> players) {
+        this.tick = tick;
+        this.localPlayer = localPlayer;
+        this.playerLocation = playerLocation;
+        this.npcs = npcs;
+        this.players = players;
+    }
+
+    /**
+     * @return the snapshot of the current tick, or null if there is none yet or this is the client thread,
+     * which reads the client directly
+     */
+    public static WorldSnapshot get() {
+        final WorldSnapshot snapshot = current;
+        final Client client = Microbot.getClient();
+        if (snapshot == null || client.isClientThread() || snapshot.tick != client.getTickCount()) {
+            return null;
+        }
+        snapshotReads.increment();
+        return snapshot;
+    }
+
+    /** Takes the snapshot of the tick that just ended, called on the client thread */
+    public static void capture(Client client) {
+        final Player player = client.getLocalPlayer();
+        if (client.getGameState() != GameState.LOGGED_IN || player == null) {
+            current = null;
+            return;
+        }
+
+        final LocalPoint playerLocal = player.getLocalLocation();
+        final List<Rs2NpcModel> npcs = new ArrayList<>();
+        for (NPC npc : client.getTopLevelWorldView().npcs()) {
+            if (npc != null && npc.getName() != null) {
+                final Rs2NpcModel model = Rs2NpcRegistry.getModel(npc);
+                npcs.add(model != null ? model : new Rs2NpcModel(npc));
+            }
+        }
+        npcs.sort(Comparator.comparingInt(npc -> npc.getLocalLocation().distanceTo(playerLocal)));
+
+        final List<Rs2PlayerModel> players = new ArrayList<>();
+        for (Player other : client.getTopLevelWorldView().players()) {
+            if (other != null && other != player) {
+                players.add(new Rs2PlayerModel(other));
+            }
+        }
+
+        WorldPoint location = player.getWorldLocation();
+        if (client.getTopLevelWorldView().getScene().isInstance()) {
+            final LocalPoint instanceLocal = LocalPoint.fromWorld(client.getTopLevelWorldView(), location);
+            // Null while the player is outside of the loaded scene, e.g. during a scene change
+            if (instanceLocal != null) {
+                location = WorldPoint.fromLocalInstance(client, instanceLocal);
+            }
+        }
+
+        current = new WorldSnapshot(client.getTickCount(), new Rs2PlayerModel(player), location,
+                Collections.unmodifiableList(npcs), Collections.unmodifiableList(players));
+
+        if (client.getTickCount() % METRICS_INTERVAL_TICKS == 0) {
+            logMetrics();
+        }
+    }
+
+    /** Forgets everything read from the previous session, called when logging out or hopping */
+    public static void clear() {
+        current = null;
+        varbits.clear();
+        varps.clear();
+    }
+
+    public static void onVarbitChanged(VarbitChanged event) {
+        if (event.getVarbitId() != -1) {
+            varbits.computeIfPresent(event.getVarbitId(), (id, value) -> event.getValue());
+        } else {
+            varps.computeIfPresent(event.getVarpId(), (id, value) -> event.getValue());
+        }
+    }
+
+    public static int getVarbitValue(int varbit) {
+        final Client client = Microbot.getClient();
+        if (client.isClientThread()) {
+            return client.getVarbitValue(varbit);
+        }
+
+        final Integer value = varbits.get(varbit);
+        if (value != null) {
+            snapshotReads.increment();
+            return value;
+        }
+        // Tracked from now on; stored on the client thread, so no VarbitChanged can slip in between
+        return Microbot.getClientThread().runOnClientThread(() -> {
+            final int read = client.getVarbitValue(varbit);
+            varbits.put(varbit, read);
+            return read;
+        });
+    }
+
+    public static int getVarpValue(int varp) {
+        final Client client = Microbot.getClient();
+        if (client.isClientThread()) {
+            return client.getVarpValue(varp);
+        }
+
+        final Integer value = varps.get(varp);
+        if (value != null) {
+            snapshotReads.increment();
+            return value;
+        }
+        return Microbot.getClientThread().runOnClientThread(() -> {
+            final int read = client.getVarpValue(varp);
+            varps.put(varp, read);
+            return read;
+        });
+    }
+
+    private static void logMetrics() {
+        final long now = System.nanoTime();
+        final double seconds = (now - metricsStart) / 1e9;
+        final long clientThreadCalls = Microbot.getClientThread().getOffThreadCallCount();
+        log.debug("Client thread calls: {}/s, reads served from the world snapshot: {}/s",
+                String.format("%.1f", (clientThreadCalls - clientThreadCallsAtStart) / seconds),
+                String.format("%.1f", snapshotReads.sumThenReset() / seconds));
+        metricsStart = now;
+        clientThreadCallsAtStart = clientThreadCalls;
+    }
+}
@@ -19,6 +19,7 @@ import net.runelite.client.plugins.microbot.util.coords.Rs2WorldPoint;
 import net.runelite.client.plugins.microbot.util.equipment.Rs2Equipment;
 import net.runelite.client.plugins.microbot.util.gameobject.Rs2GameObject;
 import net.runelite.client.plugins.microbot.util.grandexchange.Rs2GrandExchange;
+import net.runelite.client.plugins.microbot.util.inventory.ItemContainerSnapshot;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2Inventory;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2ItemModel;
 import net.runelite.client.plugins.microbot.util.inventory.RunePouchType;
@@ -38,13 +39,13 @@ import net.runelite.client.plugins.microbot.util.widget.Rs2Widget;
 import java.awt.*;
 import java.util.List;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static net.runelite.api.Varbits.*;
 import static net.runelite.api.widgets.ComponentID.BANK_INVENTORY_ITEM_CONTAINER;
 import static net.runelite.api.widgets.ComponentID.BANK_ITEM_CONTAINER;
-import static net.runelite.client.plugins.microbot.Microbot.updateItemContainer;
 import static net.runelite.client.plugins.microbot.util.Global.*;
 import static net.runelite.client.plugins.microbot.util.gameobject.Rs2GameObject.hoverOverObject;
 import static net.runelite.client.plugins.microbot.util.npc.Rs2Npc.hoverOverActor;
@@ -63,6 +64,7 @@ public class Rs2Bank {
     private static final int HANDLE_ALL = 7;
     private static final int WITHDRAW_AS_NOTE_VARBIT = 3958;
     public static List<Rs2ItemModel> bankItems = new ArrayList<Rs2ItemModel>();
+    private static ItemContainerSnapshot bankSnapshot = ItemContainerSnapshot.EMPTY;
     // Used to synchronize calls
     private static final Object lock = new Object();
     /**
@@ -1417,18 +1419,13 @@ public class Rs2Bank {
      * @return The bank with the shortest path, or null if none found
      */
     private static BankLocation findBankWithShortestPath(WorldPoint worldPoint, List<BankLocation> banks) {
-        BankLocation bestBank = null;
-        int shortestPath = Integer.MAX_VALUE;
-
+        Map<WorldPoint, BankLocation> banksByLocation = new HashMap<>();
         for (BankLocation bank : banks) {
-            int pathLength = Rs2Walker.getTotalTiles(worldPoint, bank.getWorldPoint());
-            if (pathLength < shortestPath) {
-                shortestPath = pathLength;
-                bestBank = bank;
-            }
+            banksByLocation.putIfAbsent(bank.getWorldPoint(), bank);
         }
 
-        return bestBank;
+        WorldPoint nearest = Rs2Walker.getNearestReachable(worldPoint, banksByLocation.keySet());
+        return nearest == null ? null : banksByLocation.get(nearest);
     }
     /**
      * Walks to the closest bank using the nearest bank location.
@@ -1546,9 +1543,18 @@ public class Rs2Bank {
      * @param e The event containing the latest bank items.
      */
     public static void storeBankItemsInMemory(ItemContainerChanged e) {
-        List<Rs2ItemModel> list = updateItemContainer(InventoryID.BANK.getId(), e);
-        if (list != null)
-            bankItems = list;
+        if (e.getContainerId() == InventoryID.BANK.getId()) {
+            bankSnapshot = ItemContainerSnapshot.of(e.getItemContainer(), bankSnapshot);
+            bankItems = new ArrayList<>(bankSnapshot.getItems());
+        }
+    }
+
+    /**
+     * Forgets the bank items in memory, called when the player logs out or hops worlds.
+     */
+    public static void clearBankItems() {
+        bankSnapshot = ItemContainerSnapshot.EMPTY;
+        bankItems = new ArrayList<>();
     }
 
     public static boolean handleBankPin(String pin) {
@@ -1789,29 +1795,47 @@ public class Rs2Bank {
 
         boolean hasWithdrawAsNote = Rs2Bank.setWithdrawAsNote();
         if (!hasWithdrawAsNote) return false;
+        List<LootTrackerItem> lootItems = new ArrayList<>();
         for (LootTrackerRecord lootTrackerRecord : Microbot.getAggregateLootRecords()) {
             if (!lootTrackerRecord.getTitle().equalsIgnoreCase(npcName)) continue;
             for (LootTrackerItem lootTrackerItem : lootTrackerRecord.getItems()) {
                 if (itemsToNotSell.stream().anyMatch(x -> x.trim().equalsIgnoreCase(lootTrackerItem.getName())))
                     continue;
-                int itemId = lootTrackerItem.getId();
-                ItemComposition itemComposition = Microbot.getClientThread().runOnClientThread(() -> Microbot.getClient().getItemDefinition(lootTrackerItem.getId()));
-                if (Arrays.stream(itemComposition.getInventoryActions()).anyMatch(x -> x != null && x.equalsIgnoreCase("eat")))
-                    continue;
-                final boolean isNoted = itemComposition.getNote() == 799;
-                if (!itemComposition.isTradeable() && !isNoted) continue;
-
-                if (isNoted) {
-                    final int unnotedItemId = lootTrackerItem.getId() - 1; //get the unnoted id of the item
-                    itemComposition = Microbot.getClientThread().runOnClientThread(() -> Microbot.getClient().getItemDefinition(unnotedItemId));
-                    if (!itemComposition.isTradeable()) continue;
-                    itemId = unnotedItemId;
-                }
+                lootItems.add(lootTrackerItem);
+            }
+        }
 
-                boolean didWithdraw = Rs2Bank.withdrawAll(itemId);
-                if (didWithdraw) {
-                    itemFound = true;
-                }
+        // Look up the definitions of all items, and the unnoted definitions of noted items, in one client thread handoff
+        List<Callable<ItemComposition[]>> lookups = new ArrayList<>(lootItems.size());
+        for (LootTrackerItem lootTrackerItem : lootItems) {
+            lookups.add(() -> {
+                ItemComposition itemComposition = Microbot.getClient().getItemDefinition(lootTrackerItem.getId());
+                ItemComposition unnotedComposition = itemComposition.getNote() == 799
+                        ? Microbot.getClient().getItemDefinition(lootTrackerItem.getId() - 1) //get the unnoted id of the item
+                        : null;
+                return new ItemComposition[]{itemComposition, unnotedComposition};
+            });
+        }
+        List<ItemComposition[]> compositions = Microbot.getClientThread().runAllOnClientThread(lookups);
+        if (compositions == null) return false;
+
+        for (int i = 0; i < lootItems.size(); i++) {
+            int itemId = lootItems.get(i).getId();
+            ItemComposition itemComposition = compositions.get(i)[0];
+            if (Arrays.stream(itemComposition.getInventoryActions()).anyMatch(x -> x != null && x.equalsIgnoreCase("eat")))
+                continue;
+            final boolean isNoted = itemComposition.getNote() == 799;
+            if (!itemComposition.isTradeable() && !isNoted) continue;
+
+            if (isNoted) {
+                itemComposition = compositions.get(i)[1];
+                if (!itemComposition.isTradeable()) continue;
+                itemId = itemId - 1;
+            }
+
+            boolean didWithdraw = Rs2Bank.withdrawAll(itemId);
+            if (didWithdraw) {
+                itemFound = true;
             }
         }
         Rs2Bank.closeBank();
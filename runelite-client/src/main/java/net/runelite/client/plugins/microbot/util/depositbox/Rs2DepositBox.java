@@ -19,8 +19,9 @@ import net.runelite.client.plugins.microbot.util.widget.Rs2Widget;
 
 import java.awt.*;
 import java.util.Arrays;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -407,12 +408,15 @@ public class Rs2DepositBox {
     public static DepositBoxLocation getNearestDepositBox(WorldPoint worldPoint) {
         Microbot.log("Calculating nearest deposit box path...");
 
-        DepositBoxLocation despoitBoxLocation = Arrays.stream(DepositBoxLocation.values())
-                .parallel()
-                .filter(DepositBoxLocation::hasRequirements)
-                .min(Comparator.comparingDouble(db ->
-                        Rs2Walker.getTotalTiles(worldPoint, db.getWorldPoint())))
-                .orElse(null);
+        Map<WorldPoint, DepositBoxLocation> depositBoxesByLocation = new HashMap<>();
+        for (DepositBoxLocation depositBox : DepositBoxLocation.values()) {
+            if (depositBox.hasRequirements()) {
+                depositBoxesByLocation.putIfAbsent(depositBox.getWorldPoint(), depositBox);
+            }
+        }
+
+        WorldPoint nearest = Rs2Walker.getNearestReachable(worldPoint, depositBoxesByLocation.keySet());
+        DepositBoxLocation despoitBoxLocation = nearest == null ? null : depositBoxesByLocation.get(nearest);
 
         if (despoitBoxLocation != null) {
             Microbot.log("Found nearest deposit box: " + despoitBoxLocation.name());
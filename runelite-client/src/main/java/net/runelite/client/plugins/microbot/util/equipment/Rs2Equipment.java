@@ -3,6 +3,7 @@ package net.runelite.client.plugins.microbot.util.equipment;
 import net.runelite.api.*;
 import net.runelite.api.events.ItemContainerChanged;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.inventory.ItemContainerSnapshot;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2ItemModel;
 import net.runelite.client.plugins.microbot.util.menu.NewMenuEntry;
 import net.runelite.client.plugins.microbot.util.tabs.Rs2Tab;
@@ -11,7 +12,6 @@ import java.awt.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
 import java.util.function.Predicate;
 
 public class Rs2Equipment {
@@ -20,6 +20,7 @@ public class Rs2Equipment {
     }
 
     public static List<Rs2ItemModel> equipmentItems = new ArrayList<>();
+    private static ItemContainerSnapshot equipmentSnapshot = ItemContainerSnapshot.EMPTY;
     
     public static List<Rs2ItemModel> items() {
         return equipmentItems;
@@ -27,18 +28,9 @@ public class Rs2Equipment {
 
     public static void storeEquipmentItemsInMemory(ItemContainerChanged e) {
         if (e.getContainerId() == InventoryID.EQUIPMENT.getId() && e.getItemContainer() != null) {
-            List<Rs2ItemModel> _equipmentItems = new ArrayList<>();
-            for (int i = 0; i < e.getItemContainer().getItems().length; i++) {
-                Item item = equipment().getItems()[i];
-                if (item.getId() == -1) continue;
-                int finalI = i;
-                Optional<EquipmentInventorySlot> equipmentSlot = Arrays.stream(EquipmentInventorySlot.values()).filter(x -> x.getSlotIdx() == finalI).findFirst();
-                if (equipmentSlot.isEmpty()) continue;
-                int slot = equipmentSlot.get().getSlotIdx();
-                ItemComposition itemComposition = Microbot.getClientThread().runOnClientThread(() -> Microbot.getClient().getItemDefinition(item.getId()));
-                _equipmentItems.add(new Rs2ItemModel(item, itemComposition, slot));
-            }
-            equipmentItems = _equipmentItems;
+            equipmentSnapshot = ItemContainerSnapshot.of(e.getItemContainer(), equipmentSnapshot,
+                    slot -> Arrays.stream(EquipmentInventorySlot.values()).anyMatch(x -> x.getSlotIdx() == slot));
+            equipmentItems = new ArrayList<>(equipmentSnapshot.getItems());
         }
     }
 
@@ -0,0 +1,139 @@
+package net.runelite.client.plugins.microbot.util.executor;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Execution service shared by all scripts and microbot utilities, so the number of threads depends on how many
+ * tasks run at the same time instead of on how many scripts are loaded.
+ * <p>
+ * A single timer thread keeps track of when tasks are due and hands them to a bounded pool of worker threads,
+ * which only grows while all workers are busy and shrinks again when they are idle. Every owner of tasks gets its own
+ * {@link ScriptScheduler}, which names the worker threads after the owner while they run its tasks and can be
+ * shut down without affecting anyone else.
+ * <p>
+ * Schedulers of the client itself, such as the one of the {@link net.runelite.client.callback.ClientThread}, run
+ * their tasks on a thread of their own instead of on the shared workers, so scripts that take every worker can't
+ * hold them up.
+ */
+public final class MicrobotExecutor {
+    // Loop bodies block, so this is well above the number of scripts that ever run at once
+    private static final int DEFAULT_MAX_WORKERS = 64;
+    private static final int MAX_WORKERS = Math.max(1, Integer.getInteger("microbot.executor.maxWorkers", DEFAULT_MAX_WORKERS));
+    private static final long WORKER_KEEP_ALIVE_SECONDS = 30;
+
+    static final ScheduledThreadPoolExecutor TIMER = new ScheduledThreadPoolExecutor(1, threadFactory("microbot-scheduler"));
+    static final ThreadPoolExecutor WORKERS = new ThreadPoolExecutor(0, MAX_WORKERS,
+            WORKER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new WorkerQueue(), threadFactory("microbot-worker"),
+            (task, executor) -> ((WorkerQueue) executor.getQueue()).enqueue(task));
+    private static final Set<ScriptTask<?>> TASKS = ConcurrentHashMap.newKeySet();
+
+    static {
+        TIMER.setRemoveOnCancelPolicy(true);
+    }
+
+    @Value
+    public static class TaskStatus {
+        String owner;
+        boolean periodic;
+        boolean running;
+        long runs;
+    }
+
+    private MicrobotExecutor() {
+    }
+
+    /**
+     * @param name the name the worker threads get while they run tasks of this scheduler
+     */
+    public static ScriptScheduler newScheduler(String name) {
+        return new ScriptScheduler(name, WORKERS);
+    }
+
+    /**
+     * Creates a scheduler for a utility of the client itself, which runs its tasks one at a time on a thread of its
+     * own, like {@link java.util.concurrent.Executors#newSingleThreadScheduledExecutor()}, instead of competing with
+     * the scripts for the shared workers. The thread stops while the scheduler has nothing to run.
+     *
+     * @param name the name of the thread
+     */
+    public static ScriptScheduler newInternalScheduler(String name) {
+        return newInternalScheduler(name, 1);
+    }
+
+    /**
+     * Like {@link #newInternalScheduler(String)}, but runs up to {@code threads} tasks at the same time, for utilities
+     * whose tasks sleep and would otherwise hold up the ones due after them. Threads stop while they have nothing to run.
+     *
+     * @param name    the name of the threads
+     * @param threads the most tasks that run at the same time
+     */
+    public static ScriptScheduler newInternalScheduler(String name, int threads) {
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(threads, threads, WORKER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory(name));
+        workers.allowCoreThreadTimeOut(true);
+        return new ScriptScheduler(name, workers);
+    }
+
+    /** Every task that is scheduled or running, for showing what the scripts are doing */
+    public static List<TaskStatus> getTaskStatus() {
+        List<TaskStatus> status = new ArrayList<>(TASKS.size());
+        for (ScriptTask<?> task : TASKS) {
+            status.add(new TaskStatus(task.getOwner().getName(), task.isPeriodic(), task.isRunning(), task.getRuns()));
+        }
+        return status;
+    }
+
+    /** The number of shared workers, not counting the threads of internal schedulers */
+    public static int getWorkerCount() {
+        return WORKERS.getPoolSize();
+    }
+
+    /** The most shared workers there can be, set with {@code -Dmicrobot.executor.maxWorkers} */
+    public static int getMaxWorkers() {
+        return MAX_WORKERS;
+    }
+
+    static void register(ScriptTask<?> task) {
+        TASKS.add(task);
+    }
+
+    static void unregister(ScriptTask<?> task) {
+        TASKS.remove(task);
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        final AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Only accepts a task when an idle worker is waiting for one, so the pool starts a new worker instead of queueing
+     * while it is below its maximum, and queues tasks through the rejection handler once it is at the maximum.
+     */
+    private static final class WorkerQueue extends LinkedTransferQueue<Runnable> {
+        @Override
+        public boolean offer(Runnable runnable) {
+            return tryTransfer(runnable);
+        }
+
+        void enqueue(Runnable runnable) {
+            super.offer(runnable);
+        }
+    }
+}
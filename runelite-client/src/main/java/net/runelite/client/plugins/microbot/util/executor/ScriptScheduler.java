@@ -0,0 +1,135 @@
+package net.runelite.client.plugins.microbot.util.executor;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ScheduledExecutorService} of one script or utility, running its tasks on the shared threads of
+ * {@link MicrobotExecutor}, or on threads of its own for {@link MicrobotExecutor#newInternalScheduler internal}
+ * schedulers.
+ * <p>
+ * Behaves like a {@link java.util.concurrent.ScheduledThreadPoolExecutor} of its own: cancelling a future with
+ * interruption interrupts the task if it is running, {@link #shutdown()} stops the periodic tasks and
+ * {@link #shutdownNow()} cancels and interrupts all of them, but the shared threads keep running.
+ */
+public class ScriptScheduler extends AbstractExecutorService implements ScheduledExecutorService {
+    @Getter
+    private final String name;
+    // Runs the tasks once they are due
+    private final Executor workers;
+    private final Set<ScriptTask<?>> tasks = ConcurrentHashMap.newKeySet();
+    private volatile boolean shutdown = false;
+
+    ScriptScheduler(String name, Executor workers) {
+        this.name = name;
+        this.workers = workers;
+    }
+
+    Executor getWorkers() {
+        return workers;
+    }
+
+    private <V> ScriptTask<V> start(Callable<V> callable, long delay, long period, TimeUnit unit) {
+        if (shutdown) {
+            throw new RejectedExecutionException(name + " has been shut down");
+        }
+        ScriptTask<V> task = new ScriptTask<>(this, callable, unit.toNanos(period));
+        tasks.add(task);
+        MicrobotExecutor.register(task);
+        task.schedule(unit.toNanos(delay));
+        return task;
+    }
+
+    void finished(ScriptTask<?> task) {
+        tasks.remove(task);
+        MicrobotExecutor.unregister(task);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        start(Executors.callable(command), 0, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return start(Executors.callable(command), delay, 0, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        if (callable == null) {
+            throw new NullPointerException();
+        }
+        return start(callable, delay, 0, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        return start(Executors.callable(command), initialDelay, period, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        if (delay <= 0) {
+            throw new IllegalArgumentException("delay must be positive");
+        }
+        return start(Executors.callable(command), initialDelay, -delay, unit);
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        for (ScriptTask<?> task : tasks) {
+            if (task.isPeriodic()) {
+                task.cancel(false);
+            }
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        for (ScriptTask<?> task : tasks) {
+            task.cancel(true);
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && tasks.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!isTerminated()) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(10)));
+        }
+        return true;
+    }
+}
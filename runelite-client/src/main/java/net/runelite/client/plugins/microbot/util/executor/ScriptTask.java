@@ -0,0 +1,146 @@
+package net.runelite.client.plugins.microbot.util.executor;
+
+import lombok.Getter;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A task of a {@link ScriptScheduler}. The timer thread only decides when it is due, every run happens on a worker
+ * of the scheduler.
+ * A periodic task is scheduled again after a run finished, so runs of one task never overlap, and it stops for good
+ * when a run throws, like in a {@link java.util.concurrent.ScheduledThreadPoolExecutor}.
+ */
+class ScriptTask<V> implements ScheduledFuture<V> {
+    @Getter
+    private final ScriptScheduler owner;
+    private final Callable<V> callable;
+    // Zero for a one-shot task, positive for a fixed rate and negative for a fixed delay, in nanoseconds
+    private final long period;
+    private final CompletableFuture<V> result = new CompletableFuture<>();
+    private final AtomicLong runs = new AtomicLong();
+    private volatile long nextRunNanos;
+    private volatile ScheduledFuture<?> timer;
+    // Guarded by this, so a cancel never interrupts a worker that already moved on to another task
+    private Thread runner;
+
+    ScriptTask(ScriptScheduler owner, Callable<V> callable, long period) {
+        this.owner = owner;
+        this.callable = callable;
+        this.period = period;
+    }
+
+    void schedule(long delayNanos) {
+        nextRunNanos = System.nanoTime() + delayNanos;
+        timer = MicrobotExecutor.TIMER.schedule(this::dispatch, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void dispatch() {
+        if (!result.isDone()) {
+            owner.getWorkers().execute(this::run);
+        }
+    }
+
+    private void run() {
+        final Thread thread = Thread.currentThread();
+        synchronized (this) {
+            if (result.isDone()) {
+                return;
+            }
+            runner = thread;
+        }
+
+        final String workerName = thread.getName();
+        thread.setName(owner.getName());
+        try {
+            final V value = callable.call();
+            runs.incrementAndGet();
+            if (period == 0) {
+                result.complete(value);
+            }
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+        } finally {
+            synchronized (this) {
+                runner = null;
+                // Don't carry an interrupt from a cancel over to the next task of the worker
+                Thread.interrupted();
+            }
+            thread.setName(workerName);
+        }
+
+        if (result.isDone()) {
+            owner.finished(this);
+        } else if (period > 0) {
+            schedule(Math.max(0, nextRunNanos + period - System.nanoTime()));
+        } else {
+            schedule(-period);
+        }
+    }
+
+    boolean isPeriodic() {
+        return period != 0;
+    }
+
+    synchronized boolean isRunning() {
+        return runner != null;
+    }
+
+    long getRuns() {
+        return runs.get();
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        final boolean cancelled = result.cancel(false);
+        final ScheduledFuture<?> pending = timer;
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        if (cancelled && mayInterruptIfRunning) {
+            synchronized (this) {
+                if (runner != null) {
+                    runner.interrupt();
+                }
+            }
+        }
+        owner.finished(this);
+        return cancelled;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return result.isCancelled();
+    }
+
+    @Override
+    public boolean isDone() {
+        return result.isDone();
+    }
+
+    @Override
+    public V get() throws InterruptedException, ExecutionException {
+        return result.get();
+    }
+
+    @Override
+    public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        return result.get(timeout, unit);
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(nextRunNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+}
@@ -6,6 +6,7 @@ import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.coords.WorldArea;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.DefinitionCache;
 import net.runelite.client.plugins.microbot.util.antiban.Rs2AntibanSettings;
 import net.runelite.client.plugins.microbot.util.bank.enums.BankLocation;
 import net.runelite.client.plugins.microbot.util.camera.Rs2Camera;
@@ -128,7 +129,7 @@ public class Rs2GameObject {
 
     @Deprecated(since = "Use findObjectById", forRemoval = true)
     public static ObjectComposition findObject(int id) {
-        return Microbot.getClientThread().runOnClientThread(() -> Microbot.getClient().getObjectDefinition(id));
+        return DefinitionCache.getObjectComposition(id);
     }
 
     public static boolean exists(int id) {
@@ -136,6 +137,10 @@ public class Rs2GameObject {
     }
 
     public static TileObject findObjectByName(String name) {
+        if (SceneObjectIndex.isReady()) {
+            return nearest(SceneObjectIndex.getByName(name), Rs2Player.getWorldLocation());
+        }
+
         Scene scene = Microbot.getClient().getScene();
         Tile[][][] tiles = scene.getTiles();
 
@@ -190,10 +195,23 @@ public class Rs2GameObject {
 
     private static ObjectComposition getObjectComposition(TileObject object) {
         int id = object.getId();
-        return Microbot.getClient().getObjectDefinition(id);
+        return DefinitionCache.getObjectComposition(id);
     }
 
     public static TileObject findObjectById(int id) {
+        if (SceneObjectIndex.isReady()) {
+            // same preference as the scan below: game objects, ground objects, wall objects, then decorations
+            int plane = Microbot.getClient().getPlane();
+            List<TileObject> objects = SceneObjectIndex.getById(id);
+            objects.removeIf(object -> object.getPlane() != plane);
+            for (Class<? extends TileObject> type : Arrays.asList(GameObject.class, GroundObject.class, WallObject.class, DecorativeObject.class)) {
+                TileObject object = nearest(objects.stream().filter(type::isInstance).collect(Collectors.toList()), Rs2Player.getWorldLocation());
+                if (object != null) {
+                    return object;
+                }
+            }
+            return null;
+        }
 
         List<GameObject> gameObjects = getGameObjects();
 
@@ -815,11 +833,11 @@ public static GameObject findReachableObject(String objectName, boolean exact, i
     }
 
     public static ObjectComposition convertGameObjectToObjectComposition(TileObject tileObject) {
-        return Microbot.getClientThread().runOnClientThread(() -> Microbot.getClient().getObjectDefinition(tileObject.getId()));
+        return DefinitionCache.getObjectComposition(tileObject.getId());
     }
 
     public static ObjectComposition convertGameObjectToObjectComposition(int objectId) {
-        return Microbot.getClientThread().runOnClientThread(() -> Microbot.getClient().getObjectDefinition(objectId));
+        return DefinitionCache.getObjectComposition(objectId);
     }
 
     public static WallObject findDoor(int id) {
@@ -938,6 +956,10 @@ public static GameObject findReachableObject(String objectName, boolean exact, i
     }
 
     public static List<GameObject> getGameObjects(int id, WorldPoint anchorPoint) {
+        if (SceneObjectIndex.isReady()) {
+            return sortedByDistance(ofType(SceneObjectIndex.getById(id), GameObject.class), anchorPoint);
+        }
+
         Scene scene = Microbot.getClient().getScene();
         Tile[][][] tiles = scene.getTiles();
 
@@ -975,6 +997,13 @@ public static GameObject findReachableObject(String objectName, boolean exact, i
     }
 
     public static List<TileObject> getTileObjects(int id, WorldPoint anchorPoint) {
+        if (SceneObjectIndex.isReady()) {
+            List<TileObject> objects = SceneObjectIndex.getById(id);
+            int plane = Microbot.getClient().getPlane();
+            objects.removeIf(object -> object instanceof GameObject || object.getPlane() != plane);
+            return sortedByDistance(objects, anchorPoint);
+        }
+
         return getTileObjects().stream()
                 .filter(x -> Objects.nonNull(x) && x.getId() == id)
                 .sorted(Comparator.comparingInt(tile -> tile.getWorldLocation().distanceTo(anchorPoint)))
@@ -982,6 +1011,10 @@ public static GameObject findReachableObject(String objectName, boolean exact, i
     }
 
     public static List<TileObject> getTileObjects() {
+        if (SceneObjectIndex.isReady()) {
+            return SceneObjectIndex.getAll(TileObject.class, Microbot.getClient().getPlane(), object -> !(object instanceof GameObject));
+        }
+
         Scene scene = Microbot.getClient().getScene();
         Tile[][][] tiles = scene.getTiles();
 
@@ -1017,6 +1050,11 @@ public static GameObject findReachableObject(String objectName, boolean exact, i
     }
 
     public static List<GameObject> getGameObjects() {
+        if (SceneObjectIndex.isReady()) {
+            return sortedByDistance(SceneObjectIndex.getAll(GameObject.class, Microbot.getClient().getPlane(), null),
+                    Microbot.getClient().getLocalPlayer().getWorldLocation());
+        }
+
         Scene scene = Microbot.getClient().getTopLevelWorldView().getScene();
         Tile[][][] tiles = scene.getTiles();
 
@@ -1048,6 +1086,16 @@ public static GameObject findReachableObject(String objectName, boolean exact, i
     }
 
     public static List<GameObject> getGameObjectsWithinDistance(int distance, WorldPoint anchorPoint) {
+        if (SceneObjectIndex.isReady() && anchorPoint.getPlane() == Microbot.getClient().getPlane()) {
+            List<GameObject> gameObjects = ofType(SceneObjectIndex.getWithin(anchorPoint, Math.max(distance, 1)), GameObject.class);
+            if (distance == 0) {
+                // Check in a cross pattern if distance is 0
+                gameObjects.removeIf(object -> Math.abs(anchorPoint.getX() - object.getWorldLocation().getX())
+                        + Math.abs(anchorPoint.getY() - object.getWorldLocation().getY()) != 1);
+            }
+            return sortedByDistance(gameObjects, Microbot.getClient().getLocalPlayer().getWorldLocation());
+        }
+
         Scene scene = Microbot.getClient().getScene();
         Tile[][][] tiles = scene.getTiles();
 
@@ -1138,6 +1186,10 @@ public static GameObject findReachableObject(String objectName, boolean exact, i
     }
 
     public static List<WallObject> getWallObjects() {
+        if (SceneObjectIndex.isReady()) {
+            return sortedByDistance(SceneObjectIndex.getAll(WallObject.class, Microbot.getClient().getPlane(), null),
+                    Microbot.getClient().getLocalPlayer().getWorldLocation());
+        }
         return getWallObjects(Constants.SCENE_SIZE);
     }
 
@@ -1169,6 +1221,10 @@ public static GameObject findReachableObject(String objectName, boolean exact, i
     }
 
     public static List<WallObject> getWallObjects(int id, WorldPoint anchorPoint) {
+        if (SceneObjectIndex.isReady()) {
+            return sortedByDistance(ofType(SceneObjectIndex.getById(id), WallObject.class), anchorPoint);
+        }
+
         Scene scene = Microbot.getClient().getScene();
         Tile[][][] tiles = scene.getTiles();
 
@@ -1196,6 +1252,30 @@ public static GameObject findReachableObject(String objectName, boolean exact, i
     }
 
     // private methods
+
+    /** Objects of the index of the given type on the current plane */
+    private static <T extends TileObject> List<T> ofType(List<TileObject> objects, Class<T> type) {
+        int plane = Microbot.getClient().getPlane();
+        List<T> result = new ArrayList<>();
+        for (TileObject object : objects) {
+            if (type.isInstance(object) && object.getPlane() == plane) {
+                result.add(type.cast(object));
+            }
+        }
+        return result;
+    }
+
+    private static <T extends TileObject> List<T> sortedByDistance(List<T> objects, WorldPoint anchorPoint) {
+        objects.sort(Comparator.comparingInt(object -> object.getWorldLocation().distanceTo(anchorPoint)));
+        return objects;
+    }
+
+    private static TileObject nearest(List<TileObject> objects, WorldPoint anchorPoint) {
+        return objects.stream()
+                .min(Comparator.comparingInt(object -> object.getWorldLocation().distanceTo(anchorPoint)))
+                .orElse(null);
+    }
+
     private static boolean clickObject(TileObject object) {
         return clickObject(object, "");
     }
@@ -1349,7 +1429,7 @@ public static GameObject findReachableObject(String objectName, boolean exact, i
 
     @Nullable
     public static ObjectComposition getObjectComposition(int id) {
-        ObjectComposition objectComposition = Microbot.getClientThread().runOnClientThread(() -> Microbot.getClient().getObjectDefinition(id));
+        ObjectComposition objectComposition = DefinitionCache.getObjectComposition(id);
         return objectComposition.getImpostorIds() == null ? objectComposition : objectComposition.getImpostor();
     }
 
@@ -0,0 +1,331 @@
+package net.runelite.client.plugins.microbot.util.gameobject;
+
+import lombok.Getter;
+import net.runelite.api.Client;
+import net.runelite.api.Constants;
+import net.runelite.api.GameObject;
+import net.runelite.api.GameState;
+import net.runelite.api.ObjectComposition;
+import net.runelite.api.Scene;
+import net.runelite.api.Tile;
+import net.runelite.api.TileObject;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.DecorativeObjectDespawned;
+import net.runelite.api.events.DecorativeObjectSpawned;
+import net.runelite.api.events.GameObjectDespawned;
+import net.runelite.api.events.GameObjectSpawned;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GroundObjectDespawned;
+import net.runelite.api.events.GroundObjectSpawned;
+import net.runelite.api.events.WallObjectDespawned;
+import net.runelite.api.events.WallObjectSpawned;
+import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+import net.runelite.client.plugins.microbot.util.DefinitionCache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Index of the objects in the loaded scene, kept up to date from the object spawn and despawn events and rebuilt
+ * from the scene when it is loaded, so scripts look objects up by id, name or tile in O(matches) instead of walking
+ * every tile of the scene.
+ * <p>
+ * Objects are indexed by id, by lower-cased name, by tile and by 8x8 tile cell for distance queries. Names of
+ * objects with impostors depend on varbits, which change without an object event, so those objects are kept apart
+ * and their name is resolved when queried. The index is only written on the client thread and can be read from any
+ * thread; it is not {@link #isReady() ready} while a scene loads, callers then scan the scene as before.
+ */
+public class SceneObjectIndex {
+    private static final int CELL_SHIFT = 3;
+
+    private static final Map<TileObject, IndexedObject> objects = new ConcurrentHashMap<>();
+    private static final Map<Integer, Set<IndexedObject>> byId = new ConcurrentHashMap<>();
+    private static final Map<String, Set<IndexedObject>> byName = new ConcurrentHashMap<>();
+    private static final Map<Integer, Set<IndexedObject>> byTile = new ConcurrentHashMap<>();
+    private static final Map<Integer, Set<IndexedObject>> byCell = new ConcurrentHashMap<>();
+    private static final Set<IndexedObject> impostors = ConcurrentHashMap.newKeySet();
+    private static volatile boolean ready;
+
+    @Getter
+    public static final class IndexedObject {
+        private final TileObject object;
+        private final int id;
+        /** Lower-cased name, the name at the time the object spawned for objects with impostors */
+        private final String name;
+        private final WorldPoint location;
+        private final boolean impostor;
+
+        private IndexedObject(TileObject object, String name, boolean impostor) {
+            this.object = object;
+            this.id = object.getId();
+            this.name = name;
+            this.location = object.getWorldLocation();
+            this.impostor = impostor;
+        }
+    }
+
+    /**
+     * @return whether the index holds the objects of the current scene
+     */
+    public static boolean isReady() {
+        return ready;
+    }
+
+    public static void onGameStateChanged(GameStateChanged event) {
+        if (event.getGameState() == GameState.LOGGED_IN) {
+            rebuild(Microbot.getClient());
+        } else {
+            // a new scene is loading, or there is none
+            clear();
+        }
+    }
+
+    /** Builds the index if the client was already logged in when the microbot plugin started */
+    public static void onGameTick() {
+        if (!ready) {
+            rebuild(Microbot.getClient());
+        }
+    }
+
+    public static void onGameObjectSpawned(GameObjectSpawned event) {
+        add(event.getGameObject());
+    }
+
+    public static void onGameObjectDespawned(GameObjectDespawned event) {
+        remove(event.getGameObject());
+    }
+
+    public static void onWallObjectSpawned(WallObjectSpawned event) {
+        add(event.getWallObject());
+    }
+
+    public static void onWallObjectDespawned(WallObjectDespawned event) {
+        remove(event.getWallObject());
+    }
+
+    public static void onDecorativeObjectSpawned(DecorativeObjectSpawned event) {
+        add(event.getDecorativeObject());
+    }
+
+    public static void onDecorativeObjectDespawned(DecorativeObjectDespawned event) {
+        remove(event.getDecorativeObject());
+    }
+
+    public static void onGroundObjectSpawned(GroundObjectSpawned event) {
+        add(event.getGroundObject());
+    }
+
+    public static void onGroundObjectDespawned(GroundObjectDespawned event) {
+        remove(event.getGroundObject());
+    }
+
+    public static List<TileObject> getById(int id) {
+        return unwrap(byId.get(id));
+    }
+
+    /**
+     * @param name the name of the object, case-insensitive, impostors are matched by the name they currently have
+     */
+    public static List<TileObject> getByName(String name) {
+        final String lowerName = name.toLowerCase();
+        final List<TileObject> matches = unwrap(byName.get(lowerName));
+        if (impostors.isEmpty()) {
+            return matches;
+        }
+
+        final List<IndexedObject> impostorObjects = new ArrayList<>(impostors);
+        final List<TileObject> impostorMatches = Microbot.getClientThread().runOnClientThread(() -> {
+            final List<TileObject> found = new ArrayList<>();
+            for (IndexedObject indexed : impostorObjects) {
+                if (lowerName.equals(resolveName(indexed.id))) {
+                    found.add(indexed.object);
+                }
+            }
+            return found;
+        });
+        if (impostorMatches != null) {
+            matches.addAll(impostorMatches);
+        }
+        return matches;
+    }
+
+    public static List<TileObject> getAt(WorldPoint tile) {
+        return unwrap(byTile.get(WorldPointUtil.packWorldPoint(tile)));
+    }
+
+    /**
+     * @return the objects within the distance of the anchor on its plane, nearest first
+     */
+    public static List<TileObject> getWithin(WorldPoint anchor, int distance) {
+        final List<TileObject> result = new ArrayList<>();
+        final int minCellX = (anchor.getX() - distance) >> CELL_SHIFT;
+        final int maxCellX = (anchor.getX() + distance) >> CELL_SHIFT;
+        final int minCellY = (anchor.getY() - distance) >> CELL_SHIFT;
+        final int maxCellY = (anchor.getY() + distance) >> CELL_SHIFT;
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                final Set<IndexedObject> cell = byCell.get(WorldPointUtil.packWorldPoint(cellX, cellY, anchor.getPlane()));
+                if (cell == null) {
+                    continue;
+                }
+                for (IndexedObject indexed : cell) {
+                    if (indexed.location.distanceTo(anchor) <= distance) {
+                        result.add(indexed.object);
+                    }
+                }
+            }
+        }
+        result.sort(Comparator.comparingInt(object -> object.getWorldLocation().distanceTo(anchor)));
+        return result;
+    }
+
+    /**
+     * @return the objects of the given type on the plane that match the filter, unsorted
+     */
+    public static <T extends TileObject> List<T> getAll(Class<T> type, int plane, Predicate<? super T> filter) {
+        final List<T> result = new ArrayList<>();
+        for (IndexedObject indexed : objects.values()) {
+            if (indexed.location.getPlane() == plane && type.isInstance(indexed.object)) {
+                final T object = type.cast(indexed.object);
+                if (filter == null || filter.test(object)) {
+                    result.add(object);
+                }
+            }
+        }
+        return result;
+    }
+
+    public static Collection<IndexedObject> getIndexedObjects() {
+        return Collections.unmodifiableCollection(objects.values());
+    }
+
+    private static void rebuild(Client client) {
+        if (client.getGameState() != GameState.LOGGED_IN) {
+            return;
+        }
+
+        final Scene scene = client.getTopLevelWorldView().getScene();
+        final Tile[][][] tiles = scene.getTiles();
+        for (int z = 0; z < Constants.MAX_Z; z++) {
+            for (int x = 0; x < Constants.SCENE_SIZE; x++) {
+                for (int y = 0; y < Constants.SCENE_SIZE; y++) {
+                    final Tile tile = tiles[z][x][y];
+                    if (tile == null) {
+                        continue;
+                    }
+                    for (GameObject gameObject : tile.getGameObjects()) {
+                        // objects larger than a tile are on every tile they cover
+                        if (gameObject != null && gameObject.getSceneMinLocation().equals(tile.getSceneLocation())) {
+                            add(gameObject);
+                        }
+                    }
+                    add(tile.getWallObject());
+                    add(tile.getDecorativeObject());
+                    add(tile.getGroundObject());
+                }
+            }
+        }
+        ready = true;
+    }
+
+    private static void clear() {
+        ready = false;
+        objects.clear();
+        byId.clear();
+        byName.clear();
+        byTile.clear();
+        byCell.clear();
+        impostors.clear();
+    }
+
+    private static void add(TileObject object) {
+        if (object == null || objects.containsKey(object)) {
+            return;
+        }
+
+        final DefinitionCache.CachedObject definition = DefinitionCache.getObject(object.getId());
+        if (definition == null) {
+            return;
+        }
+        final boolean impostor = definition.isImpostor();
+        final String name = impostor ? resolveName(object.getId()) : definition.getName();
+        final IndexedObject indexed = new IndexedObject(object, name == null || name.equals("null") ? null : name, impostor);
+        objects.put(object, indexed);
+
+        put(byId, indexed.id, indexed);
+        if (impostor) {
+            impostors.add(indexed);
+        } else if (indexed.name != null) {
+            put(byName, indexed.name, indexed);
+        }
+        final WorldPoint location = indexed.location;
+        put(byTile, WorldPointUtil.packWorldPoint(location), indexed);
+        put(byCell, cellOf(location), indexed);
+    }
+
+    private static void remove(TileObject object) {
+        final IndexedObject indexed = objects.remove(object);
+        if (indexed == null) {
+            return;
+        }
+
+        remove(byId, indexed.id, indexed);
+        if (indexed.impostor) {
+            impostors.remove(indexed);
+        } else if (indexed.name != null) {
+            remove(byName, indexed.name, indexed);
+        }
+        remove(byTile, WorldPointUtil.packWorldPoint(indexed.location), indexed);
+        remove(byCell, cellOf(indexed.location), indexed);
+    }
+
+    private static int cellOf(WorldPoint location) {
+        return WorldPointUtil.packWorldPoint(location.getX() >> CELL_SHIFT, location.getY() >> CELL_SHIFT, location.getPlane());
+    }
+
+    private static <K> void put(Map<K, Set<IndexedObject>> index, K key, IndexedObject indexed) {
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(indexed);
+    }
+
+    private static <K> void remove(Map<K, Set<IndexedObject>> index, K key, IndexedObject indexed) {
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(indexed);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /** Lower-cased name of the object, of its current impostor if it has one, or null */
+    private static String resolveName(int id) {
+        ObjectComposition composition = DefinitionCache.getObjectComposition(id);
+        if (composition == null) {
+            return null;
+        }
+        if (composition.getImpostorIds() != null) {
+            final ObjectComposition impostor = composition.getImpostor();
+            if (impostor != null) {
+                composition = impostor;
+            }
+        }
+        final String name = composition.getName();
+        return name == null || name.equals("null") ? null : name.toLowerCase();
+    }
+
+    private static List<TileObject> unwrap(Set<IndexedObject> set) {
+        if (set == null) {
+            return new ArrayList<>();
+        }
+        final List<TileObject> result = new ArrayList<>(set.size());
+        for (IndexedObject indexed : set) {
+            result.add(indexed.object);
+        }
+        return result;
+    }
+}
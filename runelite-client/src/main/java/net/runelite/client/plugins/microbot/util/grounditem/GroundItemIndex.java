@@ -0,0 +1,240 @@
+package net.runelite.client.plugins.microbot.util.grounditem;
+
+import lombok.Getter;
+import net.runelite.api.Client;
+import net.runelite.api.Constants;
+import net.runelite.api.GameState;
+import net.runelite.api.ItemComposition;
+import net.runelite.api.Tile;
+import net.runelite.api.TileItem;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.ItemDespawned;
+import net.runelite.api.events.ItemQuantityChanged;
+import net.runelite.api.events.ItemSpawned;
+import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+import net.runelite.client.plugins.microbot.util.DefinitionCache;
+import net.runelite.client.plugins.microbot.util.models.RS2Item;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the item piles in the loaded scene, kept up to date from the item spawn, despawn and quantity change
+ * events and rebuilt from the scene when it is loaded.
+ * <p>
+ * Every pile is stored with its item composition and the GE and high alchemy price of the item, resolved once on
+ * the client thread when the pile spawns, so looting scripts can find and rank piles by name, id, value and distance
+ * without a client thread call. Piles are indexed by id, by lower-cased name and by 8x8 tile cell. The index is only
+ * written on the client thread and can be read from any thread; it is not {@link #isReady() ready} while a scene
+ * loads.
+ */
+public class GroundItemIndex {
+    private static final int CELL_SHIFT = 3;
+
+    private static final Map<TileItem, Pile> piles = new ConcurrentHashMap<>();
+    private static final Map<Integer, Set<Pile>> byId = new ConcurrentHashMap<>();
+    private static final Map<String, Set<Pile>> byName = new ConcurrentHashMap<>();
+    private static final Map<Integer, Set<Pile>> byCell = new ConcurrentHashMap<>();
+    private static volatile boolean ready;
+
+    @Getter
+    public static final class Pile {
+        private final RS2Item item;
+        private final int id;
+        /** Lower-cased item name */
+        private final String name;
+        private final WorldPoint location;
+        /** GE price of one item */
+        private final int gePrice;
+        /** High alchemy price of one item */
+        private final int haPrice;
+        private volatile int quantity;
+
+        private Pile(RS2Item item, int gePrice) {
+            final ItemComposition composition = item.getItem();
+            this.item = item;
+            this.id = composition.getId();
+            this.name = composition.getName().toLowerCase();
+            this.location = item.getTile().getWorldLocation();
+            this.gePrice = gePrice;
+            this.haPrice = composition.getHaPrice();
+            this.quantity = item.getTileItem().getQuantity();
+        }
+
+        public long getGeValue() {
+            return (long) gePrice * quantity;
+        }
+
+        public long getHaValue() {
+            return (long) haPrice * quantity;
+        }
+    }
+
+    /**
+     * @return whether the index holds the item piles of the current scene
+     */
+    public static boolean isReady() {
+        return ready;
+    }
+
+    public static void onGameStateChanged(GameStateChanged event) {
+        if (event.getGameState() == GameState.LOGGED_IN) {
+            rebuild(Microbot.getClient());
+        } else {
+            clear();
+        }
+    }
+
+    /** Builds the index if the client was already logged in when the microbot plugin started */
+    public static void onGameTick() {
+        if (!ready) {
+            rebuild(Microbot.getClient());
+        }
+    }
+
+    public static void onItemSpawned(ItemSpawned event) {
+        add(event.getTile(), event.getItem());
+    }
+
+    public static void onItemDespawned(ItemDespawned event) {
+        final Pile pile = piles.remove(event.getItem());
+        if (pile == null) {
+            return;
+        }
+        remove(byId, pile.id, pile);
+        remove(byName, pile.name, pile);
+        remove(byCell, cellOf(pile.location), pile);
+    }
+
+    public static void onItemQuantityChanged(ItemQuantityChanged event) {
+        final Pile pile = piles.get(event.getItem());
+        if (pile != null) {
+            pile.quantity = event.getNewQuantity();
+        }
+    }
+
+    /**
+     * @return the pile of the tile item, or null if it is not indexed
+     */
+    public static Pile get(TileItem tileItem) {
+        return piles.get(tileItem);
+    }
+
+    public static List<Pile> getById(int id) {
+        return copy(byId.get(id));
+    }
+
+    /**
+     * @param name the exact name of the item, case-insensitive
+     */
+    public static List<Pile> getByName(String name) {
+        return copy(byName.get(name.toLowerCase()));
+    }
+
+    /**
+     * @return the piles within the distance of the center on its plane, nearest first
+     */
+    public static List<Pile> getWithin(WorldPoint center, int distance) {
+        final List<Pile> result = new ArrayList<>();
+        final int minCellX = (center.getX() - distance) >> CELL_SHIFT;
+        final int maxCellX = (center.getX() + distance) >> CELL_SHIFT;
+        final int minCellY = (center.getY() - distance) >> CELL_SHIFT;
+        final int maxCellY = (center.getY() + distance) >> CELL_SHIFT;
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                final Set<Pile> cell = byCell.get(WorldPointUtil.packWorldPoint(cellX, cellY, center.getPlane()));
+                if (cell == null) {
+                    continue;
+                }
+                for (Pile pile : cell) {
+                    if (pile.location.distanceTo(center) <= distance) {
+                        result.add(pile);
+                    }
+                }
+            }
+        }
+        result.sort(Comparator.comparingInt(pile -> pile.location.distanceTo(center)));
+        return result;
+    }
+
+    /**
+     * @return the piles within the distance of the center worth at least the given GE value, nearest first and
+     * most valuable first among piles at the same distance
+     */
+    public static List<Pile> getWorth(WorldPoint center, int distance, long minValue) {
+        final List<Pile> result = getWithin(center, distance);
+        result.removeIf(pile -> pile.getGeValue() < minValue);
+        result.sort(Comparator.comparingInt((Pile pile) -> pile.location.distanceTo(center))
+                .thenComparing(Comparator.comparingLong(Pile::getGeValue).reversed()));
+        return result;
+    }
+
+    private static void rebuild(Client client) {
+        if (client.getGameState() != GameState.LOGGED_IN) {
+            return;
+        }
+
+        final Tile[][][] tiles = client.getTopLevelWorldView().getScene().getTiles();
+        for (int z = 0; z < Constants.MAX_Z; z++) {
+            for (int x = 0; x < Constants.SCENE_SIZE; x++) {
+                for (int y = 0; y < Constants.SCENE_SIZE; y++) {
+                    final Tile tile = tiles[z][x][y];
+                    if (tile == null || tile.getGroundItems() == null) {
+                        continue;
+                    }
+                    for (TileItem tileItem : tile.getGroundItems()) {
+                        add(tile, tileItem);
+                    }
+                }
+            }
+        }
+        ready = true;
+    }
+
+    private static void clear() {
+        ready = false;
+        piles.clear();
+        byId.clear();
+        byName.clear();
+        byCell.clear();
+    }
+
+    private static void add(Tile tile, TileItem tileItem) {
+        if (tileItem == null || piles.containsKey(tileItem)) {
+            return;
+        }
+
+        final ItemComposition composition = DefinitionCache.getItemComposition(tileItem.getId());
+        final RS2Item item = new RS2Item(composition, tile, tileItem);
+        final Pile pile = new Pile(item, Microbot.getItemManager().getItemPrice(composition.getId()));
+        piles.put(tileItem, pile);
+        put(byId, pile.id, pile);
+        put(byName, pile.name, pile);
+        put(byCell, cellOf(pile.location), pile);
+    }
+
+    private static int cellOf(WorldPoint location) {
+        return WorldPointUtil.packWorldPoint(location.getX() >> CELL_SHIFT, location.getY() >> CELL_SHIFT, location.getPlane());
+    }
+
+    private static <K> void put(Map<K, Set<Pile>> index, K key, Pile pile) {
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(pile);
+    }
+
+    private static <K> void remove(Map<K, Set<Pile>> index, K key, Pile pile) {
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(pile);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static List<Pile> copy(Set<Pile> set) {
+        return set == null ? new ArrayList<>() : new ArrayList<>(set);
+    }
+}
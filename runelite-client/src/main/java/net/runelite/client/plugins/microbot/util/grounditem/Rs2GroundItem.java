@@ -8,6 +8,7 @@ import net.runelite.api.coords.WorldPoint;
 import net.runelite.client.plugins.grounditems.GroundItem;
 import net.runelite.client.plugins.grounditems.GroundItemsPlugin;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.DefinitionCache;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2Inventory;
 import net.runelite.client.plugins.microbot.util.math.Rs2Random;
 import net.runelite.client.plugins.microbot.util.menu.NewMenuEntry;
@@ -61,7 +62,7 @@ public class Rs2GroundItem {
             MenuAction menuAction = MenuAction.CANCEL;
             ItemComposition item;
 
-            item = Microbot.getClientThread().runOnClientThread(() -> Microbot.getClient().getItemDefinition(groundItem.getId()));
+            item = DefinitionCache.getItemComposition(groundItem.getId());
             identifier = groundItem.getId();
 
             LocalPoint localPoint = LocalPoint.fromWorld(Microbot.getClient(), groundItem.getLocation());
@@ -165,6 +166,15 @@ public class Rs2GroundItem {
     }
 
     public static RS2Item[] getAll(int range) {
+        if (GroundItemIndex.isReady()) {
+            List<GroundItemIndex.Pile> piles = GroundItemIndex.getWithin(Microbot.getClient().getLocalPlayer().getWorldLocation(), range);
+            RS2Item[] items = new RS2Item[piles.size()];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = piles.get(i).getItem();
+            }
+            return items;
+        }
+
         List<RS2Item> temp = new ArrayList<>();
         int pX = Microbot.getClient().getLocalPlayer().getWorldLocation().getX();
         int pY = Microbot.getClient().getLocalPlayer().getWorldLocation().getY();
@@ -207,9 +217,7 @@ public class Rs2GroundItem {
 
     public static boolean loot(String lootItem, int minQuantity, int range) {
         if (Rs2Inventory.isFull(lootItem)) return false;
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThread(() ->
-                Rs2GroundItem.getAll(range)
-        );
+        RS2Item[] groundItems = groundItems(range);
         for (RS2Item rs2Item : groundItems) {
             if (rs2Item.getItem().getName().equalsIgnoreCase(lootItem) && rs2Item.getTileItem().getQuantity() >= minQuantity) {
                 interact(rs2Item);
@@ -220,31 +228,25 @@ public class Rs2GroundItem {
     }
 
     public static boolean lootItemBasedOnValue(int value, int range) {
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThread(() ->
-                Rs2GroundItem.getAll(range)
-        );
+        RS2Item[] groundItems = groundItemsWorth(value, range);
         final int invSize = Rs2Inventory.size();
         for (RS2Item rs2Item : groundItems) {
             if (!hasLineOfSight(rs2Item.getTile())) continue;
-            long totalPrice = (long) Microbot.getClientThread().runOnClientThread(() ->
-                    Microbot.getItemManager().getItemPrice(rs2Item.getItem().getId()) * rs2Item.getTileItem().getQuantity());
-            if (totalPrice >= value) {
-                if (Rs2Inventory.isFull()) {
-                    if (Rs2Player.eatAt(100)) {
-                        Rs2Player.waitForAnimation();
-                        boolean result = interact(rs2Item);
-                        if (result) {
-                            sleepUntil(() -> invSize != Rs2Inventory.size());
-                        }
-                        return result;
+            if (Rs2Inventory.isFull()) {
+                if (Rs2Player.eatAt(100)) {
+                    Rs2Player.waitForAnimation();
+                    boolean result = interact(rs2Item);
+                    if (result) {
+                        sleepUntil(() -> invSize != Rs2Inventory.size());
                     }
+                    return result;
                 }
-                boolean result = interact(rs2Item);
-                if (result) {
-                    sleepUntil(() -> invSize != Rs2Inventory.size());
-                }
-                return result;
             }
+            boolean result = interact(rs2Item);
+            if (result) {
+                sleepUntil(() -> invSize != Rs2Inventory.size());
+            }
+            return result;
         }
         return false;
     }
@@ -427,32 +429,16 @@ public class Rs2GroundItem {
     }
 
     public static boolean isItemBasedOnValueOnGround(int value, int range) {
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThread(() ->
-                Rs2GroundItem.getAll(range)
-        );
-        for (RS2Item rs2Item : groundItems) {
-            long totalPrice = (long) Microbot.getClientThread().runOnClientThread(() ->
-                    Microbot.getItemManager().getItemPrice(rs2Item.getItem().getId()) * rs2Item.getTileItem().getQuantity());
-            if (totalPrice >= value) {
-                return true;
-            }
-        }
-        return false;
+        return groundItemsWorth(value, range).length > 0;
     }
 
     @Deprecated(since = "1.4.6, use lootItemsBasedOnNames(LootingParameters params)", forRemoval = true)
     public static boolean lootAllItemBasedOnValue(int value, int range) {
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThread(() ->
-                Rs2GroundItem.getAll(range)
-        );
+        RS2Item[] groundItems = groundItemsWorth(value, range);
         Rs2Inventory.dropEmptyVials();
         for (RS2Item rs2Item : groundItems) {
             if (Rs2Inventory.isFull(rs2Item.getItem().getName())) continue;
-            long totalPrice = (long) Microbot.getClientThread().runOnClientThread(() ->
-                    Microbot.getItemManager().getItemPrice(rs2Item.getItem().getId()) * rs2Item.getTileItem().getQuantity());
-            if (totalPrice >= value) {
-                return interact(rs2Item);
-            }
+            return interact(rs2Item);
         }
         return false;
     }
@@ -467,9 +453,7 @@ public class Rs2GroundItem {
     }
     public static boolean loot(int itemId, int range) {
         if (Rs2Inventory.isFull(itemId)) return false;
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThread(() ->
-                Rs2GroundItem.getAll(range)
-        );
+        RS2Item[] groundItems = groundItems(range);
         for (RS2Item rs2Item : groundItems) {
             if (rs2Item.getItem().getId() == itemId) {
                 interact(rs2Item);
@@ -500,7 +484,7 @@ public class Rs2GroundItem {
     }
 
     public static boolean interact(String itemName, String action, int range) {
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThread(() -> Rs2GroundItem.getAll(range));
+        RS2Item[] groundItems = groundItems(range);
         for (RS2Item rs2Item : groundItems) {
             if (rs2Item.getItem().getName().equalsIgnoreCase(itemName)) {
                 interact(rs2Item, action);
@@ -511,7 +495,7 @@ public class Rs2GroundItem {
     }
 
     public static boolean interact(int itemId, String action, int range) {
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThread(() -> Rs2GroundItem.getAll(range));
+        RS2Item[] groundItems = groundItems(range);
         for (RS2Item rs2Item : groundItems) {
             if (rs2Item.getItem().getId() == itemId) {
                 interact(rs2Item, action);
@@ -522,7 +506,7 @@ public class Rs2GroundItem {
     }
 
     public static boolean exists(int id, int range) {
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThread(() -> Rs2GroundItem.getAll(range));
+        RS2Item[] groundItems = groundItems(range);
         for (RS2Item rs2Item : groundItems) {
             if (rs2Item.getItem().getId() == id) {
                 return true;
@@ -532,7 +516,7 @@ public class Rs2GroundItem {
     }
 
     public static boolean exists(String itemName, int range) {
-        RS2Item[] groundItems = Microbot.getClientThread().runOnClientThread(() -> Rs2GroundItem.getAll(range));
+        RS2Item[] groundItems = groundItems(range);
         for (RS2Item rs2Item : groundItems) {
             if (rs2Item.getItem().getName().equalsIgnoreCase(itemName)) {
                 return true;
@@ -541,6 +525,46 @@ public class Rs2GroundItem {
         return false;
     }
 
+    /**
+     * The ground items within range of the player, from the ground item index when it is ready
+     */
+    private static RS2Item[] groundItems(int range) {
+        if (GroundItemIndex.isReady()) {
+            return getAll(range);
+        }
+        return Microbot.getClientThread().runOnClientThread(() -> getAll(range));
+    }
+
+    /**
+     * The ground items within range of the player whose pile is worth at least the value, nearest first
+     */
+    private static RS2Item[] groundItemsWorth(long value, int range) {
+        if (GroundItemIndex.isReady()) {
+            return GroundItemIndex.getWorth(Microbot.getClient().getLocalPlayer().getWorldLocation(), range, value).stream()
+                    .map(GroundItemIndex.Pile::getItem)
+                    .toArray(RS2Item[]::new);
+        }
+        final List<RS2Item> items = new ArrayList<>();
+        for (RS2Item item : groundItems(range)) {
+            if (totalPrice(item) >= value) {
+                items.add(item);
+            }
+        }
+        return items.toArray(new RS2Item[0]);
+    }
+
+    /**
+     * The GE value of the whole pile, precomputed by the ground item index when the pile is indexed
+     */
+    private static long totalPrice(RS2Item rs2Item) {
+        GroundItemIndex.Pile pile = GroundItemIndex.get(rs2Item.getTileItem());
+        if (pile != null) {
+            return pile.getGeValue();
+        }
+        return (long) Microbot.getClientThread().runOnClientThread(() ->
+                Microbot.getItemManager().getItemPrice(rs2Item.getItem().getId()) * rs2Item.getTileItem().getQuantity());
+    }
+
     public static boolean hasLineOfSight(Tile tile) {
         if (tile == null) return false;
         return new WorldArea(
@@ -0,0 +1,122 @@
+package net.runelite.client.plugins.microbot.util.inventory;
+
+import net.runelite.api.Item;
+import net.runelite.api.ItemComposition;
+import net.runelite.api.ItemContainer;
+import net.runelite.client.plugins.microbot.util.DefinitionCache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * The items of an item container at one change, built on the client thread from {@code ItemContainerChanged}.
+ * <p>
+ * A snapshot is built from the previous one: slots that didn't change keep their {@link Rs2ItemModel}, slots whose
+ * quantity changed reuse the item composition of the previous model, and only new items resolve their composition,
+ * inline through the {@link DefinitionCache}. Counts and quantities per item id are computed once, so
+ * lookups by id don't scan the items. Bank placeholders are left out.
+ */
+public class ItemContainerSnapshot {
+    public static final ItemContainerSnapshot EMPTY = new ItemContainerSnapshot(new Rs2ItemModel[0]);
+
+    private final Rs2ItemModel[] slots;
+    private final List<Rs2ItemModel> items;
+    private final Map<Integer, Rs2ItemModel> firstById = new HashMap<>();
+    private final Map<Integer, Integer> slotCounts = new HashMap<>();
+    private final Map<Integer, Integer> quantities = new HashMap<>();
+
+    private ItemContainerSnapshot(Rs2ItemModel[] slots) {
+        this.slots = slots;
+        final List<Rs2ItemModel> items = new ArrayList<>();
+        for (Rs2ItemModel item : slots) {
+            if (item == null) {
+                continue;
+            }
+            items.add(item);
+            firstById.putIfAbsent(item.getId(), item);
+            slotCounts.merge(item.getId(), 1, Integer::sum);
+            quantities.merge(item.getId(), item.getQuantity(), Integer::sum);
+        }
+        this.items = Collections.unmodifiableList(items);
+    }
+
+    public static ItemContainerSnapshot of(ItemContainer container, ItemContainerSnapshot previous) {
+        return of(container, previous, slot -> true);
+    }
+
+    /**
+     * @param slotFilter the slots of the container to include
+     */
+    public static ItemContainerSnapshot of(ItemContainer container, ItemContainerSnapshot previous, IntPredicate slotFilter) {
+        final Item[] containerItems = container.getItems();
+        final Rs2ItemModel[] slots = new Rs2ItemModel[containerItems.length];
+        for (int i = 0; i < containerItems.length; i++) {
+            final Item item = containerItems[i];
+            if (item == null || item.getId() == -1 || !slotFilter.test(i)) {
+                continue;
+            }
+
+            final Rs2ItemModel old = i < previous.slots.length ? previous.slots[i] : null;
+            if (old != null && old.getId() == item.getId()) {
+                slots[i] = old.getQuantity() == item.getQuantity()
+                        ? old
+                        : new Rs2ItemModel(item, old.getItemComposition(), i);
+                continue;
+            }
+
+            final ItemComposition composition = DefinitionCache.getItemComposition(item.getId());
+            if (composition.getPlaceholderTemplateId() > 0) {
+                continue;
+            }
+            slots[i] = new Rs2ItemModel(item, composition, i);
+        }
+        return new ItemContainerSnapshot(slots);
+    }
+
+    /**
+     * @return the items in slot order, an unmodifiable list
+     */
+    public List<Rs2ItemModel> getItems() {
+        return items;
+    }
+
+    /**
+     * @return the item in the slot, or null if it is empty
+     */
+    public Rs2ItemModel getSlot(int slot) {
+        return slot >= 0 && slot < slots.length ? slots[slot] : null;
+    }
+
+    /**
+     * @return the item with the id in the lowest slot, or null if there is none
+     */
+    public Rs2ItemModel getFirst(int id) {
+        return firstById.get(id);
+    }
+
+    public boolean contains(int id) {
+        return slotCounts.containsKey(id);
+    }
+
+    /**
+     * @return the number of slots holding the item
+     */
+    public int countSlots(int id) {
+        return slotCounts.getOrDefault(id, 0);
+    }
+
+    /**
+     * @return the total quantity of the item over all slots
+     */
+    public int getQuantity(int id) {
+        return quantities.getOrDefault(id, 0);
+    }
+
+    public Map<Integer, Integer> getQuantities() {
+        return Collections.unmodifiableMap(quantities);
+    }
+}
@@ -8,6 +8,7 @@ import net.runelite.api.ItemID;
 import net.runelite.api.events.ChatMessage;
 import net.runelite.api.events.MenuOptionClicked;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.DefinitionCache;
 import net.runelite.client.plugins.microbot.util.Global;
 import net.runelite.client.plugins.microbot.util.bank.Rs2Bank;
 import net.runelite.client.plugins.microbot.util.misc.Rs2UiHelper;
@@ -157,10 +158,8 @@ public class Rs2Gembag {
         }
         if (itemId == -1) return null;
 
-        return Microbot.getClientThread().runOnClientThread(() -> {
-            ItemComposition itemComposition = Microbot.getClient().getItemDefinition(itemId);
-            return new Rs2ItemModel(new Item(itemId, 0), itemComposition, getGemSlot(gemName));
-        });
+        ItemComposition itemComposition = DefinitionCache.getItemComposition(itemId);
+        return new Rs2ItemModel(new Item(itemId, 0), itemComposition, getGemSlot(gemName));
     }
 
     private static int getGemSlot(String gemName) {
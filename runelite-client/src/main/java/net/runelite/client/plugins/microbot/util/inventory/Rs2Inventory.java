@@ -27,6 +27,7 @@ import org.apache.commons.lang3.NotImplementedException;
 import java.awt.*;
 import java.util.List;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -43,6 +44,7 @@ public class Rs2Inventory {
     private static final int COLUMNS = 4;
     private static final int ROWS = 7;
     public static List<Rs2ItemModel> inventoryItems = new ArrayList<>();
+    private static volatile ItemContainerSnapshot inventorySnapshot = ItemContainerSnapshot.EMPTY;
     private static boolean isTrackingInventory = false;
     private static boolean isInventoryChanged = false;
 
@@ -55,14 +57,9 @@ public class Rs2Inventory {
             if (isTrackingInventory) {
                 isInventoryChanged = true;
             }
-            List<Rs2ItemModel> _inventoryItems = new ArrayList<>();
-            for (int i = 0; i < e.getItemContainer().getItems().length; i++) {
-                Item item = inventory().getItems()[i];
-                if (item.getId() == -1) continue;
-                ItemComposition itemComposition = Microbot.getClientThread().runOnClientThread(() -> Microbot.getClient().getItemDefinition(item.getId()));
-                _inventoryItems.add(new Rs2ItemModel(item, itemComposition, i));
-            }
-            inventoryItems = _inventoryItems;
+            ItemContainerSnapshot snapshot = ItemContainerSnapshot.of(e.getItemContainer(), inventorySnapshot);
+            inventorySnapshot = snapshot;
+            inventoryItems = new ArrayList<>(snapshot.getItems());
         }
     }
 
@@ -272,7 +269,7 @@ public class Rs2Inventory {
      * @return True if the inventory contains an item with the given ID, false otherwise.
      */
     public static boolean contains(int id) {
-        return items().stream().anyMatch(x -> x.id == id);
+        return inventorySnapshot.contains(id);
     }
 
     /**
@@ -360,7 +357,7 @@ public class Rs2Inventory {
      * @return The count of items that match the ID.
      */
     public static int count(int id) {
-        return (int) items().stream().filter(x -> x.id == id).count();
+        return inventorySnapshot.countSlots(id);
     }
 
     /**
@@ -684,13 +681,24 @@ public class Rs2Inventory {
      * @return
      */
     public static boolean dropAllExcept(int gpValue, List<String> ignoreItems) {
-        for (Rs2ItemModel item :
-                new ArrayList<>(items())) {
+        List<Rs2ItemModel> candidates = new ArrayList<>();
+        for (Rs2ItemModel item : new ArrayList<>(items())) {
             if (item == null) continue;
             if (ignoreItems.stream().anyMatch(x -> x.equalsIgnoreCase(item.name))) continue;
-            long totalPrice = (long) Microbot.getClientThread().runOnClientThread(() ->
-                    Microbot.getItemManager().getItemPrice(item.id) * item.quantity);
-            if (totalPrice >= gpValue) continue;
+            candidates.add(item);
+        }
+
+        // All prices are looked up in a single client thread handoff
+        List<Callable<Long>> priceLookups = new ArrayList<>(candidates.size());
+        for (Rs2ItemModel item : candidates) {
+            priceLookups.add(() -> (long) Microbot.getItemManager().getItemPrice(item.id) * item.quantity);
+        }
+        List<Long> totalPrices = Microbot.getClientThread().runAllOnClientThread(priceLookups);
+        if (totalPrices == null) return false;
+
+        for (int i = 0; i < candidates.size(); i++) {
+            Rs2ItemModel item = candidates.get(i);
+            if (totalPrices.get(i) >= gpValue) continue;
 
             invokeMenu(item, "Drop");
             if (!Rs2AntibanSettings.naturalMouse)
@@ -756,7 +764,7 @@ public class Rs2Inventory {
      */
     public static Rs2ItemModel get(Integer id) {
         if (id == null) return null;
-        return items().stream().filter(x -> x.id == id).findFirst().orElse(null);
+        return inventorySnapshot.getFirst(id);
     }
 
     /**
@@ -892,7 +900,7 @@ public class Rs2Inventory {
             if (rs2Item.isStackable()) {
                 return rs2Item.quantity;
             } else {
-                return (int) items().stream().filter(x -> x.id == id).count();
+                return inventorySnapshot.countSlots(id);
             }
         } else {
             return 0;
@@ -912,7 +920,7 @@ public class Rs2Inventory {
             if (rs2Item.isStackable()) {
                 return rs2Item.quantity;
             } else {
-                return (int) items().stream().filter(x -> x.id == rs2Item.getId()).count();
+                return inventorySnapshot.countSlots(rs2Item.getId());
             }
         } else {
             return 0;
@@ -7,6 +7,7 @@ import net.runelite.api.ItemComposition;
 import net.runelite.api.ItemID;
 import net.runelite.api.ParamID;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.DefinitionCache;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -54,7 +55,7 @@ public class Rs2ItemModel {
         this.isStackable = itemComposition.isStackable();
         this.isNoted = itemComposition.getNote() == 799;
         this.isTradeable = this.isNoted
-                ? Microbot.getClientThread().runOnClientThread(() -> Microbot.getClient().getItemDefinition(this.id - 1)).isTradeable()
+                ? DefinitionCache.getItemComposition(this.id - 1).isTradeable()
                 : itemComposition.isTradeable();
         this.inventoryActions = itemComposition.getInventoryActions();
         this.itemComposition = itemComposition;
@@ -4,6 +4,7 @@ import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Point;
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.util.antiban.Rs2AntibanSettings;
+import net.runelite.client.plugins.microbot.util.executor.MicrobotExecutor;
 import net.runelite.client.plugins.microbot.util.math.Rs2Random;
 import net.runelite.client.plugins.microbot.util.menu.NewMenuEntry;
 import net.runelite.client.plugins.microbot.util.misc.Rs2UiHelper;
@@ -12,7 +13,6 @@ import javax.inject.Inject;
 import java.awt.*;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseWheelEvent;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -27,7 +27,8 @@ public class VirtualMouse extends Mouse {
     @Inject
     public VirtualMouse() {
         super();
-        this.scheduledExecutorService = Executors.newScheduledThreadPool(10);
+        // Clicks sleep while they run, so several are allowed at once as with the scheduled thread pool this replaced
+        this.scheduledExecutorService = MicrobotExecutor.newInternalScheduler("VirtualMouse", 10);
         //getCanvas().setFocusable(false);
     }
 
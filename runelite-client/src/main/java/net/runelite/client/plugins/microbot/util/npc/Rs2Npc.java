@@ -5,6 +5,8 @@ import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.client.game.npcoverlay.HighlightedNpc;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.DefinitionCache;
+import net.runelite.client.plugins.microbot.util.WorldSnapshot;
 import net.runelite.client.plugins.microbot.util.antiban.Rs2AntibanSettings;
 import net.runelite.client.plugins.microbot.util.camera.Rs2Camera;
 import net.runelite.client.plugins.microbot.util.combat.Rs2Combat;
@@ -33,6 +35,9 @@ public class Rs2Npc {
      * @return The {@link Rs2NpcModel} with the specified index, or {@code null} if not found.
      */
     public static Rs2NpcModel getNpcByIndex(int index) {
+        if (Rs2NpcRegistry.isReady()) {
+            return Rs2NpcRegistry.get(index);
+        }
         return getNpcs(npc -> npc.getIndex() == index).
                 findFirst()
                 .orElse(null);
@@ -209,6 +214,21 @@ public class Rs2Npc {
      * @return A sorted {@link Stream} of {@link Rs2NpcModel} objects that match the given predicate.
      */
     public static Stream<Rs2NpcModel> getNpcs(Predicate<Rs2NpcModel> predicate) {
+        WorldSnapshot snapshot = WorldSnapshot.get();
+        if (snapshot != null) {
+            // The models wrap the live NPCs, so the predicate reads them on the client thread
+            List<Rs2NpcModel> npcList = Microbot.getClientThread().runOnClientThread(() -> snapshot.getNpcs().stream()
+                    .filter(predicate)
+                    .collect(Collectors.toList()));
+            return npcList.stream();
+        }
+        if (Rs2NpcRegistry.isReady()) {
+            List<Rs2NpcModel> npcList = Microbot.getClientThread().runOnClientThread(() -> Rs2NpcRegistry.getAll().stream()
+                    .filter(predicate)
+                    .collect(Collectors.toList()));
+            return npcList.stream();
+        }
+
         List<Rs2NpcModel> npcList = Microbot.getClientThread().runOnClientThread(() -> Microbot.getClient().getTopLevelWorldView().npcs().stream()
                 .filter(Objects::nonNull)
                 .map(Rs2NpcModel::new)
@@ -250,6 +270,9 @@ public class Rs2Npc {
      */
     public static Stream<Rs2NpcModel> getNpcs(String name, boolean exact) {
         if (name == null || name.isEmpty()) return Stream.empty();
+        if (exact && Rs2NpcRegistry.isReady()) {
+            return Rs2NpcRegistry.getByName(name).stream();
+        }
         return getNpcs(npc -> {
             String npcName = npc.getName();
             if (npcName == null || npcName.isEmpty()) return false;
@@ -276,9 +299,28 @@ public class Rs2Npc {
      * @return A {@link Stream} of {@link Rs2NpcModel} objects that match the given NPC ID.
      */
     public static Stream<Rs2NpcModel> getNpcs(int id) {
+        if (Rs2NpcRegistry.isReady()) {
+            return Rs2NpcRegistry.getById(id).stream();
+        }
         return getNpcs().filter(x -> x.getId() == id);
     }
 
+    /**
+     * Retrieves a stream of NPCs within a radius of a location.
+     *
+     * <p>Uses the NPC registry when it is ready, which looks up only the NPCs near the location.</p>
+     *
+     * @param center The center of the area to search.
+     * @param radius The maximum distance in tiles from the center.
+     * @return A {@link Stream} of {@link Rs2NpcModel} objects within the radius, sorted by proximity to the player.
+     */
+    public static Stream<Rs2NpcModel> getNpcsWithin(WorldPoint center, int radius) {
+        if (Rs2NpcRegistry.isReady()) {
+            return Rs2NpcRegistry.getWithin(center, radius).stream();
+        }
+        return getNpcs(npc -> npc.getWorldLocation().distanceTo(center) <= radius);
+    }
+
     /**
      * Retrieves a stream of attackable NPCs.
      *
@@ -319,15 +361,40 @@ public class Rs2Npc {
      * @return A sorted {@link Stream} of {@link Rs2NpcModel} objects that the player can attack.
      */
     public static Stream<Rs2NpcModel> getAttackableNpcs(boolean reachable) {
+        return getNpcs(isAttackable(reachable))
+                .sorted(Comparator.comparingInt(value ->
+                        value.getLocalLocation().distanceTo(
+                                Microbot.getClient().getLocalPlayer().getLocalLocation())));
+    }
+
+    /**
+     * Retrieves a stream of attackable NPCs within a radius of a location.
+     *
+     * <p>Applies the same conditions as {@link #getAttackableNpcs(boolean)} to the NPCs returned by
+     * {@link #getNpcsWithin(WorldPoint, int)}.</p>
+     *
+     * @param reachable If {@code true}, only include NPCs that are reachable from the player's current location.
+     * @param center    The center of the area to search.
+     * @param radius    The maximum distance in tiles from the center.
+     * @return A {@link Stream} of {@link Rs2NpcModel} objects that the player can attack, sorted by proximity to the player.
+     */
+    public static Stream<Rs2NpcModel> getAttackableNpcs(boolean reachable, WorldPoint center, int radius) {
+        if (Rs2NpcRegistry.isReady()) {
+            List<Rs2NpcModel> npcList = Microbot.getClientThread().runOnClientThread(() -> Rs2NpcRegistry.getWithin(center, radius).stream()
+                    .filter(isAttackable(reachable))
+                    .collect(Collectors.toList()));
+            return npcList.stream();
+        }
+        return getNpcs(isAttackable(reachable).and(npc -> npc.getWorldLocation().distanceTo(center) <= radius));
+    }
+
+    private static Predicate<Rs2NpcModel> isAttackable(boolean reachable) {
         Rs2WorldPoint playerLocation = new Rs2WorldPoint(Microbot.getClient().getLocalPlayer().getWorldLocation());
 
-        return getNpcs(npc -> npc.getCombatLevel() > 0
+        return npc -> npc.getCombatLevel() > 0
                 && !npc.isDead()
                 && (!reachable || playerLocation.distanceToPath(npc.getWorldLocation()) < Integer.MAX_VALUE)
-                && (!npc.isInteracting() || npc.getInteracting() == Microbot.getClient().getLocalPlayer()))
-                .sorted(Comparator.comparingInt(value ->
-                        value.getLocalLocation().distanceTo(
-                                Microbot.getClient().getLocalPlayer().getLocalLocation())));
+                && (!npc.isInteracting() || npc.getInteracting() == Microbot.getClient().getLocalPlayer());
     }
 
     /**
@@ -505,8 +572,7 @@ public class Rs2Npc {
      * @return {@code true} if the NPC has the specified action, {@code false} otherwise.
      */
     public static boolean hasAction(int id, String action) {
-        NPCComposition npcComposition = Microbot.getClientThread().runOnClientThread(() ->
-                Microbot.getClient().getNpcDefinition(id));
+        NPCComposition npcComposition = DefinitionCache.getNpcComposition(id);
 
         return Arrays.stream(npcComposition.getActions())
                 .anyMatch(x -> x != null && x.equalsIgnoreCase(action));
@@ -569,8 +635,7 @@ public class Rs2Npc {
                 }
             }
 
-            NPCComposition npcComposition = Microbot.getClientThread().runOnClientThread(
-                    () -> Microbot.getClient().getNpcDefinition(npc.getId()));
+            NPCComposition npcComposition = DefinitionCache.getNpcComposition(npc.getId());
 
             if (npcComposition == null || npcComposition.getActions() == null) {
                 Microbot.log("Error: Could not get NPC composition or actions for NPC: " + npc.getName());
@@ -0,0 +1,300 @@
+package net.runelite.client.plugins.microbot.util.npc;
+
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.NPC;
+import net.runelite.api.Player;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.NpcChanged;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.NpcSpawned;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Registry of the NPCs around the player, kept up to date from the NPC spawn, despawn and change events, so scripts
+ * get {@link Rs2NpcModel}s without copying the NPC list of the client on the client thread for every query.
+ * <p>
+ * Every NPC keeps one model for as long as it is spawned, stored at its NPC index. NPCs are further indexed by id,
+ * by lower-cased name and by 8x8 tile cell for radius queries; NPCs move every tick, so their cells are updated at
+ * the end of every game tick. The registry is only written on the client thread and can be read from any thread.
+ * Like {@link Rs2Npc#getNpcs()}, queries skip NPCs without a name and return the closest NPCs to the player first;
+ * the distances are those at the end of the last tick, so sorting never reads the live NPCs.
+ */
+public class Rs2NpcRegistry {
+    private static final int MAX_NPCS = 65536;
+    private static final int CELL_SHIFT = 3;
+
+    private static final AtomicReferenceArray<Entry> byIndex = new AtomicReferenceArray<>(MAX_NPCS);
+    private static final Set<Entry> entries = ConcurrentHashMap.newKeySet();
+    private static final Map<Integer, Set<Entry>> byId = new ConcurrentHashMap<>();
+    private static final Map<String, Set<Entry>> byName = new ConcurrentHashMap<>();
+    private static final Map<Integer, Set<Entry>> byCell = new ConcurrentHashMap<>();
+    private static volatile boolean ready;
+    /** Location of the player at the end of the last tick, or null */
+    private static volatile WorldPoint playerLocation;
+
+    private static final class Entry {
+        private final Rs2NpcModel model;
+        private volatile int id;
+        /** Lower-cased name, or null */
+        private volatile String name;
+        /** Location at the end of the last tick */
+        private volatile WorldPoint location;
+        private volatile int cell;
+
+        private Entry(NPC npc) {
+            this.model = new Rs2NpcModel(npc);
+        }
+    }
+
+    /**
+     * @return whether the registry holds the NPCs around the player
+     */
+    public static boolean isReady() {
+        return ready;
+    }
+
+    public static void onGameStateChanged(GameStateChanged event) {
+        final GameState state = event.getGameState();
+        if (state != GameState.LOGGED_IN && state != GameState.LOADING) {
+            clear();
+        }
+    }
+
+    /** Moves the NPCs to the cells of their new location, called on the client thread at the end of a tick */
+    public static void onGameTick(Client client) {
+        final Player player = client.getLocalPlayer();
+        playerLocation = player == null ? null : player.getWorldLocation();
+        if (!ready) {
+            rebuild(client);
+            return;
+        }
+
+        for (Entry entry : entries) {
+            final WorldPoint location = entry.model.getRuneliteNpc().getWorldLocation();
+            if (location.equals(entry.location)) {
+                continue;
+            }
+            entry.location = location;
+            final int cell = cellOf(location);
+            if (cell != entry.cell) {
+                remove(byCell, entry.cell, entry);
+                entry.cell = cell;
+                put(byCell, cell, entry);
+            }
+        }
+    }
+
+    public static void onNpcSpawned(NpcSpawned event) {
+        add(event.getNpc());
+    }
+
+    public static void onNpcDespawned(NpcDespawned event) {
+        final NPC npc = event.getNpc();
+        final Entry entry = byIndex.get(npc.getIndex());
+        if (entry != null && entry.model.getRuneliteNpc() == npc) {
+            remove(entry);
+        }
+    }
+
+    /** Re-indexes an NPC that transformed into another, which changes its id and possibly its name */
+    public static void onNpcChanged(NpcChanged event) {
+        final NPC npc = event.getNpc();
+        final Entry entry = byIndex.get(npc.getIndex());
+        if (entry == null || entry.model.getRuneliteNpc() != npc) {
+            add(npc);
+            return;
+        }
+
+        remove(byId, entry.id, entry);
+        if (entry.name != null) {
+            remove(byName, entry.name, entry);
+        }
+        entry.id = npc.getId();
+        entry.name = lowerName(npc);
+        put(byId, entry.id, entry);
+        if (entry.name != null) {
+            put(byName, entry.name, entry);
+        }
+    }
+
+    /**
+     * @return the model of the NPC with the given index, or null if there is none or it has no name
+     */
+    public static Rs2NpcModel get(int index) {
+        if (index < 0 || index >= MAX_NPCS) {
+            return null;
+        }
+        final Entry entry = byIndex.get(index);
+        return entry == null || entry.name == null ? null : entry.model;
+    }
+
+    /**
+     * @return the model kept for the NPC, or null if it is not registered
+     */
+    public static Rs2NpcModel getModel(NPC npc) {
+        final Entry entry = byIndex.get(npc.getIndex());
+        return entry != null && entry.model.getRuneliteNpc() == npc ? entry.model : null;
+    }
+
+    public static List<Rs2NpcModel> getAll() {
+        return unwrap(entries);
+    }
+
+    public static List<Rs2NpcModel> getById(int id) {
+        return unwrap(byId.get(id));
+    }
+
+    /**
+     * @param name the exact name of the NPC, case-insensitive
+     */
+    public static List<Rs2NpcModel> getByName(String name) {
+        return unwrap(byName.get(name.toLowerCase()));
+    }
+
+    /**
+     * @return the NPCs within the radius of the center on its plane at the end of the last tick
+     */
+    public static List<Rs2NpcModel> getWithin(WorldPoint center, int radius) {
+        final List<Entry> result = new ArrayList<>();
+        final int minCellX = (center.getX() - radius) >> CELL_SHIFT;
+        final int maxCellX = (center.getX() + radius) >> CELL_SHIFT;
+        final int minCellY = (center.getY() - radius) >> CELL_SHIFT;
+        final int maxCellY = (center.getY() + radius) >> CELL_SHIFT;
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                final Set<Entry> cell = byCell.get(WorldPointUtil.packWorldPoint(cellX, cellY, center.getPlane()));
+                if (cell == null) {
+                    continue;
+                }
+                for (Entry entry : cell) {
+                    if (entry.name != null && entry.location.distanceTo(center) <= radius) {
+                        result.add(entry);
+                    }
+                }
+            }
+        }
+        return sortedModels(result);
+    }
+
+    private static void rebuild(Client client) {
+        if (client.getGameState() != GameState.LOGGED_IN) {
+            return;
+        }
+
+        for (NPC npc : client.getTopLevelWorldView().npcs()) {
+            if (npc != null) {
+                add(npc);
+            }
+        }
+        ready = true;
+    }
+
+    private static void clear() {
+        ready = false;
+        for (Entry entry : entries) {
+            byIndex.compareAndSet(entry.model.getIndex(), entry, null);
+        }
+        entries.clear();
+        byId.clear();
+        byName.clear();
+        byCell.clear();
+    }
+
+    private static void add(NPC npc) {
+        final int index = npc.getIndex();
+        final Entry previous = byIndex.get(index);
+        if (previous != null) {
+            if (previous.model.getRuneliteNpc() == npc) {
+                return;
+            }
+            // the index was reused without the despawn of the previous NPC
+            remove(previous);
+        }
+
+        final Entry entry = new Entry(npc);
+        entry.id = npc.getId();
+        entry.name = lowerName(npc);
+        entry.location = npc.getWorldLocation();
+        entry.cell = cellOf(entry.location);
+        byIndex.set(index, entry);
+        entries.add(entry);
+        put(byId, entry.id, entry);
+        if (entry.name != null) {
+            put(byName, entry.name, entry);
+        }
+        put(byCell, entry.cell, entry);
+    }
+
+    private static void remove(Entry entry) {
+        byIndex.compareAndSet(entry.model.getIndex(), entry, null);
+        entries.remove(entry);
+        remove(byId, entry.id, entry);
+        if (entry.name != null) {
+            remove(byName, entry.name, entry);
+        }
+        remove(byCell, entry.cell, entry);
+    }
+
+    private static String lowerName(NPC npc) {
+        final String name = npc.getName();
+        return name == null ? null : name.toLowerCase();
+    }
+
+    private static int cellOf(WorldPoint location) {
+        return WorldPointUtil.packWorldPoint(location.getX() >> CELL_SHIFT, location.getY() >> CELL_SHIFT, location.getPlane());
+    }
+
+    private static <K> void put(Map<K, Set<Entry>> index, K key, Entry entry) {
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(entry);
+    }
+
+    private static <K> void remove(Map<K, Set<Entry>> index, K key, Entry entry) {
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(entry);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static List<Rs2NpcModel> unwrap(Set<Entry> set) {
+        if (set == null) {
+            return new ArrayList<>();
+        }
+        final List<Entry> named = new ArrayList<>(set.size());
+        for (Entry entry : set) {
+            if (entry.name != null) {
+                named.add(entry);
+            }
+        }
+        return sortedModels(named);
+    }
+
+    /** Sorts the entries by their distance to the player at the end of the last tick and unwraps them */
+    private static List<Rs2NpcModel> sortedModels(List<Entry> entries) {
+        final WorldPoint player = playerLocation;
+        if (player != null) {
+            entries.sort(Comparator.comparingInt(entry -> distanceSquared(entry.location, player)));
+        }
+        final List<Rs2NpcModel> result = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            result.add(entry.model);
+        }
+        return result;
+    }
+
+    /** Same order as the distance between local points that {@link Rs2Npc#getNpcs()} sorts by */
+    private static int distanceSquared(WorldPoint a, WorldPoint b) {
+        final int dx = a.getX() - b.getX();
+        final int dy = a.getY() - b.getY();
+        return dx * dx + dy * dy;
+    }
+}
@@ -11,6 +11,7 @@ import net.runelite.api.kit.KitType;
 import net.runelite.api.widgets.Widget;
 import net.runelite.api.widgets.WidgetInfo;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.WorldSnapshot;
 import net.runelite.client.plugins.microbot.globval.VarbitValues;
 import net.runelite.client.plugins.microbot.util.coords.Rs2WorldPoint;
 import net.runelite.client.plugins.microbot.util.equipment.Rs2Equipment;
@@ -627,6 +628,15 @@ public class Rs2Player {
      * @return A stream of Rs2PlayerModel objects representing nearby players.
      */
     public static Stream<Rs2PlayerModel> getPlayers(Predicate<Rs2PlayerModel> predicate) {
+        WorldSnapshot snapshot = WorldSnapshot.get();
+        if (snapshot != null) {
+            // The models wrap the live players, so the predicate reads them on the client thread
+            List<Rs2PlayerModel> players = Microbot.getClientThread().runOnClientThread(() -> snapshot.getPlayers().stream()
+                    .filter(predicate)
+                    .collect(Collectors.toList()));
+            return players.stream();
+        }
+
         List<Rs2PlayerModel> players = Microbot.getClientThread().runOnClientThread(() ->
                 Microbot.getClient().getTopLevelWorldView().players()
                         .stream()
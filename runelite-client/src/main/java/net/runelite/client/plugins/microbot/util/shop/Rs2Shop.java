@@ -7,6 +7,8 @@ import net.runelite.api.events.ItemContainerChanged;
 import net.runelite.api.widgets.ComponentID;
 import net.runelite.api.widgets.WidgetInfo;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.DefinitionCache;
+import net.runelite.client.plugins.microbot.util.inventory.ItemContainerSnapshot;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2ItemModel;
 import net.runelite.client.plugins.microbot.util.menu.NewMenuEntry;
 import net.runelite.client.plugins.microbot.util.npc.Rs2Npc;
@@ -16,7 +18,6 @@ import java.awt.*;
 import java.util.ArrayList;
 import java.util.List;
 
-import static net.runelite.client.plugins.microbot.Microbot.updateItemContainer;
 import static net.runelite.client.plugins.microbot.util.Global.sleepUntil;
 import static net.runelite.client.plugins.microbot.util.Global.sleepUntilOnClientThread;
 
@@ -24,6 +25,7 @@ public class Rs2Shop {
     public static final int SHOP_INVENTORY_ITEM_CONTAINER = 19660800;
     public static final int SHOP_CLOSE_BUTTON = 196960801;
     public static List<Rs2ItemModel> shopItems = new ArrayList<Rs2ItemModel>();
+    private static ItemContainerSnapshot shopSnapshot = ItemContainerSnapshot.EMPTY;
 
 
     /**
@@ -150,10 +152,10 @@ public class Rs2Shop {
      * @param e The event containing the latest shop items.
      */
     public static void storeShopItemsInMemory(ItemContainerChanged e, int id) {
-        List<Rs2ItemModel> list = updateItemContainer(id, e);
-        if (list != null) {
+        if (e.getContainerId() == id) {
             System.out.println("Storing shopItems");
-            shopItems = list;
+            shopSnapshot = ItemContainerSnapshot.of(e.getItemContainer(), shopSnapshot);
+            shopItems = new ArrayList<>(shopSnapshot.getItems());
 
             /*Print each item's name
             System.out.println("Shop items:");
@@ -203,7 +205,7 @@ public class Rs2Shop {
         int param1;
         int identifier = 3;
         MenuAction menuAction = MenuAction.CC_OP;
-        ItemComposition itemComposition = Microbot.getClientThread().runOnClientThread(() -> Microbot.getClient().getItemDefinition(rs2Item.id));
+        ItemComposition itemComposition = DefinitionCache.getItemComposition(rs2Item.id);
         if (!action.isEmpty()) {
             String[] actions;
             actions = itemComposition.getInventoryActions();
@@ -12,6 +12,7 @@ import net.runelite.client.plugins.microbot.util.antiban.Rs2AntibanSettings;
 import net.runelite.client.plugins.microbot.util.coords.Rs2LocalPoint;
 import net.runelite.client.plugins.microbot.util.coords.Rs2WorldArea;
 import net.runelite.client.plugins.microbot.util.coords.Rs2WorldPoint;
+import net.runelite.client.plugins.microbot.util.executor.MicrobotExecutor;
 import net.runelite.client.plugins.microbot.util.gameobject.Rs2GameObject;
 import net.runelite.client.plugins.microbot.util.misc.Rs2UiHelper;
 import net.runelite.client.plugins.microbot.util.player.Rs2Player;
@@ -19,7 +20,6 @@ import net.runelite.client.plugins.microbot.util.walker.Rs2Walker;
 import org.apache.commons.lang3.tuple.MutablePair;
 
 import java.util.*;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -34,7 +34,7 @@ public abstract class Rs2Tile implements Tile {
 
     public static void init() {
         if (tileExecutor == null) {
-            tileExecutor = Executors.newSingleThreadScheduledExecutor();
+            tileExecutor = MicrobotExecutor.newInternalScheduler("Rs2Tile");
             tileExecutor.scheduleWithFixedDelay(() -> {
                 if (dangerousGraphicsObjectTiles.isEmpty()) return;
 
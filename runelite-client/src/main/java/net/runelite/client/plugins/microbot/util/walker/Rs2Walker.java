@@ -19,6 +19,7 @@ import net.runelite.client.plugins.microbot.shortestpath.ShortestPathPlugin;
 import net.runelite.client.plugins.microbot.shortestpath.Transport;
 import net.runelite.client.plugins.microbot.shortestpath.TransportType;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.Pathfinder;
+import net.runelite.client.plugins.microbot.shortestpath.pathfinder.ReachableTiles;
 import net.runelite.client.plugins.microbot.util.camera.Rs2Camera;
 import net.runelite.client.plugins.microbot.util.coords.Rs2LocalPoint;
 import net.runelite.client.plugins.microbot.util.coords.Rs2WorldArea;
@@ -69,6 +70,13 @@ public class Rs2Walker {
 
     static final int OFFSET = 10; // max offset of the exact area we teleport to
 
+    // Clicks on a door or fairy ring can miss while the player or camera is moving, so they are retried before the path avoids it
+    static final int INTERACT_ATTEMPTS = 3;
+    // How long the path keeps going around a door or fairy ring that couldn't be used before it is searched again
+    static final long BLOCKED_TILE_TIMEOUT_MS = 30_000;
+    static WorldPoint blockedTile;
+    static long blockedTileUntil;
+
     // Set this to true, if you want to calculate the path but do not want to walk to it
     static boolean debug = false;
     
@@ -181,6 +189,12 @@ public class Rs2Walker {
                 return WalkerState.EXIT;
             }
 
+            if (blockedTile != null && System.currentTimeMillis() >= blockedTileUntil) {
+                // The path still goes around the tile that couldn't be used, search again so it is tried once more
+                restartPath();
+                return processWalk(target, distance);
+            }
+
             List<WorldPoint> path = ShortestPathPlugin.getPathfinder().getPath();
             int pathSize = path.size();
 
@@ -540,6 +554,17 @@ public class Rs2Walker {
         if (ShortestPathPlugin.getPathfinderConfig().getTransports().isEmpty()) {
             ShortestPathPlugin.getPathfinderConfig().refresh();
         }
+
+        // The path includes the start tile, so a path to the destination itself is one tile longer than the distance
+        Integer distance = getBoundedDistance(start, destination.getX(), destination.getY(), 1, 1, destination.getPlane());
+        if (distance != null && distance < 0) {
+            // Like the path, which ends next to a destination that can't be stood on
+            distance = getBoundedDistance(start, destination.getX() - 1, destination.getY() - 1, 3, 3, destination.getPlane());
+        }
+        if (distance != null) {
+            return distance < 0 ? Integer.MAX_VALUE : distance + 1;
+        }
+
         Pathfinder pathfinder = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), start, destination);
 
         pathfinder.run();
@@ -555,6 +580,28 @@ public class Rs2Walker {
         return path.size();
     }
 
+    /**
+     * Finds the target with the shortest path from the start, using a single search that ends at the first target it reaches
+     * instead of one search per target. Like {@link #getTotalTiles(WorldPoint, WorldPoint)}, a target counts as reached from
+     * the tiles next to it, so targets that can't be stood on such as bank booths are found too.
+     *
+     * @param start   the start location
+     * @param targets the candidate locations
+     * @return the nearest reachable target, or null if none of them can be reached
+     */
+    public static WorldPoint getNearestReachable(WorldPoint start, Collection<WorldPoint> targets) {
+        if (targets.isEmpty()) {
+            return null;
+        }
+        if (ShortestPathPlugin.getPathfinderConfig().getTransports().isEmpty()) {
+            ShortestPathPlugin.getPathfinderConfig().refresh();
+        }
+
+        Pathfinder pathfinder = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), start, targets);
+        pathfinder.run();
+        return pathfinder.getReachedTarget();
+    }
+
     /**
      * Gets the total amount of tiles to travel to destination
      * @param destination destination
@@ -564,12 +611,21 @@ public class Rs2Walker {
         return getTotalTiles(Rs2Player.getWorldLocation(), destination);
     }
 
-    // takes an avg 200-300 ms
     // Used mainly for agility, might have to tweak this for other stuff
     public static boolean canReach(WorldPoint worldPoint, int sizeX, int sizeY, int pathSizeX, int pathSizeY) {
         if (ShortestPathPlugin.getPathfinderConfig().getTransports().isEmpty()) {
             ShortestPathPlugin.getPathfinderConfig().refresh();
         }
+
+        // Any tile where a pathSizeX x pathSizeY area intersects the (sizeX + 2) x (sizeY + 2) object area
+        Integer distance = getBoundedDistance(Rs2Player.getWorldLocation(),
+                worldPoint.getX() - pathSizeX + 1, worldPoint.getY() - pathSizeY + 1,
+                sizeX + 1 + pathSizeX, sizeY + 1 + pathSizeY, worldPoint.getPlane());
+        if (distance != null) {
+            return distance >= 0;
+        }
+
+        // takes an avg 200-300 ms
         Pathfinder pathfinder = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), Rs2Player.getWorldLocation(), worldPoint);
         pathfinder.run();
         WorldArea pathArea = new WorldArea(pathfinder.getPath().get(pathfinder.getPath().size() - 1), pathSizeX, pathSizeY);
@@ -578,18 +634,9 @@ public class Rs2Walker {
                 .intersectsWith2D(objectArea);
     }
 
-    // takes an avg 200-300 ms
     // Used mainly for agility, might have to tweak this for other stuff
     public static boolean canReach(WorldPoint worldPoint, int sizeX, int sizeY) {
-        if (ShortestPathPlugin.getPathfinderConfig().getTransports().isEmpty()) {
-            ShortestPathPlugin.getPathfinderConfig().refresh();
-        }
-        Pathfinder pathfinder = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), Rs2Player.getWorldLocation(), worldPoint);
-        pathfinder.run();
-        WorldArea pathArea = new WorldArea(pathfinder.getPath().get(pathfinder.getPath().size() - 1), 3, 3);
-        WorldArea objectArea = new WorldArea(worldPoint, sizeX + 2, sizeY + 2);
-        return pathArea
-                .intersectsWith2D(objectArea);
+        return canReach(worldPoint, sizeX, sizeY, 3, 3);
     }
 
     /**
@@ -602,6 +649,12 @@ public class Rs2Walker {
         if (ShortestPathPlugin.getPathfinderConfig().getTransports().isEmpty()) {
             ShortestPathPlugin.getPathfinderConfig().refresh();
         }
+
+        Integer distance = getBoundedDistance(Rs2Player.getWorldLocation(), worldPoint.getX() - 1, worldPoint.getY() - 1, 3, 3, worldPoint.getPlane());
+        if (distance != null) {
+            return distance >= 0;
+        }
+
         Pathfinder pathfinder = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), Rs2Player.getWorldLocation(), worldPoint);
         pathfinder.run();
         List<WorldPoint> path = pathfinder.getPath();
@@ -612,6 +665,26 @@ public class Rs2Walker {
                 .intersectsWith2D(objectArea);
     }
 
+    /**
+     * Answers a local reachability query from the cached {@link ReachableTiles} field around the start,
+     * which walks the collision map without transports and is only recomputed when the start or collision changes.
+     *
+     * @return walking distance to the closest reachable tile in the area, -1 if none of them can be reached,
+     *         or null if the area is outside of the bounded field and the full pathfinder has to be used instead
+     */
+    private static Integer getBoundedDistance(WorldPoint start, int x, int y, int width, int height, int plane) {
+        if (start == null) {
+            return null;
+        }
+
+        ReachableTiles reachableTiles = ShortestPathPlugin.getPathfinderConfig().getReachableTiles(start);
+        if (!reachableTiles.containsArea(x, y, width, height, plane)) {
+            return null;
+        }
+
+        return reachableTiles.getClosestDistance(x, y, width, height, plane);
+    }
+
     /**
  * Retrieves the walk path from the player's current location to the specified target location.
  *
@@ -810,8 +883,9 @@ public static List<WorldPoint> getWalkPath(WorldPoint target) {
 
 
             if (found) {
-                Rs2GameObject.interact(object, action);
-                Rs2Player.waitForWalking();
+                if (interactOrAvoid(object, action, point)) {
+                    Rs2Player.waitForWalking();
+                }
                 return true;
             }
         }
@@ -872,14 +946,81 @@ public static List<WorldPoint> getWalkPath(WorldPoint target) {
     }
 
     /**
-     * Force the walker to recalculate path
+     * Force the walker to recalculate path. A path the player only drifted off a little is repaired
+     * instead of searched again from scratch.
      */
     public static void recalculatePath() {
-        Rs2Walker.setTarget(null);
+        recalculatePath(null);
+    }
+
+    /**
+     * Force the walker to recalculate the path around a tile of it that can't be passed. The path is repaired
+     * around the tile when possible and searched again from scratch otherwise.
+     *
+     * @param blockedTile a tile of the path that can't be passed anymore, e.g. a door that failed to open, or null
+     */
+    public static void recalculatePath(WorldPoint blockedTile) {
+        if (repairPath(blockedTile)) {
+            return;
+        }
+        restartPath();
+    }
+
+    private static void restartPath() {
         WorldPoint _currentTarget = currentTarget;
+        Rs2Walker.setTarget(null);
         Rs2Walker.setTarget(_currentTarget);
     }
 
+    /**
+     * Interacts with a door or fairy ring on the path, retrying a few times. When every attempt fails the path is
+     * repaired around its tile, until {@link #BLOCKED_TILE_TIMEOUT_MS} has passed.
+     *
+     * @return true if the interaction went through
+     */
+    private static boolean interactOrAvoid(TileObject object, String action, WorldPoint tile) {
+        for (int attempt = 0; object != null && attempt < INTERACT_ATTEMPTS; attempt++) {
+            if (Rs2GameObject.interact(object, action)) {
+                return true;
+            }
+            sleep(300, 600);
+        }
+        if (repairPath(tile)) {
+            blockedTile = tile;
+            blockedTileUntil = System.currentTimeMillis() + BLOCKED_TILE_TIMEOUT_MS;
+        } else {
+            restartPath();
+        }
+        return false;
+    }
+
+    /**
+     * Reroutes the current path from the player's location back onto the rest of it, without a full search.
+     *
+     * @param blockedTile a tile of the path that can't be passed anymore, e.g. a door that failed to open, or null
+     * @return true if the path was repaired, false if it has to be recalculated
+     */
+    public static boolean repairPath(WorldPoint blockedTile) {
+        Pathfinder pathfinder = ShortestPathPlugin.getPathfinder();
+        if (pathfinder == null || !pathfinder.isDone() || currentTarget == null || !currentTarget.equals(pathfinder.getTarget())) {
+            return false;
+        }
+
+        Pathfinder repaired = pathfinder.repair(Rs2Player.getWorldLocation(), blockedTile);
+        if (repaired == null) {
+            return false;
+        }
+
+        synchronized (ShortestPathPlugin.getPathfinderMutex()) {
+            if (ShortestPathPlugin.getPathfinder() != pathfinder) {
+                // Replaced by a new search in the meantime
+                return false;
+            }
+            ShortestPathPlugin.setPathfinder(repaired);
+        }
+        return true;
+    }
+
     /**
      * @param target
      */
@@ -893,6 +1034,7 @@ public static List<WorldPoint> getWalkPath(WorldPoint target) {
         currentTarget = target;
 
         if (target == null) {
+            blockedTile = null;
             synchronized (ShortestPathPlugin.getPathfinderMutex()) {
                 if (ShortestPathPlugin.getPathfinder() != null) {
                     ShortestPathPlugin.getPathfinder().cancel();
@@ -1927,10 +2069,8 @@ public static List<WorldPoint> getWalkPath(WorldPoint target) {
             // Interact with fairy ring after equipping the staff
             Microbot.log("Interacting with the fairy ring using a staff. " + transport.getOrigin().getX() + " " + transport.getOrigin().getY());
             var fairyRing = Rs2GameObject.findObjectByLocation(transport.getOrigin());
-            if (Rs2GameObject.interact(fairyRing, "Configure")) {
+            if (interactOrAvoid(fairyRing, "Configure", transport.getOrigin())) {
                 Rs2Player.waitForWalking();
-            } else {
-                recalculatePath();
             }
         }
     }
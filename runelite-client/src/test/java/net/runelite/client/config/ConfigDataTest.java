@@ -0,0 +1,178 @@
+package net.runelite.client.config;
+
+import com.google.common.base.Strings;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ConfigDataTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File configFile;
+	private File journal;
+
+	@Before
+	public void before() throws IOException
+	{
+		configFile = folder.newFile("settings.properties");
+		journal = ConfigData.journalFile(configFile);
+
+		// the first save writes the whole properties file, later ones go to the journal
+		ConfigData data = new ConfigData(configFile);
+		data.setProperty("group.initial", "1");
+		data.patch(data.swapChanges());
+		assertFalse(journal.exists());
+	}
+
+	@Test
+	public void testEscapedRecordsRoundTrip()
+	{
+		final String key = "group.key=with\\special\nchars";
+		final String value = "line one\nline two\r\n=\\=\\\\n";
+
+		ConfigData data = new ConfigData(configFile);
+		data.setProperty(key, value);
+		data.setProperty("group.empty", "");
+		data.patch(data.swapChanges());
+		assertTrue(journal.exists());
+
+		ConfigData loaded = new ConfigData(configFile);
+		assertEquals(value, loaded.getProperty(key));
+		assertEquals("", loaded.getProperty("group.empty"));
+		assertEquals("1", loaded.getProperty("group.initial"));
+	}
+
+	@Test
+	public void testUnsetIsJournaled()
+	{
+		ConfigData data = new ConfigData(configFile);
+		data.unset("group.initial");
+		data.patch(data.swapChanges());
+
+		assertNull(new ConfigData(configFile).getProperty("group.initial"));
+	}
+
+	@Test
+	public void testTornBatchIsIgnored() throws IOException
+	{
+		// a committed batch, followed by one whose client died halfway through a record
+		Files.write(journal.toPath(), "*\n+group.a=1\n.\n*\n+group.b=2\n+group.c".getBytes(StandardCharsets.UTF_8));
+
+		ConfigData data = new ConfigData(configFile);
+		assertEquals("1", data.getProperty("group.a"));
+		assertNull(data.getProperty("group.b"));
+		assertNull(data.getProperty("group.c"));
+
+		// a batch appended after the torn one starts on a line of its own and is read
+		data.setProperty("group.d", "4");
+		data.patch(data.swapChanges());
+
+		ConfigData loaded = new ConfigData(configFile);
+		assertEquals("1", loaded.getProperty("group.a"));
+		assertNull(loaded.getProperty("group.b"));
+		assertNull(loaded.getProperty("group.c"));
+		assertEquals("4", loaded.getProperty("group.d"));
+	}
+
+	@Test
+	public void testMalformedBatchIsDropped() throws IOException
+	{
+		Files.write(journal.toPath(), "*\n+group.a=1\n?group.b\n.\n*\n+group.c=3\n.\n".getBytes(StandardCharsets.UTF_8));
+
+		ConfigData data = new ConfigData(configFile);
+		assertNull(data.getProperty("group.a"));
+		assertEquals("3", data.getProperty("group.c"));
+	}
+
+	@Test
+	public void testCompactFoldsJournalIntoProperties() throws IOException
+	{
+		ConfigData data = new ConfigData(configFile);
+		data.setProperty("group.a", "1");
+		data.patch(data.swapChanges());
+		data.unset("group.initial");
+		data.patch(data.swapChanges());
+		assertTrue(journal.exists());
+
+		data.compact();
+
+		assertFalse(journal.exists());
+		Map<String, String> props = loadProperties();
+		assertEquals("1", props.get("group.a"));
+		assertFalse(props.containsKey("group.initial"));
+	}
+
+	@Test
+	public void testLargeJournalIsCompactedOnPatch() throws IOException
+	{
+		final String large = Strings.repeat("x", 80 * 1024);
+
+		ConfigData data = new ConfigData(configFile);
+		data.setProperty("group.key", "old");
+		data.patch(data.swapChanges());
+		// the patch that pushes the journal over the threshold also changes a key that is already journaled
+		data.setProperty("group.key", "new");
+		data.setProperty("group.large", large);
+		data.patch(data.swapChanges());
+
+		assertFalse(journal.exists());
+		Map<String, String> props = loadProperties();
+		assertEquals("new", props.get("group.key"));
+		assertEquals(large, props.get("group.large"));
+	}
+
+	@Test
+	public void testJournalLeftBehindByCompactionIsHarmless() throws IOException
+	{
+		ConfigData data = new ConfigData(configFile);
+		data.setProperty("group.key", "old");
+		data.patch(data.swapChanges());
+		data.setProperty("group.key", "new");
+		data.unset("group.initial");
+		data.patch(data.swapChanges());
+
+		// the client dies after the compacted properties file is written, before the journal is deleted
+		final byte[] journaled = Files.readAllBytes(journal.toPath());
+		data.compact();
+		Files.write(journal.toPath(), journaled);
+
+		ConfigData loaded = new ConfigData(configFile);
+		assertEquals("new", loaded.getProperty("group.key"));
+		assertNull(loaded.getProperty("group.initial"));
+
+		// compacting again leaves the same config
+		loaded.compact();
+		assertFalse(journal.exists());
+		assertEquals(loaded.get(), new ConfigData(configFile).get());
+		assertArrayEquals(new String[]{"group.key"}, loadProperties().keySet().toArray(new String[0]));
+	}
+
+	private Map<String, String> loadProperties() throws IOException
+	{
+		Properties props = new Properties();
+		try (InputStreamReader reader = new InputStreamReader(new FileInputStream(configFile), StandardCharsets.UTF_8))
+		{
+			props.load(reader);
+		}
+		Map<String, String> values = new HashMap<>();
+		props.forEach((k, v) -> values.put((String) k, (String) v));
+		return values;
+	}
+}
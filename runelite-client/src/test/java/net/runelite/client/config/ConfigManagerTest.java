@@ -145,6 +145,21 @@ public class ConfigManagerTest
 		Assert.assertEquals("new value", conf.key());
 	}
 
+	@Test
+	public void testChangedKeyIsReloaded()
+	{
+		TestConfig conf = manager.getConfig(TestConfig.class);
+		Assert.assertEquals("default", conf.key());
+		Assert.assertNull(conf.nullDefaultKey());
+
+		manager.setConfiguration("test", "key", "moo");
+		Assert.assertEquals("moo", conf.key());
+		Assert.assertNull(conf.nullDefaultKey());
+
+		manager.unsetConfiguration("test", "key");
+		Assert.assertEquals("default", conf.key());
+	}
+
 	@Test
 	public void testGetConfigDescriptor() throws IOException
 	{
@@ -0,0 +1,156 @@
+package net.runelite.client.eventbus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EventBusTest
+{
+	public static class TestEvent
+	{
+	}
+
+	public static class TestSubscriber
+	{
+		private final List<String> calls;
+
+		TestSubscriber(List<String> calls)
+		{
+			this.calls = calls;
+		}
+
+		@Subscribe
+		public void onTestEvent(TestEvent event)
+		{
+			calls.add("object");
+		}
+	}
+
+	private final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+	private final List<Throwable> exceptions = new ArrayList<>();
+	private EventBus eventBus;
+
+	// every subscriber comes from the same lambda, so subscribers of equal priority share a class
+	private Consumer<TestEvent> record(String name)
+	{
+		return e -> calls.add(name);
+	}
+
+	@Before
+	public void before()
+	{
+		eventBus = new EventBus(exceptions::add);
+	}
+
+	@Test
+	public void testPriorityOrder()
+	{
+		eventBus.register(TestEvent.class, record("0"), 0);
+		eventBus.register(TestEvent.class, record("10"), 10);
+		eventBus.register(TestEvent.class, record("-5"), -5);
+		eventBus.register(TestEvent.class, record("10 again"), 10);
+
+		eventBus.post(new TestEvent());
+
+		// equal priorities of the same class keep their registration order
+		assertEquals(Arrays.asList("10", "10 again", "0", "-5"), calls);
+	}
+
+	@Test
+	public void testUnregisterDuringDispatch()
+	{
+		final EventBus.Subscriber[] second = new EventBus.Subscriber[1];
+		eventBus.register(TestEvent.class, e ->
+		{
+			calls.add("first");
+			eventBus.unregister(second[0]);
+		}, 1);
+		second[0] = eventBus.register(TestEvent.class, record("second"), 0);
+
+		// the post that unregisters still reaches everyone that was subscribed when it started
+		eventBus.post(new TestEvent());
+		assertEquals(Arrays.asList("first", "second"), calls);
+
+		calls.clear();
+		eventBus.post(new TestEvent());
+		assertEquals(Collections.singletonList("first"), calls);
+		assertEquals(0, exceptions.size());
+	}
+
+	@Test
+	public void testUnregisterSubscriber()
+	{
+		final EventBus.Subscriber kept = eventBus.register(TestEvent.class, record("kept"), 0);
+		final EventBus.Subscriber removed = eventBus.register(TestEvent.class, record("removed"), 0);
+
+		eventBus.unregister(removed);
+		eventBus.post(new TestEvent());
+		assertEquals(Collections.singletonList("kept"), calls);
+
+		calls.clear();
+		eventBus.unregister(removed);
+		eventBus.unregister(kept);
+		eventBus.post(new TestEvent());
+		assertEquals(Collections.emptyList(), calls);
+	}
+
+	@Test
+	public void testUnregisterObject()
+	{
+		final TestSubscriber subscriber = new TestSubscriber(calls);
+		eventBus.register(subscriber);
+		eventBus.register(TestEvent.class, record("lambda"), 0);
+
+		eventBus.post(new TestEvent());
+		assertEquals(2, calls.size());
+
+		calls.clear();
+		eventBus.unregister(subscriber);
+		eventBus.post(new TestEvent());
+		assertEquals(Collections.singletonList("lambda"), calls);
+	}
+
+	@Test
+	public void testThrowingSubscriberIsIsolated()
+	{
+		final RuntimeException thrown = new RuntimeException("subscriber failed");
+		eventBus.register(TestEvent.class, record("before"), 1);
+		eventBus.register(TestEvent.class, e ->
+		{
+			throw thrown;
+		}, 0);
+		eventBus.register(TestEvent.class, record("after"), -1);
+
+		eventBus.post(new TestEvent());
+
+		assertEquals(Arrays.asList("before", "after"), calls);
+		assertEquals(1, exceptions.size());
+		assertSame(thrown, exceptions.get(0));
+	}
+
+	@Test
+	public void testStatsOnlyWhileTimed()
+	{
+		final EventBus.Subscriber subscriber = eventBus.register(TestEvent.class, record("event"), 0);
+		eventBus.post(new TestEvent());
+		assertEquals(0, eventBus.getEventStats().get(TestEvent.class).getDispatches());
+
+		final List<EventBus.Subscriber> timed = new ArrayList<>();
+		eventBus.setSubscriberTimer((type, sub, nanos) -> timed.add(sub));
+		eventBus.post(new TestEvent());
+		assertEquals(1, eventBus.getEventStats().get(TestEvent.class).getDispatches());
+		assertEquals(Collections.singletonList(subscriber), timed);
+
+		eventBus.setSubscriberTimer(null);
+		eventBus.post(new TestEvent());
+		assertEquals(1, eventBus.getEventStats().get(TestEvent.class).getDispatches());
+		assertNull(eventBus.getEventStats().get(String.class));
+	}
+}
@@ -24,6 +24,9 @@
  */
 package net.runelite.client.plugins;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.graph.EndpointPair;
 import com.google.common.graph.GraphBuilder;
 import com.google.common.graph.MutableGraph;
 import com.google.common.reflect.ClassPath;
@@ -44,6 +47,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 import net.runelite.api.Client;
 import net.runelite.client.RuneLite;
 import net.runelite.client.RuneLiteModule;
@@ -238,4 +242,44 @@ public class PluginManagerTest
 		assertTrue(sorted.indexOf(1) < sorted.indexOf(2));
 		assertTrue(sorted.indexOf(1) < sorted.indexOf(3));
 	}
+
+	@Test
+	public void testGroupByLevel()
+	{
+		MutableGraph<Integer> graph = GraphBuilder
+			.directed()
+			.build();
+
+		graph.addNode(5);
+		graph.putEdge(1, 2);
+		graph.putEdge(1, 3);
+		graph.putEdge(2, 4);
+		graph.putEdge(3, 4);
+		// 6 depends on a node of level 0 and one of level 2
+		graph.putEdge(4, 6);
+		graph.putEdge(5, 6);
+
+		List<Integer> sorted = PluginManager.topologicalSort(graph);
+		List<List<Integer>> levels = PluginManager.groupByLevel(graph, sorted);
+
+		assertEquals(4, levels.size());
+		assertEquals(ImmutableSet.of(1, 5), ImmutableSet.copyOf(levels.get(0)));
+		assertEquals(ImmutableSet.of(2, 3), ImmutableSet.copyOf(levels.get(1)));
+		assertEquals(ImmutableList.of(4), levels.get(2));
+		assertEquals(ImmutableList.of(6), levels.get(3));
+
+		// every node is on a higher level than the nodes it depends on, and levels keep the sorted order
+		List<Integer> flattened = levels.stream().flatMap(List::stream).collect(Collectors.toList());
+		for (EndpointPair<Integer> edge : graph.edges())
+		{
+			assertTrue(flattened.indexOf(edge.source()) < flattened.indexOf(edge.target()));
+		}
+		for (List<Integer> level : levels)
+		{
+			for (int i = 1; i < level.size(); ++i)
+			{
+				assertTrue(sorted.indexOf(level.get(i - 1)) < sorted.indexOf(level.get(i)));
+			}
+		}
+	}
 }
@@ -0,0 +1,85 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.api.Client;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.PathfinderAlgorithm;
+import net.runelite.client.plugins.microbot.shortestpath.ShortestPathConfig;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PathfinderTest {
+    // Inside Varrock west bank
+    private static final WorldPoint START = new WorldPoint(3185, 3440, 0);
+    // A bank booth of Varrock west bank, which can't be stood on
+    private static final WorldPoint BANK_BOOTH = new WorldPoint(3180, 3440, 0);
+    // Varrock square, walkable but much further away
+    private static final WorldPoint VARROCK_SQUARE = new WorldPoint(3213, 3428, 0);
+
+    private static SplitFlagMap collisionData;
+
+    @BeforeClass
+    public static void loadCollisionData() {
+        collisionData = SplitFlagMap.fromResources();
+    }
+
+    private static PathfinderConfig createConfig(PathfinderAlgorithm algorithm) {
+        ShortestPathConfig config = mock(ShortestPathConfig.class);
+        // Long enough that the cutoff never ends a search early
+        when(config.calculationCutoff()).thenReturn(1000);
+        when(config.pathfinderAlgorithm()).thenReturn(algorithm);
+
+        PathfinderConfig pathfinderConfig = new PathfinderConfig(collisionData, Collections.emptyMap(),
+                Collections.emptyList(), mock(Client.class), config);
+        pathfinderConfig.refresh();
+        return pathfinderConfig;
+    }
+
+    @Test
+    public void testNearestTargetThatCannotBeStoodOn() {
+        for (PathfinderAlgorithm algorithm : PathfinderAlgorithm.values()) {
+            PathfinderConfig config = createConfig(algorithm);
+            assertTrue(config.getMap().isBlocked(BANK_BOOTH.getX(), BANK_BOOTH.getY(), BANK_BOOTH.getPlane()));
+
+            Pathfinder pathfinder = new Pathfinder(config, START, Arrays.asList(VARROCK_SQUARE, BANK_BOOTH));
+            pathfinder.run();
+
+            assertEquals(algorithm.name(), BANK_BOOTH, pathfinder.getReachedTarget());
+            List<WorldPoint> path = pathfinder.getPath();
+            WorldPoint end = path.get(path.size() - 1);
+            assertEquals(algorithm.name(), 1, end.distanceTo(BANK_BOOTH));
+        }
+    }
+
+    @Test
+    public void testNearestTargetThatCanBeStoodOn() {
+        for (PathfinderAlgorithm algorithm : PathfinderAlgorithm.values()) {
+            Pathfinder pathfinder = new Pathfinder(createConfig(algorithm), START, Collections.singletonList(VARROCK_SQUARE));
+            pathfinder.run();
+
+            assertEquals(algorithm.name(), VARROCK_SQUARE, pathfinder.getReachedTarget());
+            List<WorldPoint> path = pathfinder.getPath();
+            assertTrue(algorithm.name(), path.get(path.size() - 1).distanceTo(VARROCK_SQUARE) <= 1);
+        }
+    }
+
+    @Test
+    public void testSingleTargetEndsOnTarget() {
+        for (PathfinderAlgorithm algorithm : PathfinderAlgorithm.values()) {
+            Pathfinder pathfinder = new Pathfinder(createConfig(algorithm), START, VARROCK_SQUARE);
+            pathfinder.run();
+
+            assertEquals(algorithm.name(), VARROCK_SQUARE, pathfinder.getReachedTarget());
+            List<WorldPoint> path = pathfinder.getPath();
+            assertEquals(algorithm.name(), VARROCK_SQUARE, path.get(path.size() - 1));
+        }
+    }
+}
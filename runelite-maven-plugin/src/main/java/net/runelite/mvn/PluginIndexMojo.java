@@ -0,0 +1,122 @@
+package net.runelite.mvn;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Writes the names of all top level classes annotated with @PluginDescriptor in the plugin package to an index
+ * file, one per line, so the client can load its plugins without scanning the classpath.
+ */
+@Mojo(
+	name = "build-plugin-index",
+	defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+	requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME
+)
+public class PluginIndexMojo extends AbstractMojo
+{
+	private static final String PLUGIN_DESCRIPTOR = "net.runelite.client.plugins.PluginDescriptor";
+
+	@Parameter(defaultValue = "${project}", readonly = true)
+	private MavenProject project;
+
+	@Parameter(defaultValue = "${project.build.outputDirectory}")
+	private File classesDirectory;
+
+	@Parameter(defaultValue = "net.runelite.client.plugins")
+	private String pluginPackage;
+
+	@Parameter(required = true)
+	private File indexFile;
+
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException
+	{
+		List<String> classNames;
+		Path packageDirectory = classesDirectory.toPath().resolve(pluginPackage.replace('.', File.separatorChar));
+		try (Stream<Path> files = Files.walk(packageDirectory))
+		{
+			classNames = files
+				.map(path -> classesDirectory.toPath().relativize(path).toString())
+				.filter(name -> name.endsWith(".class") && name.indexOf('$') == -1 && !name.endsWith("package-info.class"))
+				.map(name -> name.substring(0, name.length() - ".class".length()).replace(File.separatorChar, '.'))
+				.sorted()
+				.collect(Collectors.toList());
+		}
+		catch (IOException ex)
+		{
+			throw new MojoExecutionException("error listing plugin classes", ex);
+		}
+
+		List<String> plugins = new ArrayList<>();
+		try (URLClassLoader classLoader = new URLClassLoader(classpath(), ClassLoader.getPlatformClassLoader()))
+		{
+			Class<? extends Annotation> pluginDescriptor = classLoader.loadClass(PLUGIN_DESCRIPTOR).asSubclass(Annotation.class);
+			for (String className : classNames)
+			{
+				// not initialized, plugins must not run any code at build time
+				Class<?> clazz = Class.forName(className, false, classLoader);
+				if (clazz.isAnnotationPresent(pluginDescriptor))
+				{
+					plugins.add(className);
+				}
+			}
+		}
+		catch (ClassNotFoundException | LinkageError ex)
+		{
+			throw new MojoExecutionException("error loading plugin classes", ex);
+		}
+		catch (IOException ex)
+		{
+			throw new MojoExecutionException("error closing class loader", ex);
+		}
+
+		try
+		{
+			Files.createDirectories(indexFile.toPath().getParent());
+			Files.write(indexFile.toPath(), plugins, StandardCharsets.UTF_8);
+		}
+		catch (IOException ex)
+		{
+			throw new MojoExecutionException("error writing plugin index", ex);
+		}
+
+		getLog().info("Indexed " + plugins.size() + " plugins of " + classNames.size() + " classes");
+	}
+
+	private URL[] classpath() throws MojoExecutionException
+	{
+		try
+		{
+			List<String> elements = project.getRuntimeClasspathElements();
+			URL[] urls = new URL[elements.size()];
+			for (int i = 0; i < urls.length; ++i)
+			{
+				urls[i] = new File(elements.get(i)).toURI().toURL();
+			}
+			return urls;
+		}
+		catch (DependencyResolutionRequiredException | IOException ex)
+		{
+			throw new MojoExecutionException("error resolving the runtime classpath", ex);
+		}
+	}
+}